@@ -0,0 +1,99 @@
+package io.github.bluething.playground.java.bloggingplatformapi.bulkhead;
+
+import io.github.bluething.playground.java.bloggingplatformapi.exception.ServiceUnavailableException;
+import io.github.bluething.playground.java.bloggingplatformapi.jdbc.SqlStatsContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Fixed pool of threads with a bounded queue. Each task holds at most one pooled connection, so the thread
+ * count also caps the lane's share of the connection pool.
+ * <p>
+ * A full queue rejects at once, and a task not finished within the timeout (queue wait included) fails
+ * with a 503; a task still queued at that point is dropped from the queue. Running tasks are not interrupted, JDBC calls
+ * would not notice, so a timed-out task keeps its thread until it returns.
+ * <p>
+ * Tasks run inside the SQL statistics scopes open on the submitting thread, so their statements still count
+ * toward the request that submitted them.
+ */
+public class Bulkhead implements AutoCloseable {
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Duration retryAfter;
+    private final Executor timeouts;
+    private final Counter rejected;
+    private final Counter timedOut;
+    private final Timer queueWait;
+
+    public Bulkhead(ReadLane lane, int threads, int queueCapacity, Duration timeout, Duration retryAfter,
+                    MeterRegistry meterRegistry) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("bulkhead-" + lane.tag() + "-", 1).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+        this.retryAfter = retryAfter;
+        this.timeouts = CompletableFuture.delayedExecutor(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        this.rejected = meterRegistry.counter("bulkhead.rejected", "lane", lane.tag(), "reason", "queue-full");
+        this.timedOut = meterRegistry.counter("bulkhead.rejected", "lane", lane.tag(), "reason", "timeout");
+        this.queueWait = meterRegistry.timer("bulkhead.queue.wait", "lane", lane.tag());
+        Gauge.builder("bulkhead.active", executor, ThreadPoolExecutor::getActiveCount)
+                .tag("lane", lane.tag())
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.queued", executor, pool -> pool.getQueue().size())
+                .tag("lane", lane.tag())
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        Supplier<T> scoped = SqlStatsContext.propagate(task);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long submitted = System.nanoTime();
+        Runnable work = () -> {
+            queueWait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+            // the caller already got its 503
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                result.complete(scoped.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        };
+        try {
+            executor.execute(work);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(
+                    new ServiceUnavailableException("Too many requests waiting, try again later", retryAfter));
+        }
+        timeouts.execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            // free the queue slot now rather than when a thread gets to it; no-op once the task runs
+            executor.remove(work);
+            timedOut.increment();
+            result.completeExceptionally(new ServiceUnavailableException(
+                    "Request did not complete within " + timeout.toMillis() + "ms", retryAfter));
+        });
+        return result;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
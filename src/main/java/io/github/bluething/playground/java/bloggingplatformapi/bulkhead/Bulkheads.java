@@ -0,0 +1,53 @@
+package io.github.bluething.playground.java.bloggingplatformapi.bulkhead;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Entry point for controllers: runs read work on its lane's {@link Bulkhead}, or on the calling thread
+ * when bulkheads are disabled (no lanes). Exports take a permit from their {@link StreamPermits} instead.
+ */
+public class Bulkheads implements AutoCloseable {
+    private static final Runnable NO_PERMIT = () -> {
+    };
+
+    private final Map<ReadLane, Bulkhead> bulkheads;
+    private final StreamPermits exports;
+
+    public Bulkheads(Map<ReadLane, Bulkhead> bulkheads) {
+        this(bulkheads, null);
+    }
+
+    public Bulkheads(Map<ReadLane, Bulkhead> bulkheads, StreamPermits exports) {
+        this.bulkheads = bulkheads;
+        this.exports = exports;
+    }
+
+    public <T> CompletableFuture<T> submit(ReadLane lane, Supplier<T> task) {
+        Bulkhead bulkhead = bulkheads.get(lane);
+        if (bulkhead != null) {
+            return bulkhead.submit(task);
+        }
+        try {
+            return CompletableFuture.completedFuture(task.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * A permit for one export stream, returned by running the result when the stream ends.
+     *
+     * @throws io.github.bluething.playground.java.bloggingplatformapi.exception.ServiceUnavailableException
+     *         when the export lane is full
+     */
+    public Runnable acquireExport() {
+        return exports == null ? NO_PERMIT : exports.acquire();
+    }
+
+    @Override
+    public void close() {
+        bulkheads.values().forEach(Bulkhead::close);
+    }
+}
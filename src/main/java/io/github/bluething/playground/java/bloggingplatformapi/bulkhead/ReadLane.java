@@ -0,0 +1,13 @@
+package io.github.bluething.playground.java.bloggingplatformapi.bulkhead;
+
+/**
+ * Read work runs on a separate executor per lane, so slow searches cannot take the threads and
+ * connections that point reads need. Exports are streamed and are limited by {@link StreamPermits} instead.
+ */
+public enum ReadLane {
+    POINT_READ, LIST, SEARCH, EXPORT;
+
+    public String tag() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
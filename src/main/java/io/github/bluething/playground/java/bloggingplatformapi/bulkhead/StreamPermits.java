@@ -0,0 +1,59 @@
+package io.github.bluething.playground.java.bloggingplatformapi.bulkhead;
+
+import io.github.bluething.playground.java.bloggingplatformapi.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Lane for streamed responses, which hold a pooled connection for as long as the client keeps reading and so
+ * cannot run under a {@link Bulkhead} timeout. A fixed number of permits and no queue: a request that finds
+ * none free gets a 503 at once. A permit is returned when its stream ends; one that never is (a body that
+ * never ran) expires after the longest a stream may take, so it cannot shrink the lane for good.
+ */
+public class StreamPermits {
+    private final int permits;
+    private final long maxHoldNanos;
+    private final Duration retryAfter;
+    private final LongSupplier nanoTime;
+    private final Map<Object, Long> held = new ConcurrentHashMap<>();
+    private final Counter rejected;
+
+    public StreamPermits(ReadLane lane, int permits, Duration maxHold, Duration retryAfter, MeterRegistry meterRegistry) {
+        this(lane, permits, maxHold, retryAfter, meterRegistry, System::nanoTime);
+    }
+
+    StreamPermits(ReadLane lane, int permits, Duration maxHold, Duration retryAfter, MeterRegistry meterRegistry,
+                  LongSupplier nanoTime) {
+        this.permits = permits;
+        this.maxHoldNanos = maxHold.toNanos();
+        this.retryAfter = retryAfter;
+        this.nanoTime = nanoTime;
+        this.rejected = meterRegistry.counter("bulkhead.rejected", "lane", lane.tag(), "reason", "queue-full");
+        Gauge.builder("bulkhead.active", held, Map::size)
+                .tag("lane", lane.tag())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Take a permit, returned by running the result once the stream ends.
+     *
+     * @throws ServiceUnavailableException when all permits are held
+     */
+    public synchronized Runnable acquire() {
+        long now = nanoTime.getAsLong();
+        held.values().removeIf(deadline -> deadline - now <= 0);
+        if (held.size() >= permits) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many streams running, try again later", retryAfter);
+        }
+        Object permit = new Object();
+        held.put(permit, now + maxHoldNanos);
+        return () -> held.remove(permit);
+    }
+}
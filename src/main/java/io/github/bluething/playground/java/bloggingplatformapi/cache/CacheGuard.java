@@ -0,0 +1,354 @@
+package io.github.bluething.playground.java.bloggingplatformapi.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Latency budget and circuit breaker for Redis cache calls. Every call gets a hard timeout far below the
+ * client's command timeout; failures and slow calls feed a sliding window, and once their share crosses the
+ * threshold the breaker opens and calls are skipped (treated as misses / no-ops) for the open duration.
+ * After that a single probe call decides whether to close again or stay open.
+ * <p>
+ * A guarded call never throws: errors and timeouts return the fallback.
+ * <p>
+ * Invalidations are never skipped, since an entry that misses its eviction would be served stale until its TTL.
+ * While the circuit is closed they run with their own, longer timeout; one that fails or finds the circuit open
+ * is queued per cache and key, and reads of a queued key are misses until the queue has been replayed. The
+ * queue is replayed off the caller's thread after the next successful Redis call, and again once a probe closes
+ * the circuit. A cache with more than maxPendingInvalidations queued keys is cleared as a whole instead.
+ */
+@Slf4j
+public class CacheGuard implements MeterBinder {
+    public enum State {CLOSED, OPEN, HALF_OPEN}
+
+    private final long timeoutNanos;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long invalidationTimeoutNanos;
+    private final int maxPendingInvalidations;
+    private final LongSupplier nanoTime;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final LongAdder bypassed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder deferred = new LongAdder();
+    // queued invalidations by cache name
+    private final Map<String, PendingInvalidations> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean replayNeeded = new AtomicBoolean();
+    private final AtomicBoolean replaying = new AtomicBoolean();
+
+    // sliding window of the last calls, true = failed or slow
+    private final boolean[] window;
+    private int windowCount;
+    private int windowFailures;
+    private int windowIndex;
+    private State state = State.CLOSED;
+    private long openedAt;
+
+    public CacheGuard(Duration timeout, Duration slowCallThreshold, Duration openDuration,
+                      int failureRateThreshold, int slidingWindowSize, int minimumCalls) {
+        this(timeout, slowCallThreshold, openDuration, failureRateThreshold, slidingWindowSize, minimumCalls,
+                Duration.ofMillis(250), 10_000);
+    }
+
+    public CacheGuard(Duration timeout, Duration slowCallThreshold, Duration openDuration,
+                      int failureRateThreshold, int slidingWindowSize, int minimumCalls,
+                      Duration invalidationTimeout, int maxPendingInvalidations) {
+        this(timeout, slowCallThreshold, openDuration, failureRateThreshold, slidingWindowSize, minimumCalls,
+                invalidationTimeout, maxPendingInvalidations, System::nanoTime);
+    }
+
+    CacheGuard(Duration timeout, Duration slowCallThreshold, Duration openDuration,
+               int failureRateThreshold, int slidingWindowSize, int minimumCalls,
+               Duration invalidationTimeout, int maxPendingInvalidations, LongSupplier nanoTime) {
+        this.timeoutNanos = timeout.toNanos();
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = minimumCalls;
+        this.window = new boolean[slidingWindowSize];
+        this.invalidationTimeoutNanos = invalidationTimeout.toNanos();
+        this.maxPendingInvalidations = maxPendingInvalidations;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Run a cache call within the latency budget, or return the fallback when the breaker is open,
+     * the call fails or it does not finish in time.
+     */
+    public <T> T call(Callable<T> action, T fallback) {
+        if (!tryAcquire()) {
+            bypassed.increment();
+            return fallback;
+        }
+        long start = nanoTime.getAsLong();
+        Future<T> future = executor.submit(action);
+        try {
+            T result = future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            record(nanoTime.getAsLong() - start > slowCallNanos);
+            replayLater();
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.debug("Cache call exceeded {}ms", TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+        } catch (ExecutionException e) {
+            log.debug("Cache call failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failed.increment();
+        record(true);
+        return fallback;
+    }
+
+    public void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        }, null);
+    }
+
+    /**
+     * Run an eviction of {@code key} from the named cache, or queue it for replay when the circuit is open or the
+     * eviction fails or times out.
+     *
+     * @param evict removes the key; also what the replay runs
+     * @param clear empties the whole cache, run instead once too many of its keys are queued
+     * @return whether the eviction ran now
+     */
+    public boolean invalidate(String cacheName, Object key, Runnable evict, Runnable clear) {
+        if (attemptInvalidation(evict)) {
+            return true;
+        }
+        defer(cacheName, key, evict, clear);
+        return false;
+    }
+
+    /**
+     * {@link #invalidate} for the whole cache.
+     */
+    public boolean invalidateAll(String cacheName, Runnable clear) {
+        if (attemptInvalidation(clear)) {
+            return true;
+        }
+        deferClear(cacheName, clear);
+        return false;
+    }
+
+    /**
+     * Run an invalidation now within the invalidation timeout, unless the circuit is open; counts towards the
+     * breaker like any call. Callers queue it through {@link #defer} when this returns false.
+     */
+    public boolean attemptInvalidation(Runnable action) {
+        if (!tryAcquire()) {
+            return false;
+        }
+        long start = nanoTime.getAsLong();
+        boolean done = attempt(action);
+        record(!done || nanoTime.getAsLong() - start > slowCallNanos);
+        if (done) {
+            replayLater();
+        }
+        return done;
+    }
+
+    /**
+     * Queue an eviction for replay; a later one for the same key replaces it.
+     */
+    public void defer(String cacheName, Object key, Runnable evict, Runnable clear) {
+        PendingInvalidations invalidations = pending.computeIfAbsent(cacheName, name -> new PendingInvalidations());
+        synchronized (invalidations) {
+            // a queued clear already covers every key
+            if (invalidations.clear == null && invalidations.keys.size() < maxPendingInvalidations) {
+                invalidations.keys.put(key, evict);
+            } else if (invalidations.clear == null) {
+                log.warn("More than {} evictions queued for cache {}, clearing it as a whole once Redis is back",
+                        maxPendingInvalidations, cacheName);
+                invalidations.clear = clear;
+                invalidations.keys.clear();
+            }
+        }
+        queued();
+    }
+
+    public void deferClear(String cacheName, Runnable clear) {
+        PendingInvalidations invalidations = pending.computeIfAbsent(cacheName, name -> new PendingInvalidations());
+        synchronized (invalidations) {
+            invalidations.clear = clear;
+            invalidations.keys.clear();
+        }
+        queued();
+    }
+
+    /**
+     * Whether the key has a queued eviction; such a key must be read as a miss, its cached value may be stale.
+     */
+    public boolean isPending(String cacheName, Object key) {
+        PendingInvalidations invalidations = pending.get(cacheName);
+        return invalidations != null && (invalidations.clear != null || invalidations.keys.containsKey(key));
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private void queued() {
+        deferred.increment();
+        replayNeeded.set(true);
+        // while open, retry off the caller's thread; a dead Redis fails the first replayed call and stops there
+        if (state() == State.OPEN) {
+            replayLater();
+        }
+    }
+
+    private void replayLater() {
+        if (replayNeeded.get() && !replaying.get()) {
+            executor.execute(this::replay);
+        }
+    }
+
+    /**
+     * Replay queued invalidations in order, stopping at the first that fails; it stays queued for the next replay.
+     */
+    void replay() {
+        if (!replaying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            replayNeeded.set(false);
+            for (PendingInvalidations invalidations : pending.values()) {
+                Runnable clear = invalidations.clear;
+                if (clear != null) {
+                    if (!attempt(clear)) {
+                        replayNeeded.set(true);
+                        return;
+                    }
+                    synchronized (invalidations) {
+                        if (invalidations.clear == clear) {
+                            invalidations.clear = null;
+                        }
+                    }
+                }
+                for (Map.Entry<Object, Runnable> entry : invalidations.keys.entrySet()) {
+                    if (!attempt(entry.getValue())) {
+                        replayNeeded.set(true);
+                        return;
+                    }
+                    invalidations.keys.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        } finally {
+            replaying.set(false);
+        }
+    }
+
+    private boolean attempt(Runnable action) {
+        Future<?> future = executor.submit(action);
+        try {
+            future.get(invalidationTimeoutNanos, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.debug("Cache invalidation exceeded {}ms", TimeUnit.NANOSECONDS.toMillis(invalidationTimeoutNanos));
+        } catch (ExecutionException e) {
+            log.debug("Cache invalidation failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failed.increment();
+        return false;
+    }
+
+    private synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (nanoTime.getAsLong() - openedAt < openNanos) {
+                    return false;
+                }
+                // let exactly one probe through
+                state = State.HALF_OPEN;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private synchronized void record(boolean failure) {
+        if (state == State.HALF_OPEN) {
+            if (failure) {
+                open();
+            } else {
+                log.info("Redis cache recovered, closing circuit");
+                state = State.CLOSED;
+                windowCount = windowFailures = windowIndex = 0;
+                replayLater();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        if (windowCount == window.length) {
+            windowFailures -= window[windowIndex] ? 1 : 0;
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        windowFailures += failure ? 1 : 0;
+        windowIndex = (windowIndex + 1) % window.length;
+        if (windowCount >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCount) {
+            log.warn("Redis cache failing or slow on {}/{} recent calls, bypassing for {}ms",
+                    windowFailures, windowCount, TimeUnit.NANOSECONDS.toMillis(openNanos));
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoTime.getAsLong();
+    }
+
+    private double pendingInvalidations() {
+        return pending.values().stream()
+                .mapToInt(invalidations -> invalidations.keys.size() + (invalidations.clear != null ? 1 : 0))
+                .sum();
+    }
+
+    private static final class PendingInvalidations {
+        private final Map<Object, Runnable> keys = new ConcurrentHashMap<>();
+        // set when the whole cache must be cleared; keys are then dropped
+        private volatile Runnable clear;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.guard.bypassed", bypassed, LongAdder::doubleValue)
+                .description("Cache calls skipped while the circuit was open")
+                .register(registry);
+        FunctionCounter.builder("cache.guard.failures", failed, LongAdder::doubleValue)
+                .description("Cache calls that failed or exceeded the latency budget")
+                .register(registry);
+        FunctionCounter.builder("cache.guard.invalidations.deferred", deferred, LongAdder::doubleValue)
+                .description("Cache invalidations queued for replay because Redis was unavailable")
+                .register(registry);
+        Gauge.builder("cache.guard.invalidations.pending", this, CacheGuard::pendingInvalidations)
+                .description("Queued cache invalidations; a queued clear counts as one")
+                .register(registry);
+        Gauge.builder("cache.guard.state", this, guard -> guard.state().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .register(registry);
+    }
+}
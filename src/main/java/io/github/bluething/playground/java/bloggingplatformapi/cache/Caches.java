@@ -0,0 +1,20 @@
+package io.github.bluething.playground.java.bloggingplatformapi.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.util.Optional;
+
+public final class Caches {
+    private Caches() {
+    }
+
+    /**
+     * The {@link ResilientCache} under the generation check and transaction-aware decorators, if the cache has one.
+     */
+    public static Optional<ResilientCache> resilient(Cache cache) {
+        Cache target = cache instanceof GenerationCheckedCache checked ? checked.getDelegate() : cache;
+        target = target instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : target;
+        return target instanceof ResilientCache resilient ? Optional.of(resilient) : Optional.empty();
+    }
+}
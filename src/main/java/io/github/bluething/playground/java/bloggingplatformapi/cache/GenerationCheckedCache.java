@@ -0,0 +1,98 @@
+package io.github.bluething.playground.java.bloggingplatformapi.cache;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.GenerationStamps;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostData;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Treats cached posts whose category or tag names predate a rename as misses, so @Cacheable reloads them.
+ * Stale entries are simply overwritten by the reload or expire by TTL.
+ */
+public class GenerationCheckedCache implements Cache {
+    private final Cache delegate;
+    private final GenerationStamps stamps;
+
+    public GenerationCheckedCache(Cache delegate, GenerationStamps stamps) {
+        this.delegate = delegate;
+        this.stamps = stamps;
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper cached = delegate.get(key);
+        return cached != null && isCurrent(cached.get()) ? cached : null;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T value = delegate.get(key, type);
+        return isCurrent(value) ? value : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private boolean isCurrent(Object value) {
+        return !(value instanceof PostData post) || stamps.isCurrent(post);
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.bluething.playground.java.bloggingplatformapi.cache;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.GenerationStamps;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps the "posts" cache of the target manager in a {@link GenerationCheckedCache}; other caches pass through.
+ */
+public class GenerationCheckedCacheManager implements CacheManager {
+    private final CacheManager target;
+    private final GenerationStamps stamps;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public GenerationCheckedCacheManager(CacheManager target, GenerationStamps stamps) {
+        this.target = target;
+        this.stamps = stamps;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = target.getCache(name);
+        if (cache == null || !"posts".equals(name)) {
+            return cache;
+        }
+        return caches.computeIfAbsent(name, key -> new GenerationCheckedCache(cache, stamps));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return target.getCacheNames();
+    }
+}
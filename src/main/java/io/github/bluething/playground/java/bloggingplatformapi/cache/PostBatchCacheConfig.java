@@ -0,0 +1,37 @@
+package io.github.bluething.playground.java.bloggingplatformapi.cache;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostBatchCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Configuration
+public class PostBatchCacheConfig {
+    @Bean
+    public PostBatchCache postBatchCache(CacheManager cacheManager,
+                                         ObjectProvider<RedisConnectionFactory> connectionFactory) {
+        Cache cache = cacheManager.getCache("posts");
+        List<Cache> evictedWith = Stream.ofNullable(cacheManager.getCache("post-responses")).toList();
+        ResilientCache resilient = Caches.resilient(cache).orElse(null);
+        RedisConnectionFactory redis = connectionFactory.getIfAvailable();
+        if (resilient != null && resilient.getDelegate() instanceof RedisCache redisCache && redis != null) {
+            List<RedisCache> redisEvictedWith = evictedWith.stream()
+                    .map(other -> Caches.resilient(other)
+                            .map(ResilientCache::getDelegate)
+                            .filter(RedisCache.class::isInstance)
+                            .map(RedisCache.class::cast))
+                    .flatMap(Optional::stream)
+                    .toList();
+            return new RedisPostBatchCache(redisCache, redisEvictedWith, redis, resilient.getGuard());
+        }
+        return new SimplePostBatchCache(cache, evictedWith);
+    }
+}
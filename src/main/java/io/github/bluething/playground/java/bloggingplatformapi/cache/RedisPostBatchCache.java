@@ -0,0 +1,147 @@
+package io.github.bluething.playground.java.bloggingplatformapi.cache;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostBatchCache;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Reads the "posts" cache with a single MGET and writes misses back in one pipeline,
+ * using the same key prefix, serializer and TTL as the RedisCache behind @Cacheable.
+ * Evictions send one DEL per post, covering its keys in every evicted cache, in one pipeline.
+ * Both go through the same {@link CacheGuard} as the single-key cache calls; a failed eviction is queued per cache
+ * and post for replay, and queued posts are read as misses.
+ */
+@Slf4j
+class RedisPostBatchCache implements PostBatchCache {
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisCacheConfiguration configuration;
+    private final String cacheName;
+    private final String keyPrefix;
+    // "posts" and the other caches keyed by post ID
+    private final List<RedisCache> evicted;
+    private final List<String> evictPrefixes;
+    private final CacheGuard guard;
+
+    RedisPostBatchCache(RedisCache cache, List<RedisCache> evictedWith, RedisConnectionFactory connectionFactory,
+                        CacheGuard guard) {
+        this.connectionFactory = connectionFactory;
+        this.guard = guard;
+        this.configuration = cache.getCacheConfiguration();
+        this.cacheName = cache.getName();
+        this.keyPrefix = configuration.getKeyPrefixFor(cache.getName());
+        this.evicted = new ArrayList<>(List.of(cache));
+        this.evicted.addAll(evictedWith);
+        this.evictPrefixes = evicted.stream()
+                .map(other -> other.getCacheConfiguration().getKeyPrefixFor(other.getName()))
+                .toList();
+    }
+
+    @Override
+    public Map<String, PostData> getAll(Collection<String> ids) {
+        List<String> distinct = ids.stream()
+                .distinct()
+                .filter(id -> !guard.isPending(cacheName, id))
+                .toList();
+        if (distinct.isEmpty()) {
+            return Map.of();
+        }
+        byte[][] keys = distinct.stream().map(this::key).toArray(byte[][]::new);
+        List<byte[]> values = guard.call(() -> {
+            try (RedisConnection connection = connectionFactory.getConnection()) {
+                return connection.stringCommands().mGet(keys);
+            }
+        }, null);
+
+        Map<String, PostData> found = new HashMap<>();
+        for (int i = 0; values != null && i < values.size(); i++) {
+            PostData post = read(distinct.get(i), values.get(i));
+            if (post != null) {
+                found.put(distinct.get(i), post);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void putAll(Map<String, PostData> posts) {
+        if (posts.isEmpty()) {
+            return;
+        }
+        guard.run(() -> {
+            try (RedisConnection connection = connectionFactory.getConnection()) {
+                connection.openPipeline();
+                posts.forEach((id, post) -> {
+                    Duration ttl = configuration.getTtlFunction().getTimeToLive(id, post);
+                    connection.stringCommands().set(key(id), value(post),
+                            ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl),
+                            RedisStringCommands.SetOption.upsert());
+                });
+                connection.closePipeline();
+            }
+        });
+    }
+
+    @Override
+    public void evictAll(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        boolean evictedNow = guard.attemptInvalidation(() -> {
+            try (RedisConnection connection = connectionFactory.getConnection()) {
+                connection.openPipeline();
+                for (String id : ids) {
+                    connection.keyCommands().del(evictPrefixes.stream()
+                            .map(prefix -> (prefix + id).getBytes(StandardCharsets.UTF_8))
+                            .toArray(byte[][]::new));
+                }
+                connection.closePipeline();
+            }
+        });
+        if (evictedNow) {
+            return;
+        }
+        for (RedisCache cache : evicted) {
+            for (String id : ids) {
+                guard.defer(cache.getName(), id, () -> cache.evict(id), cache::clear);
+            }
+        }
+    }
+
+    private byte[] key(String id) {
+        return (keyPrefix + id).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A corrupt or incompatible entry (e.g. written by an older PostData) is a miss, not a failed batch;
+     * the reload overwrites it.
+     */
+    private PostData read(String id, byte[] value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return configuration.getValueSerializationPair().read(ByteBuffer.wrap(value)) instanceof PostData post ? post : null;
+        } catch (RuntimeException e) {
+            log.warn("Unreadable cache entry for post {}, treating it as a miss", id, e);
+            return null;
+        }
+    }
+
+    private byte[] value(PostData post) {
+        ByteBuffer buffer = configuration.getValueSerializationPair().write(post);
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.bluething.playground.java.bloggingplatformapi.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs every operation of the wrapped cache through a {@link CacheGuard}: a slow or unavailable Redis
+ * turns reads into misses and puts into no-ops instead of failing or stalling the request.
+ * Evictions and clears are never dropped: the guard queues those that cannot run and replays them once Redis
+ * answers again, and until then reads of an affected key are misses.
+ */
+public class ResilientCache implements Cache {
+    private final Cache delegate;
+    private final CacheGuard guard;
+
+    public ResilientCache(Cache delegate, CacheGuard guard) {
+        this.delegate = delegate;
+        this.guard = guard;
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    public CacheGuard getGuard() {
+        return guard;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        if (guard.isPending(getName(), key)) {
+            return null;
+        }
+        return guard.call(() -> delegate.get(key), null);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        if (guard.isPending(getName(), key)) {
+            return null;
+        }
+        return guard.call(() -> delegate.get(key, type), null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        // load on the caller's thread, outside the latency budget
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        guard.run(() -> delegate.put(key, value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        // the present value may be the stale one
+        if (guard.isPending(getName(), key)) {
+            return null;
+        }
+        return guard.call(() -> delegate.putIfAbsent(key, value), null);
+    }
+
+    @Override
+    public void evict(Object key) {
+        guard.invalidate(getName(), key, () -> delegate.evict(key), delegate::clear);
+    }
+
+    /**
+     * @return whether the key was present; false when the eviction was queued
+     */
+    @Override
+    public boolean evictIfPresent(Object key) {
+        AtomicBoolean present = new AtomicBoolean();
+        if (guard.attemptInvalidation(() -> present.set(delegate.evictIfPresent(key)))) {
+            return present.get();
+        }
+        guard.defer(getName(), key, () -> delegate.evict(key), delegate::clear);
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        guard.invalidateAll(getName(), delegate::clear);
+    }
+
+    /**
+     * @return whether the cache had entries; false when the clear was queued
+     */
+    @Override
+    public boolean invalidate() {
+        AtomicBoolean invalidated = new AtomicBoolean();
+        if (guard.attemptInvalidation(() -> invalidated.set(delegate.invalidate()))) {
+            return invalidated.get();
+        }
+        guard.deferClear(getName(), delegate::clear);
+        return false;
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.bluething.playground.java.bloggingplatformapi.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps each cache of the target manager in a {@link ResilientCache}. The transaction-aware decorator goes
+ * on the outside so deferred after-commit puts and evictions still run inside the latency budget.
+ */
+public class ResilientCacheManager implements CacheManager {
+    private final CacheManager target;
+    private final CacheGuard guard;
+    private final boolean transactionAware;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public ResilientCacheManager(CacheManager target, CacheGuard guard, boolean transactionAware) {
+        this.target = target;
+        this.guard = guard;
+        this.transactionAware = transactionAware;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache targetCache = target.getCache(name);
+        if (targetCache == null) {
+            return null;
+        }
+        Cache resilient = new ResilientCache(targetCache, guard);
+        return caches.computeIfAbsent(name, key -> transactionAware ? new TransactionAwareCacheDecorator(resilient) : resilient);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return target.getCacheNames();
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.bluething.playground.java.bloggingplatformapi.cache;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostBatchCache;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostData;
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-key fallback for cache managers without a multi-get (e.g. the in-memory cache used in tests).
+ */
+class SimplePostBatchCache implements PostBatchCache {
+    private final Cache cache;
+    private final List<Cache> evictedWith;
+
+    SimplePostBatchCache(Cache cache, List<Cache> evictedWith) {
+        this.cache = cache;
+        this.evictedWith = evictedWith;
+    }
+
+    @Override
+    public Map<String, PostData> getAll(Collection<String> ids) {
+        Map<String, PostData> found = new HashMap<>();
+        for (String id : ids) {
+            PostData post = cache.get(id, PostData.class);
+            if (post != null) {
+                found.put(id, post);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void putAll(Map<String, PostData> posts) {
+        posts.forEach(cache::put);
+    }
+
+    @Override
+    public void evictAll(Collection<String> ids) {
+        for (String id : ids) {
+            cache.evictIfPresent(id);
+            evictedWith.forEach(other -> other.evictIfPresent(id));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.posts.bulk-delete")
+public class BulkDeleteProperties {
+    // Posts removed per transaction and per DELETE statement
+    private int chunkSize = 500;
+    // Chunks are spaced out so deletes stay below this rate, bounding binlog volume and replica lag; 0 disables
+    private int maxRowsPerSecond = 2000;
+    // Deletes by category or tag stop after this many posts and report that more remain; 0 disables
+    private int maxRowsPerRequest = 20000;
+}
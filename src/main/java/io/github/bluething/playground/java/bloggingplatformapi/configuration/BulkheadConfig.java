@@ -0,0 +1,52 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import io.github.bluething.playground.java.bloggingplatformapi.bulkhead.Bulkhead;
+import io.github.bluething.playground.java.bloggingplatformapi.bulkhead.Bulkheads;
+import io.github.bluething.playground.java.bloggingplatformapi.bulkhead.ReadLane;
+import io.github.bluething.playground.java.bloggingplatformapi.bulkhead.StreamPermits;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+@Slf4j
+public class BulkheadConfig {
+    @Bean
+    public Bulkheads bulkheads(BulkheadProperties properties,
+                               MeterRegistry meterRegistry,
+                               @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                               @Value("${spring.mvc.async.request-timeout:30m}") Duration streamTimeout) {
+        Map<ReadLane, Bulkhead> bulkheads = new EnumMap<>(ReadLane.class);
+        if (!properties.isEnabled()) {
+            return new Bulkheads(bulkheads);
+        }
+        bulkheads.put(ReadLane.POINT_READ, bulkhead(ReadLane.POINT_READ, properties.getPointReads(), properties, meterRegistry));
+        bulkheads.put(ReadLane.LIST, bulkhead(ReadLane.LIST, properties.getLists(), properties, meterRegistry));
+        bulkheads.put(ReadLane.SEARCH, bulkhead(ReadLane.SEARCH, properties.getSearches(), properties, meterRegistry));
+
+        // a stream outliving the async request timeout has been cut off by then
+        StreamPermits exports = new StreamPermits(ReadLane.EXPORT, properties.getExports(), streamTimeout,
+                properties.getRetryAfter(), meterRegistry);
+
+        int laneThreads = properties.getPointReads().getThreads() + properties.getLists().getThreads()
+                + properties.getSearches().getThreads() + properties.getExports();
+        if (laneThreads >= poolSize) {
+            log.warn("Bulkhead lanes may hold {} of {} pooled connections, leaving none for writes", laneThreads, poolSize);
+        }
+        return new Bulkheads(bulkheads, exports);
+    }
+
+    private static Bulkhead bulkhead(ReadLane lane, BulkheadProperties.Lane settings, BulkheadProperties properties,
+                                     MeterRegistry meterRegistry) {
+        return new Bulkhead(lane, settings.getThreads(), settings.getQueueCapacity(), settings.getTimeout(),
+                properties.getRetryAfter(), meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+    // Run post reads on per-lane executors; when off they run on the request thread
+    private boolean enabled = true;
+    // Sent as Retry-After with the 503 of a full queue or timeout
+    private Duration retryAfter = Duration.ofSeconds(1);
+    // GET /posts/{id} and ?ids=
+    private Lane pointReads = new Lane(10, 100, Duration.ofSeconds(2));
+    // GET /posts, optionally filtered by category or tag
+    private Lane lists = new Lane(4, 20, Duration.ofSeconds(5));
+    // GET /posts?term=
+    private Lane searches = new Lane(3, 10, Duration.ofSeconds(5));
+    // GET /posts/export: concurrent streams, no queue; each holds a DB connection until the export ends
+    private int exports = 2;
+
+    @Data
+    public static class Lane {
+        // Also the lane's maximum number of DB connections
+        private int threads;
+        private int queueCapacity;
+        // Queue wait plus execution
+        private Duration timeout;
+
+        public Lane() {
+        }
+
+        public Lane(int threads, int queueCapacity, Duration timeout) {
+            this.threads = threads;
+            this.queueCapacity = queueCapacity;
+            this.timeout = timeout;
+        }
+    }
+}
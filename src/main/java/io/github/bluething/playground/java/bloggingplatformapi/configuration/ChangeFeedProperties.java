@@ -0,0 +1,16 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.changes")
+public class ChangeFeedProperties {
+    // Changes younger than this are held back so a slower concurrent commit can't land behind a returned cursor
+    private Duration settleWindow = Duration.ofSeconds(2);
+    private int maxPageSize = 500;
+    // Tombstones older than this are purged; cursors older than this must resync
+    private Duration tombstoneRetention = Duration.ofDays(30);
+}
@@ -0,0 +1,46 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import io.github.bluething.playground.java.bloggingplatformapi.limit.ConcurrencyLimitFilter;
+import io.github.bluething.playground.java.bloggingplatformapi.limit.GradientLimiter;
+import io.github.bluething.playground.java.bloggingplatformapi.limit.Lane;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnWebApplication
+public class ConcurrencyLimitConfig {
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ConcurrencyLimitProperties properties,
+                                                                                 MeterRegistry meterRegistry) {
+        Map<Lane, GradientLimiter> limiters = new EnumMap<>(Lane.class);
+        limiters.put(Lane.READ, limiter(Lane.READ, properties.getReads(), properties, meterRegistry));
+        limiters.put(Lane.SEARCH, limiter(Lane.SEARCH, properties.getSearches(), properties, meterRegistry));
+        limiters.put(Lane.WRITE, limiter(Lane.WRITE, properties.getWrites(), properties, meterRegistry));
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limiters, properties.getRetryAfter(), meterRegistry));
+        registration.addUrlPatterns("/api/v1/posts/*");
+        // ahead of SQL stats, so shed requests cost nothing downstream
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    private static GradientLimiter limiter(Lane lane, ConcurrencyLimitProperties.Lane limits,
+                                           ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        GradientLimiter limiter = new GradientLimiter(limits.getInitialLimit(), limits.getMinLimit(), limits.getMaxLimit(),
+                properties.getTolerance(), properties.getSmoothing(), properties.getLongWindow());
+        limiter.bindTo(meterRegistry, lane.tag());
+        return limiter;
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    // Shed /api/v1/posts requests above an adaptive in-flight limit instead of queueing on the pool
+    private boolean enabled = true;
+    // Sent as Retry-After with the 503
+    private Duration retryAfter = Duration.ofSeconds(1);
+    // Latency may grow this much over its long-term average before the limit shrinks
+    private double tolerance = 1.5;
+    // Weight of each new limit estimate; lower is steadier but slower to react
+    private double smoothing = 0.2;
+    // Samples averaged into the long-term (no-load) latency
+    private int longWindow = 600;
+    private Lane reads = new Lane(20, 4, 200);
+    private Lane searches = new Lane(8, 2, 40);
+    private Lane writes = new Lane(10, 2, 50);
+
+    @Data
+    public static class Lane {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        public Lane() {
+        }
+
+        public Lane(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+}
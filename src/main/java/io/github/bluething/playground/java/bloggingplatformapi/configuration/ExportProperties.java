@@ -0,0 +1,11 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.posts.export")
+public class ExportProperties {
+    // Posts loaded (with category and tags) per query while streaming an export
+    private int batchSize = 500;
+}
@@ -0,0 +1,18 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.feed")
+public class FeedProperties {
+    // Public base URL; feeds and sitemaps must use absolute links
+    private String siteUrl = "http://localhost:8080";
+    private String title = "Blog";
+    // Path of a post's page relative to siteUrl, {id} is replaced with the post ID
+    private String postPath = "/api/v1/posts/{id}?format=html";
+    private int atomEntries = 50;
+    private int summaryLength = 280;
+    // URLs per sitemap page; the sitemap protocol allows at most 50,000
+    private int sitemapPageSize = 50_000;
+}
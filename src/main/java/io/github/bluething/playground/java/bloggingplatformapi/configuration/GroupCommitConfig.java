@@ -0,0 +1,9 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(GroupCommitProperties.class)
+public class GroupCommitConfig {
+}
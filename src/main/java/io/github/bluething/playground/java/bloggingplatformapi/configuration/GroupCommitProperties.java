@@ -0,0 +1,19 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.posts.group-commit")
+public class GroupCommitProperties {
+    // Queue POST /api/v1/posts creates and commit them in groups instead of one transaction each
+    private boolean enabled = false;
+    // A group commits once it has this many commands...
+    private int maxBatchSize = 64;
+    // ...or once its first command has waited this long
+    private Duration maxDelay = Duration.ofMillis(5);
+    // Callers block when this many commands are waiting
+    private int queueCapacity = 1024;
+}
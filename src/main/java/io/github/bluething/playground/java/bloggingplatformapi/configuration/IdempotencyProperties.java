@@ -0,0 +1,23 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+    // Where completed results are kept: "memory" (per node) or "redis" (shared)
+    private String store = "memory";
+    // How long a key replays its original response
+    private Duration ttl = Duration.ofHours(24);
+    // Upper bound for the in-memory store, oldest keys are dropped first
+    private int maxEntries = 10_000;
+    // How long a duplicate waits for the first request before answering 409
+    private Duration waitTimeout = Duration.ofSeconds(10);
+    // Redis only: reservation lease, released early when the first request fails
+    private Duration lease = Duration.ofSeconds(30);
+    // Redis only: budget per store call, separate from the cache's; an unconfirmed lookup or reservation is a 503
+    private Duration redisTimeout = Duration.ofMillis(500);
+}
@@ -0,0 +1,34 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@ConditionalOnClass(SpringLiquibase.class)
+@Slf4j
+public class LiquibaseStartupConfig {
+    /**
+     * Lets read-only nodes skip the changelog update/validation at boot via app.liquibase.run-on-startup=false.
+     * Unlike spring.liquibase.enabled, this is read at runtime, so it still works with an AOT-processed build
+     * where auto-configuration conditions are fixed at build time.
+     */
+    @Bean
+    public static BeanPostProcessor liquibaseStartupToggle(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof SpringLiquibase liquibase
+                        && !environment.getProperty("app.liquibase.run-on-startup", Boolean.class, true)) {
+                    log.info("Skipping Liquibase changelog on startup");
+                    liquibase.setShouldRun(false);
+                }
+                return bean;
+            }
+        };
+    }
+}
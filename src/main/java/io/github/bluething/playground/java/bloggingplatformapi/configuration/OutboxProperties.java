@@ -0,0 +1,24 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+    // Where relayed events go: "log" or "memory" (local/test stand-in)
+    private String sink = "log";
+    private int memorySinkCapacity = 10_000;
+    private Relay relay = new Relay();
+
+    @Data
+    public static class Relay {
+        private boolean enabled = true;
+        private Duration interval = Duration.ofMillis(500);
+        private int batchSize = 100;
+        // Only the node holding the outbox-relay lease relays; if it dies another node takes over after this long
+        private Duration lease = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties(prefix = "app.import")
+public class PostImportProperties {
+    // NDJSON (.ndjson/.jsonl) or CSV (.csv) file to import at startup, optionally gzip-compressed (.gz)
+    private Path file;
+    // Records inserted and committed per transaction, together with the checkpoint
+    private int batchSize = 1000;
+    // Log throughput every this many records
+    private long reportInterval = 100_000;
+    // Shut the application down once the import finished (one-shot command)
+    private boolean exitOnCompletion = true;
+}
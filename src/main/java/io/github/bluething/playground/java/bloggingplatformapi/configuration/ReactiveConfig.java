@@ -0,0 +1,58 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import io.github.bluething.playground.java.bloggingplatformapi.cache.Caches;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.GenerationStamps;
+import io.github.bluething.playground.java.bloggingplatformapi.reactive.ReactivePostCache;
+import io.github.bluething.playground.java.bloggingplatformapi.reactive.ReactivePostRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+
+/**
+ * The R2DBC pool is owned by the repository rather than exposed as a ConnectionFactory bean: such a bean would
+ * make Spring Boot back off from the JDBC DataSource and the JPA transaction manager.
+ */
+@Configuration
+@EnableConfigurationProperties(ReactiveProperties.class)
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveConfig {
+    @Bean
+    public ReactivePostRepository reactivePostRepository(ReactiveProperties properties) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate()
+                .option(ConnectionFactoryOptions.USER, properties.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, properties.getPassword())
+                .build();
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("BlogR2dbcPool")
+                .initialSize(properties.getInitialPoolSize())
+                .maxSize(properties.getMaxPoolSize())
+                .maxAcquireTime(properties.getMaxAcquireTime())
+                .build());
+        return new ReactivePostRepository(pool);
+    }
+
+    /**
+     * Reads and writes the same Redis entries as the "posts" cache, or bypasses the cache when it is not Redis.
+     */
+    @Bean
+    public ReactivePostCache reactivePostCache(CacheManager cacheManager,
+                                               ObjectProvider<ReactiveRedisConnectionFactory> connectionFactory,
+                                               RedisCacheProperties redisCacheProperties,
+                                               GenerationStamps generationStamps) {
+        ReactiveRedisConnectionFactory redis = connectionFactory.getIfAvailable();
+        return Caches.resilient(cacheManager.getCache("posts"))
+                .filter(resilient -> resilient.getDelegate() instanceof RedisCache && redis != null)
+                .map(resilient -> new ReactivePostCache((RedisCache) resilient.getDelegate(), redis,
+                        redisCacheProperties.getResilience().getTimeout(), generationStamps))
+                .orElseGet(ReactivePostCache::disabled);
+    }
+}
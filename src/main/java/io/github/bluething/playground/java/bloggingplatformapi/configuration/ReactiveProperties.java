@@ -0,0 +1,20 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.reactive")
+public class ReactiveProperties {
+    // Serve /api/v1/reactive/posts through R2DBC and reactive Redis, next to the blocking MVC endpoints
+    private boolean enabled = false;
+    private String url;
+    private String username;
+    private String password;
+    // Own connection pool, separate from HikariCP
+    private int initialPoolSize = 5;
+    private int maxPoolSize = 20;
+    private Duration maxAcquireTime = Duration.ofSeconds(5);
+}
@@ -6,13 +6,24 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.bluething.playground.java.bloggingplatformapi.cache.CacheGuard;
+import io.github.bluething.playground.java.bloggingplatformapi.cache.GenerationCheckedCacheManager;
+import io.github.bluething.playground.java.bloggingplatformapi.cache.ResilientCacheManager;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.GenerationStamps;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.LoggingCacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
@@ -23,28 +34,65 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
-@EnableConfigurationProperties(RedisCacheProperties.class)
+@EnableConfigurationProperties({RedisCacheProperties.class, ResponseCacheProperties.class})
 @EnableCaching
 @Slf4j
-public class RedisCacheConfig {
-    @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory, RedisCacheProperties redisCacheProperties) {
-        // Use ObjectMapper with optimized settings for caching
+public class RedisCacheConfig implements CachingConfigurer {
+    /**
+     * ObjectMapper used for cache values. Type information is written for every value (records are final,
+     * so NON_FINAL would drop it) and java.time types are supported, so cached PostData round-trips.
+     */
+    @SuppressWarnings("deprecation")
+    public static ObjectMapper cacheObjectMapper() {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         objectMapper.configure(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, true);
         objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
+        objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.EVERYTHING);
+        objectMapper.registerModule(new JavaTimeModule());
+        return objectMapper;
+    }
+
+    @Bean
+    public RedisSerializer<Object> cacheValueSerializer() {
+        return new GenericJackson2JsonRedisSerializer(cacheObjectMapper());
+    }
+
+    @Bean
+    public CacheGuard cacheGuard(RedisCacheProperties redisCacheProperties) {
+        RedisCacheProperties.Resilience resilience = redisCacheProperties.getResilience();
+        return new CacheGuard(
+                resilience.getTimeout(),
+                resilience.getSlowCallThreshold(),
+                resilience.getOpenDuration(),
+                resilience.getFailureRateThreshold(),
+                resilience.getSlidingWindowSize(),
+                resilience.getMinimumCalls(),
+                resilience.getInvalidationTimeout(),
+                resilience.getMaxPendingInvalidations());
+    }
 
-        // Create serializer with custom ObjectMapper
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+    /**
+     * Cache errors that still reach the cache interceptor are logged and treated as a miss.
+     */
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new LoggingCacheErrorHandler();
+    }
 
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     RedisCacheProperties redisCacheProperties,
+                                     ResponseCacheProperties responseCacheProperties,
+                                     RedisSerializer<Object> cacheValueSerializer,
+                                     CacheGuard cacheGuard,
+                                     GenerationStamps generationStamps) {
         // Default cache configuration
         RedisCacheConfiguration baseConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(30)) // Increased default TTL
                 .prefixCacheNameWith(redisCacheProperties.getKeyPrefix() + ":") // Use application-specific prefix
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(RedisSerializer.string()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer))
                 .computePrefixWith(cacheName -> redisCacheProperties.getKeyPrefix() + ":" + cacheName + ":"); // Custom prefix computation
 
         // Configure null value handling based on properties
@@ -76,15 +124,24 @@ public class RedisCacheConfig {
             cacheConfigurations.put(cacheName, config);
         });
 
-        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(defaultConfig)
-                .withInitialCacheConfigurations(cacheConfigurations);
+        // Pre-serialized GET responses are stored as raw bytes, bypassing the JSON value serializer
+        cacheConfigurations.put("post-responses", defaultConfig
+                .entryTtl(responseCacheProperties.getTtl())
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(RedisSerializer.byteArray())));
 
-        // Enable transaction support based on properties
-        if (redisCacheProperties.isEnableTransactions()) {
-            builder = builder.transactionAware();
-        }
+        // clear() walks the cache's keys with SCAN rather than one blocking KEYS over the whole keyspace
+        RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(1000));
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(cacheWriter)
+                .cacheDefaults(defaultConfig)
+                .withInitialCacheConfigurations(cacheConfigurations)
+                .build();
+        // not a bean itself, so initialize the configured caches here
+        redisCacheManager.afterPropertiesSet();
 
-        return builder.build();
+        // Latency budget + circuit breaker around Redis; transaction support based on properties;
+        // cached posts embedding a since-renamed category or tag read as misses
+        return new GenerationCheckedCacheManager(
+                new ResilientCacheManager(redisCacheManager, cacheGuard, redisCacheProperties.isEnableTransactions()),
+                generationStamps);
     }
 }
@@ -19,10 +19,30 @@ public class RedisCacheProperties {
     // Cache-specific settings
     private Map<String, CacheConfig> caches = new HashMap<>();
 
+    private Resilience resilience = new Resilience();
+
     @Data
     public static class CacheConfig {
         private Duration ttl;
         private String prefix;
         private boolean allowNullValues = false;
     }
+
+    @Data
+    public static class Resilience {
+        // Hard budget per cache call; spring.data.redis.timeout only bounds the client
+        private Duration timeout = Duration.ofMillis(50);
+        // Calls slower than this count as failures for the circuit breaker
+        private Duration slowCallThreshold = Duration.ofMillis(20);
+        // Open the circuit when this percentage of recent calls failed or were slow
+        private int failureRateThreshold = 50;
+        private int slidingWindowSize = 100;
+        private int minimumCalls = 20;
+        // How long Redis is bypassed before a probe call is let through
+        private Duration openDuration = Duration.ofSeconds(10);
+        // Budget for evictions and clears, which are never skipped; failed ones are queued and replayed
+        private Duration invalidationTimeout = Duration.ofMillis(250);
+        // Queued evictions per cache before the cache is cleared as a whole instead
+        private int maxPendingInvalidations = 10_000;
+    }
 }
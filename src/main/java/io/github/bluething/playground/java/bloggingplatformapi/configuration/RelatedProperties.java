@@ -0,0 +1,13 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.related")
+public class RelatedProperties {
+    // Related posts computed and kept per post; also the largest limit served
+    private int resultSize = 10;
+    // A candidate in the same category scores (1 + boost) times its tag similarity
+    private double categoryBoost = 0.5;
+}
@@ -0,0 +1,16 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.cache.response")
+public class ResponseCacheProperties {
+    // Serve GET /api/v1/posts/{id} from cached JSON bytes instead of PostData
+    private boolean enabled = false;
+    // Store the cached bytes gzip-encoded
+    private boolean gzip = false;
+    private Duration ttl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,69 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostService;
+import io.github.bluething.playground.java.bloggingplatformapi.jdbc.SqlStatsDataSources;
+import io.github.bluething.playground.java.bloggingplatformapi.jdbc.SqlStatsFilter;
+import io.github.bluething.playground.java.bloggingplatformapi.jdbc.SqlStatsInterceptor;
+import io.github.bluething.playground.java.bloggingplatformapi.jdbc.SqlStatsReporter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(SqlStatsProperties.class)
+@ConditionalOnProperty(name = "app.sql-stats.enabled", havingValue = "true")
+public class SqlStatsConfig {
+    @Bean
+    public static BeanPostProcessor sqlStatsDataSourceProxy() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? SqlStatsDataSources.wrap(dataSource, beanName) : bean;
+            }
+        };
+    }
+
+    /**
+     * Puts each PostService call in its own scope; the proxy exposes only the PostService interface.
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatsServiceProxy(ObjectProvider<SqlStatsReporter> reporter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof PostService)) {
+                    return bean;
+                }
+                ProxyFactory proxyFactory = new ProxyFactory();
+                proxyFactory.setTarget(bean);
+                proxyFactory.setInterfaces(PostService.class);
+                proxyFactory.addAdvice(new SqlStatsInterceptor("PostService", reporter.getObject()));
+                return proxyFactory.getProxy();
+            }
+        };
+    }
+
+    @Bean
+    public SqlStatsReporter sqlStatsReporter(SqlStatsProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new SqlStatsReporter(properties, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication
+    public FilterRegistrationBean<SqlStatsFilter> sqlStatsFilter(SqlStatsReporter reporter) {
+        FilterRegistrationBean<SqlStatsFilter> registration = new FilterRegistrationBean<>(new SqlStatsFilter(reporter));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.sql-stats")
+public class SqlStatsProperties {
+    // Proxy the DataSource and count statements per request and per PostService call; off by default since
+    // every statement then pays for the proxy and the per-request bookkeeping
+    private boolean enabled = false;
+    // Scopes above either threshold are logged with their counts
+    private int statementThreshold = 20;
+    private Duration jdbcTimeThreshold = Duration.ofMillis(200);
+    // Identical SQL run this many times in one scope is reported as an N+1 suspect
+    private int repeatedStatementThreshold = 3;
+}
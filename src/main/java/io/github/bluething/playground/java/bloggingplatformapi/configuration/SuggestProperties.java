@@ -0,0 +1,18 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.suggest")
+public class SuggestProperties {
+    private int defaultLimit = 10;
+    private int maxLimit = 50;
+    // Upper bound on post titles ranked per request, keeps one-letter prefixes cheap on large indexes;
+    // tags and categories matching the prefix are always ranked
+    private int maxScan = 2000;
+    // Full rebuild from the database, picks up writes that bypass PostChangedEvent (bulk imports)
+    private Duration rebuildInterval = Duration.ofHours(6);
+}
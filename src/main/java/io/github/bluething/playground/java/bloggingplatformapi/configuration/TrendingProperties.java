@@ -0,0 +1,18 @@
+package io.github.bluething.playground.java.bloggingplatformapi.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.trending")
+public class TrendingProperties {
+    // A view's weight halves after this long
+    private Duration halfLife = Duration.ofHours(6);
+    // Scored posts kept per node; the lowest half is dropped when full
+    private int maxEntries = 100_000;
+    // Size of the continuously maintained local top, published to Redis for the cluster-wide merge
+    private int topSize = 200;
+    private int maxLimit = 50;
+}
@@ -0,0 +1,175 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.BulkDeleteProperties;
+import io.github.bluething.playground.java.bloggingplatformapi.exception.ResourceNotFoundException;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.*;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Each chunk is one transaction: it reads the category and tags of up to chunkSize posts, writes their
+ * tombstones, removes them with a single DELETE (post_tags rows follow through the cascade) and publishes
+ * their DELETED events. Their "posts" and "post-responses" entries are evicted in one pipeline once the
+ * chunk has committed, and the next chunk waits long enough to stay below maxRowsPerSecond. Deletes by category
+ * or tag stop once maxRowsPerRequest posts are gone, the last chunk shrunk to fit.
+ * <p>
+ * A failed chunk rolls back on its own; chunks committed before it stay deleted.
+ */
+@Service
+@Slf4j
+class BlogPostBulkDeleteService implements PostBulkDeleteService {
+    private record Chunk(int selected, List<String> deleted) {
+    }
+
+    private final PostRepository postRepository;
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final PostBatchCache postBatchCache;
+    private final UsageCounters usageCounters;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    // Long.MAX_VALUE when uncapped
+    private final long maxRowsPerRequest;
+    // 0 when unthrottled
+    private final long nanosPerRow;
+
+    BlogPostBulkDeleteService(PostRepository postRepository,
+                              CategoryRepository categoryRepository,
+                              TagRepository tagRepository,
+                              PostBatchCache postBatchCache,
+                              UsageCounters usageCounters,
+                              ApplicationEventPublisher eventPublisher,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              BulkDeleteProperties properties) {
+        this.postRepository = postRepository;
+        this.categoryRepository = categoryRepository;
+        this.tagRepository = tagRepository;
+        this.postBatchCache = postBatchCache;
+        this.usageCounters = usageCounters;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = properties.getChunkSize();
+        this.maxRowsPerRequest = properties.getMaxRowsPerRequest() > 0
+                ? properties.getMaxRowsPerRequest()
+                : Long.MAX_VALUE;
+        this.nanosPerRow = properties.getMaxRowsPerSecond() > 0
+                ? TimeUnit.SECONDS.toNanos(1) / properties.getMaxRowsPerSecond()
+                : 0;
+    }
+
+    @Override
+    public BulkDeleteResult deleteByCategory(String categoryId) {
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category", categoryId);
+        }
+        BulkDeleteResult result = deleteAll(limit -> postRepository.findIdsByCategoryId(categoryId, Limit.of(limit)));
+        log.info("Bulk delete removed {} posts in category {}{}", result.deleted(), categoryId,
+                result.hasMore() ? ", more remain" : "");
+        return result;
+    }
+
+    @Override
+    public BulkDeleteResult deleteByTag(String tagId) {
+        if (!tagRepository.existsById(tagId)) {
+            throw new ResourceNotFoundException("Tag", tagId);
+        }
+        BulkDeleteResult result = deleteAll(limit -> postRepository.findIdsByTagId(tagId, Limit.of(limit)));
+        log.info("Bulk delete removed {} posts tagged {}{}", result.deleted(), tagId,
+                result.hasMore() ? ", more remain" : "");
+        return result;
+    }
+
+    @Override
+    public long deleteByIds(Collection<String> ids) {
+        List<String> distinct = ids.stream().distinct().toList();
+        long deleted = 0;
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<String> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            deleted += deleteChunk(() -> chunk).deleted().size();
+        }
+        return deleted;
+    }
+
+    /**
+     * Delete chunk after chunk until the selector comes back short or the per-request cap is reached; it sees
+     * the previous chunks' deletes, so it always selects from the start. A full last chunk at the cap reports
+     * more, which may turn out to be nothing on the next call.
+     */
+    private BulkDeleteResult deleteAll(IntFunction<List<String>> selector) {
+        long deleted = 0;
+        while (true) {
+            int limit = (int) Math.min(chunkSize, maxRowsPerRequest - deleted);
+            Chunk chunk = deleteChunk(() -> selector.apply(limit));
+            deleted += chunk.deleted().size();
+            if (chunk.selected() < limit) {
+                return new BulkDeleteResult(deleted, false);
+            }
+            if (deleted >= maxRowsPerRequest) {
+                return new BulkDeleteResult(deleted, true);
+            }
+        }
+    }
+
+    private Chunk deleteChunk(Supplier<List<String>> selector) {
+        long start = System.nanoTime();
+        Chunk chunk = transactionTemplate.execute(status -> {
+            List<String> selected = selector.get();
+            return new Chunk(selected.size(), delete(selected));
+        });
+        postBatchCache.evictAll(chunk.deleted());
+        throttle(start, chunk.deleted().size());
+        return chunk;
+    }
+
+    private List<String> delete(List<String> selected) {
+        if (selected.isEmpty()) {
+            return List.of();
+        }
+        Map<String, List<PostUsageRow>> posts = postRepository.findUsageRows(selected).stream()
+                .collect(Collectors.groupingBy(PostUsageRow::postId, LinkedHashMap::new, Collectors.toList()));
+        if (posts.isEmpty()) {
+            return List.of();
+        }
+        UsageDelta usage = new UsageDelta();
+        posts.values().forEach(rows -> usage.removed(rows.get(0).categoryId(),
+                rows.stream().map(PostUsageRow::tagId).toList()));
+        List<String> ids = List.copyOf(posts.keySet());
+
+        Instant now = Instant.now();
+        // persist rather than save: the id is assigned, and save would merge with a select per tombstone
+        ids.forEach(id -> entityManager.persist(new PostTombstoneEntity(id, now)));
+        postRepository.deleteByIds(ids);
+        usageCounters.apply(usage);
+        ids.forEach(id -> eventPublisher.publishEvent(new PostChangedEvent(ChangeType.DELETED, id, null, now)));
+        return ids;
+    }
+
+    private void throttle(long startNanos, int rows) {
+        long remaining = startNanos + rows * nanosPerRow - System.nanoTime();
+        if (remaining <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during bulk delete", e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.ChangeFeedProperties;
+import io.github.bluething.playground.java.bloggingplatformapi.exception.BadRequestException;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostRepository;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class BlogPostChangeService implements PostChangeService {
+    private static final Comparator<ChangeCursor> FEED_ORDER =
+            Comparator.comparing(ChangeCursor::at).thenComparing(ChangeCursor::id);
+
+    private final PostRepository postRepository;
+    private final PostTombstoneRepository tombstoneRepository;
+    private final ChangeFeedProperties properties;
+
+    @Override
+    @Transactional(readOnly = true)
+    public PostChangePage getChangesSince(String cursor, int limit) {
+        Instant now = Instant.now();
+        ChangeCursor from = (cursor == null || cursor.isBlank()) ? ChangeCursor.START : ChangeCursor.decode(cursor);
+        if (from != ChangeCursor.START && from.at().isBefore(now.minus(properties.getTombstoneRetention()))) {
+            throw new BadRequestException("Cursor is older than the tombstone retention, resync from the beginning");
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, properties.getMaxPageSize()));
+        Instant until = now.minus(properties.getSettleWindow());
+        // One extra row per source tells whether anything is left after this page
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        Set<ChangeCursor> updated = postRepository.findChangedAfter(from.at(), from.id(), until, page).stream()
+                .map(key -> new ChangeCursor(key.updatedAt(), key.id()))
+                .collect(Collectors.toSet());
+        List<ChangeCursor> deleted = tombstoneRepository.findChangedAfter(from.at(), from.id(), until, page).stream()
+                .map(tombstone -> new ChangeCursor(tombstone.getDeletedAt(), tombstone.getPostId()))
+                .toList();
+
+        List<ChangeCursor> merged = new ArrayList<>(updated.size() + deleted.size());
+        merged.addAll(updated);
+        merged.addAll(deleted);
+        merged.sort(FEED_ORDER);
+        boolean hasMore = merged.size() > pageSize;
+        List<ChangeCursor> window = hasMore ? merged.subList(0, pageSize) : merged;
+
+        List<String> upsertIds = window.stream()
+                .filter(updated::contains)
+                .map(ChangeCursor::id)
+                .toList();
+        Map<String, PostData> posts = upsertIds.isEmpty() ? Map.of()
+                : postRepository.findAllWithDetailsByIdIn(upsertIds).stream()
+                .map(PostDataMapper::toData)
+                .collect(Collectors.toMap(PostData::id, Function.identity()));
+
+        List<PostChange> changes = new ArrayList<>(window.size());
+        for (ChangeCursor position : window) {
+            if (!updated.contains(position)) {
+                changes.add(new PostChange(ChangeType.DELETED, position.id(), null, position.at()));
+                continue;
+            }
+            PostData post = posts.get(position.id());
+            if (post == null) {
+                // deleted since the key query; its tombstone comes in a later page
+                continue;
+            }
+            ChangeType type = post.createdAt().equals(post.updatedAt()) ? ChangeType.CREATED : ChangeType.UPDATED;
+            changes.add(new PostChange(type, position.id(), post, position.at()));
+        }
+
+        // A caught-up reader moves up to the settle line, so a quiet feed does not age its cursor past the retention
+        ChangeCursor settled = new ChangeCursor(until, "");
+        ChangeCursor next = !window.isEmpty() ? window.get(window.size() - 1)
+                : FEED_ORDER.compare(settled, from) > 0 ? settled : from;
+        return new PostChangePage(changes, next.encode(), hasMore);
+    }
+
+    @Scheduled(fixedDelayString = "${app.changes.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpiredTombstones() {
+        int purged = tombstoneRepository.deleteOlderThan(Instant.now().minus(properties.getTombstoneRetention()));
+        if (purged > 0) {
+            log.info("Purged {} expired post tombstones", purged);
+        }
+    }
+}
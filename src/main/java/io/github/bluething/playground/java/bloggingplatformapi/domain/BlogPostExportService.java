@@ -0,0 +1,58 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.ExportProperties;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostChangeKey;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostEntity;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Walks post keys through a cursor and resolves each batch of keys with one fetch-join query for category
+ * and tags. The persistence context is cleared after every batch, so memory stays flat with table size.
+ */
+@Service
+@RequiredArgsConstructor
+class BlogPostExportService implements PostExportService {
+    private final PostRepository postRepository;
+    private final EntityManager entityManager;
+    private final ExportProperties properties;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<PostData> sink) {
+        int batchSize = properties.getBatchSize();
+        List<String> batch = new ArrayList<>(batchSize);
+        try (Stream<PostChangeKey> keys = postRepository.streamAllKeys()) {
+            Iterator<PostChangeKey> iterator = keys.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next().id());
+                if (batch.size() == batchSize) {
+                    flush(batch, sink);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch, sink);
+        }
+    }
+
+    private void flush(List<String> ids, Consumer<PostData> sink) {
+        List<PostEntity> posts = new ArrayList<>(postRepository.findAllWithDetailsByIdIn(ids));
+        posts.sort(Comparator.comparing(PostEntity::getId));
+        for (PostEntity post : posts) {
+            sink.accept(PostDataMapper.toData(post));
+        }
+        ids.clear();
+        entityManager.clear();
+    }
+}
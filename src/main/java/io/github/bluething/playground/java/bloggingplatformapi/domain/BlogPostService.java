@@ -4,16 +4,16 @@ import com.github.f4b6a3.ulid.UlidCreator;
 import io.github.bluething.playground.java.bloggingplatformapi.exception.ResourceNotFoundException;
 import io.github.bluething.playground.java.bloggingplatformapi.persistence.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,6 +22,11 @@ class BlogPostService implements PostService {
     private final PostRepository postRepository;
     private final CategoryRepository categoryRepository;
     private final TagRepository tagRepository;
+    private final PostTombstoneRepository tombstoneRepository;
+    private final PostBatchCache postBatchCache;
+    private final UsageCounters usageCounters;
+    private final GenerationStamps generationStamps;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -48,12 +53,18 @@ class BlogPostService implements PostService {
         );
 
         PostEntity saved = postRepository.save(entity);
-        return toData(saved);
+        usageCounters.apply(new UsageDelta().added(category.getId(), command.tagIds()));
+        PostData data = PostDataMapper.toData(saved);
+        eventPublisher.publishEvent(new PostChangedEvent(ChangeType.CREATED, data.id(), data, now));
+        return data;
     }
 
     @Override
     @Transactional
-    @CacheEvict(cacheNames = "posts", key = "#result.id()")
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "posts", key = "#result.id()"),
+            @CacheEvict(cacheNames = "post-responses", key = "#result.id()")
+    })
     public PostData updatePost(String id, UpdatePostCommand command) {
         PostEntity existing = postRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post", id));
@@ -66,6 +77,11 @@ class BlogPostService implements PostService {
             throw new ResourceNotFoundException("Tag", String.join(",", String.join(",", command.tagIds())));
         }
 
+        // read before the merge replaces the tag collection
+        UsageDelta usage = new UsageDelta()
+                .removed(existing.getCategory().getId(), existing.getTags().stream().map(TagEntity::getId).toList())
+                .added(category.getId(), command.tagIds());
+
         Instant now = Instant.now();
         Set<TagEntity> tagSet = new HashSet<>(tags);
         PostEntity updated = new PostEntity(
@@ -78,17 +94,30 @@ class BlogPostService implements PostService {
                 now
         );
         PostEntity saved = postRepository.save(updated);
-        return toData(saved);
+        usageCounters.apply(usage);
+        PostData data = PostDataMapper.toData(saved);
+        eventPublisher.publishEvent(new PostChangedEvent(ChangeType.UPDATED, data.id(), data, now));
+        return data;
     }
 
     @Override
     @Transactional
-    @CacheEvict(cacheNames = "posts", key = "#id")
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "posts", key = "#id"),
+            @CacheEvict(cacheNames = "post-responses", key = "#id")
+    })
     public void deletePost(String id) {
-        if (!postRepository.existsById(id)) {
+        // every post has a category, so an existing post yields at least one row
+        List<PostUsageKey> usageKeys = postRepository.findUsageKeys(id);
+        if (usageKeys.isEmpty()) {
             throw new ResourceNotFoundException("Post", id);
         }
-        postRepository.deleteById(id);
+        postRepository.deleteByIds(List.of(id));
+        usageCounters.apply(new UsageDelta().removed(usageKeys.get(0).categoryId(),
+                usageKeys.stream().map(PostUsageKey::tagId).toList()));
+        Instant now = Instant.now();
+        tombstoneRepository.save(new PostTombstoneEntity(id, now));
+        eventPublisher.publishEvent(new PostChangedEvent(ChangeType.DELETED, id, null, now));
     }
 
     @Override
@@ -96,45 +125,61 @@ class BlogPostService implements PostService {
     @Cacheable(cacheNames = "posts", key = "#id")
     public Optional<PostData> getPostById(String id) {
         return postRepository.findById(id)
-                .map(this::toData);
+                .map(PostDataMapper::toData);
+    }
+
+    /**
+     * Fetch several posts with one cache multi-get and one query for the misses.
+     * Deliberately not transactional: the cache round-trip should not hold a DB connection,
+     * and the fetch-join query leaves nothing to load lazily. Cached posts with renamed
+     * categories or tags count as misses.
+     */
+    @Override
+    public List<PostData> getPostsByIds(List<String> ids) {
+        Map<String, PostData> found = new HashMap<>(postBatchCache.getAll(ids));
+        found.values().removeIf(post -> !generationStamps.isCurrent(post));
+        List<String> misses = ids.stream()
+                .filter(id -> !found.containsKey(id))
+                .distinct()
+                .toList();
+        if (!misses.isEmpty()) {
+            Map<String, PostData> loaded = postRepository.findAllWithDetailsByIdIn(misses).stream()
+                    .map(PostDataMapper::toData)
+                    .collect(Collectors.toMap(PostData::id, Function.identity()));
+            postBatchCache.putAll(loaded);
+            found.putAll(loaded);
+        }
+        return ids.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PostData> getAllPosts() {
         return postRepository.findAll().stream()
-                .map(this::toData)
+                .map(PostDataMapper::toData)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Posts in the category and/or with the tag, newest first; a null criterion matches everything.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostData> filterPosts(String categoryId, String tagId) {
+        return postRepository.findFiltered(categoryId, tagId).stream()
+                .map(PostDataMapper::toData)
+                .toList();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<PostData> searchPosts(String term) {
         String pattern = "%" + term.toLowerCase() + "%";
         return postRepository.searchByTerm(pattern).stream()
-                .map(this::toData)
-                .collect(Collectors.toList());
-    }
-    /**
-     * Map JPA entity to service-layer data transfer object.
-     */
-    PostData toData(PostEntity entity) {
-        CategoryEntity cat = entity.getCategory();
-        CategoryData categoryData = new CategoryData(
-                cat.getId(),
-                cat.getName()
-        );
-        List<TagData> tags = entity.getTags().stream()
-                .map(tag -> new TagData(tag.getId(), tag.getName()))
+                .map(PostDataMapper::toData)
                 .collect(Collectors.toList());
-        return new PostData(
-                entity.getId(),
-                entity.getTitle(),
-                entity.getContent(),
-                categoryData,
-                tags,
-                entity.getCreatedAt(),
-                entity.getUpdatedAt()
-        );
     }
 }
@@ -0,0 +1,65 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import io.github.bluething.playground.java.bloggingplatformapi.exception.BadRequestException;
+import io.github.bluething.playground.java.bloggingplatformapi.exception.ConflictException;
+import io.github.bluething.playground.java.bloggingplatformapi.exception.ResourceNotFoundException;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.CategoryEntity;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.CategoryRepository;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.TagEntity;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.TagRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Renames bump the entity's generation instead of evicting the posts that embed its name,
+ * see {@link GenerationStamps}. The row is read with a write lock, so two concurrent renames cannot both
+ * publish the same generation.
+ */
+@Service
+@RequiredArgsConstructor
+class BlogTaxonomyService implements TaxonomyService {
+    private static final int MAX_TAG_NAME_LENGTH = 50;
+
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public CategoryData renameCategory(String id, String name) {
+        CategoryEntity category = categoryRepository.findForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", id));
+        if (category.getName().equals(name)) {
+            return new CategoryData(category.getId(), category.getName(), category.getGeneration());
+        }
+        if (categoryRepository.existsByNameIgnoreCaseAndIdNot(name, id)) {
+            throw new ConflictException("Category name already in use: " + name);
+        }
+        category.rename(name);
+        eventPublisher.publishEvent(new TaxonomyRenamedEvent(
+                TaxonomyRenamedEvent.Kind.CATEGORY, id, name, category.getGeneration()));
+        return new CategoryData(category.getId(), category.getName(), category.getGeneration());
+    }
+
+    @Override
+    @Transactional
+    public TagData renameTag(String id, String name) {
+        if (name.length() > MAX_TAG_NAME_LENGTH) {
+            throw new BadRequestException("Tag name must be at most " + MAX_TAG_NAME_LENGTH + " characters");
+        }
+        TagEntity tag = tagRepository.findForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Tag", id));
+        if (tag.getName().equals(name)) {
+            return new TagData(tag.getId(), tag.getName(), tag.getGeneration());
+        }
+        if (tagRepository.existsByNameIgnoreCaseAndIdNot(name, id)) {
+            throw new ConflictException("Tag name already in use: " + name);
+        }
+        tag.rename(name);
+        eventPublisher.publishEvent(new TaxonomyRenamedEvent(
+                TaxonomyRenamedEvent.Kind.TAG, id, name, tag.getGeneration()));
+        return new TagData(tag.getId(), tag.getName(), tag.getGeneration());
+    }
+}
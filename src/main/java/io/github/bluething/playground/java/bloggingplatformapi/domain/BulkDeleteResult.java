@@ -0,0 +1,9 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+/**
+ * @param deleted number of posts deleted by this call
+ * @param hasMore whether the per-request cap stopped the delete before every matching post was removed
+ */
+public record BulkDeleteResult(long deleted,
+                               boolean hasMore) {
+}
@@ -1,5 +1,12 @@
 package io.github.bluething.playground.java.bloggingplatformapi.domain;
 
+/**
+ * {@code generation} is the rename counter the name was read at, see {@link GenerationStamps}.
+ */
 public record CategoryData(String id,
-    String name) {
+    String name,
+    long generation) {
+    public CategoryData(String id, String name) {
+        this(id, name, 0);
+    }
 }
@@ -0,0 +1,30 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import io.github.bluething.playground.java.bloggingplatformapi.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position in the change feed, ordered by change time then post ID, encoded as an opaque string.
+ */
+record ChangeCursor(Instant at,
+                    String id) {
+    static final ChangeCursor START = new ChangeCursor(Instant.EPOCH, "");
+
+    String encode() {
+        String raw = at.getEpochSecond() + ":" + at.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ChangeCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            return new ChangeCursor(Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])), parts[2]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid change cursor");
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,88 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.CategoryRepository;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.GenerationRow;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.TagRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Current rename generation of every category and tag. Cached {@link PostData} carries the generations its
+ * names were read at, so a rename makes every cached post that embeds the old name stale by bumping one
+ * counter, with no eviction sweep. Only renamed entries are held (absent means 0); local renames apply
+ * after commit and other nodes' renames arrive with the periodic refresh. Both keep the higher generation
+ * per entry, so a refresh that read the tables before a local rename committed cannot undo it.
+ */
+@Service
+public class GenerationStamps {
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+
+    private final Map<String, Long> categories = new ConcurrentHashMap<>();
+    private final Map<String, Long> tags = new ConcurrentHashMap<>();
+    // Sum of all generations; grows with every rename anywhere
+    private volatile long epoch;
+
+    GenerationStamps(CategoryRepository categoryRepository, TagRepository tagRepository) {
+        this.categoryRepository = categoryRepository;
+        this.tagRepository = tagRepository;
+    }
+
+    /**
+     * Whether the names embedded in the post are still the current ones. Data read at a newer generation
+     * than this node knows of (a rename not refreshed here yet) counts as current.
+     */
+    public boolean isCurrent(PostData post) {
+        if (post.category() != null && post.category().generation() < categories.getOrDefault(post.category().id(), 0L)) {
+            return false;
+        }
+        for (TagData tag : post.tags()) {
+            if (tag.generation() < tags.getOrDefault(tag.id(), 0L)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A single counter for caches that cannot afford a per-entry check: anything stored at a lower epoch
+     * predates some rename.
+     */
+    public long epoch() {
+        return epoch;
+    }
+
+    @Scheduled(fixedDelayString = "${app.generations.refresh-interval:PT10S}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        merge(categories, categoryRepository.findGenerations());
+        merge(tags, tagRepository.findGenerations());
+        recomputeEpoch();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    void onRenamed(TaxonomyRenamedEvent event) {
+        Map<String, Long> target = event.kind() == TaxonomyRenamedEvent.Kind.CATEGORY ? categories : tags;
+        target.merge(event.id(), event.generation(), Math::max);
+        recomputeEpoch();
+    }
+
+    private synchronized void recomputeEpoch() {
+        epoch = sum(categories) + sum(tags);
+    }
+
+    private static long sum(Map<String, Long> generations) {
+        return generations.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static void merge(Map<String, Long> generations, List<GenerationRow> rows) {
+        rows.forEach(row -> generations.merge(row.id(), row.generation(), Math::max));
+    }
+}
@@ -0,0 +1,243 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.GroupCommitProperties;
+import io.github.bluething.playground.java.bloggingplatformapi.exception.ResourceNotFoundException;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Group-commit mode for post creation. Create commands are queued and a single writer thread commits
+ * them together, every maxBatchSize commands or maxDelay, in one transaction with one category and one
+ * tag lookup for the whole group and JDBC-batched inserts.
+ * <p>
+ * A command referencing an unknown category or tag fails on its own. If the group transaction itself
+ * fails, its commands are retried one per transaction so only the offending command fails.
+ * <p>
+ * Callers are released as soon as the group commits, ahead of the after-commit event listeners, which
+ * still run on the writer thread and so must stay cheap. Commands still queued when the writer stops
+ * fail rather than being left waiting.
+ */
+@Component
+@ConditionalOnProperty(name = "app.posts.group-commit.enabled", havingValue = "true")
+@Slf4j
+public class GroupCommitPostWriter {
+    private record Pending(CreatePostCommand command, CompletableFuture<PostData> result) {
+    }
+
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final EntityManager entityManager;
+    private final UsageCounters usageCounters;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<Pending> queue;
+    private final Thread writer;
+    // submit holds the read lock while queueing, so nothing is queued once stop has cleared running
+    private final ReadWriteLock shutdownLock = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    GroupCommitPostWriter(CategoryRepository categoryRepository,
+                          TagRepository tagRepository,
+                          EntityManager entityManager,
+                          UsageCounters usageCounters,
+                          ApplicationEventPublisher eventPublisher,
+                          PlatformTransactionManager transactionManager,
+                          GroupCommitProperties properties) {
+        this.categoryRepository = categoryRepository;
+        this.tagRepository = tagRepository;
+        this.entityManager = entityManager;
+        this.usageCounters = usageCounters;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxBatchSize = properties.getMaxBatchSize();
+        this.maxDelayNanos = properties.getMaxDelay().toNanos();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.writer = Thread.ofPlatform().name("post-group-commit").daemon().unstarted(this::drain);
+    }
+
+    @PostConstruct
+    void start() {
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        shutdownLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            shutdownLock.writeLock().unlock();
+        }
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Queue a create; the future completes once the group containing it has committed.
+     * Blocks while the queue is full.
+     */
+    public CompletableFuture<PostData> submit(CreatePostCommand command) {
+        Pending pending = new Pending(command, new CompletableFuture<>());
+        shutdownLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Group commit writer is shut down");
+            }
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing post", e);
+        } finally {
+            shutdownLock.readLock().unlock();
+        }
+        return pending.result();
+    }
+
+    /**
+     * Blocking variant of {@link #submit} that rethrows the command's own failure.
+     */
+    public PostData create(CreatePostCommand command) {
+        try {
+            return submit(command).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void drain() {
+        try {
+            drainQueue();
+        } finally {
+            List<Pending> leftover = new ArrayList<>();
+            queue.drainTo(leftover);
+            leftover.forEach(pending -> pending.result().completeExceptionally(
+                    new IllegalStateException("Group commit writer is shut down")));
+        }
+    }
+
+    private void drainQueue() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Pending> group = new ArrayList<>(maxBatchSize);
+                group.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (group.size() < maxBatchSize) {
+                    Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Group commit writer failed", e);
+            }
+        }
+    }
+
+    private void commit(List<Pending> group) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(group));
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                group.get(0).result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Group commit of {} posts failed, retrying individually", group.size(), e);
+            group.stream()
+                    .filter(pending -> !pending.result().isDone())
+                    .forEach(pending -> commit(List.of(pending)));
+        }
+    }
+
+    private void write(List<Pending> group) {
+        Map<String, CategoryEntity> categories = categoryRepository.findAllById(group.stream()
+                        .map(pending -> pending.command().categoryId())
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(CategoryEntity::getId, Function.identity()));
+        Map<String, TagEntity> tags = tagRepository.findAllById(group.stream()
+                        .flatMap(pending -> pending.command().tagIds().stream())
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(TagEntity::getId, Function.identity()));
+
+        Instant now = Instant.now();
+        Map<Pending, PostData> written = new LinkedHashMap<>();
+        UsageDelta usage = new UsageDelta();
+        for (Pending pending : group) {
+            CreatePostCommand command = pending.command();
+            CategoryEntity category = categories.get(command.categoryId());
+            if (category == null) {
+                pending.result().completeExceptionally(new ResourceNotFoundException("Category", command.categoryId()));
+                continue;
+            }
+            // like createPost, a repeated tag ID is rejected rather than silently collapsed
+            if (new HashSet<>(command.tagIds()).size() != command.tagIds().size()
+                    || !tags.keySet().containsAll(command.tagIds())) {
+                pending.result().completeExceptionally(new ResourceNotFoundException("Tag", String.join(",", command.tagIds())));
+                continue;
+            }
+            PostEntity entity = new PostEntity(
+                    UlidCreator.getUlid().toString(),
+                    command.title(),
+                    command.content(),
+                    category,
+                    command.tagIds().stream().map(tags::get).collect(Collectors.toSet()),
+                    now,
+                    now);
+            // persist rather than save: the id is assigned, and save would merge with a select per post
+            entityManager.persist(entity);
+            usage.added(category.getId(), command.tagIds());
+            PostData data = PostDataMapper.toData(entity);
+            eventPublisher.publishEvent(new PostChangedEvent(ChangeType.CREATED, data.id(), data, now));
+            written.put(pending, data);
+        }
+        usageCounters.apply(usage);
+        entityManager.flush();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                written.forEach((pending, data) -> pending.result().complete(data));
+            }
+        });
+    }
+}
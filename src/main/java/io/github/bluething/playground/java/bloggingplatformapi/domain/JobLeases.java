@@ -0,0 +1,40 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.JobLeaseRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Time-bounded leases on the job_leases rows, so scheduled jobs that must not overlap across nodes run on
+ * one node at a time. A node that dies keeps its lease until it expires, after which another node takes
+ * over. A holder that outlives its lease without renewing may overlap with the next holder, so leases
+ * should comfortably exceed a run, and long runs should renew between steps.
+ */
+@Component
+public class JobLeases {
+    public static final String OUTBOX_RELAY = "outbox-relay";
+    public static final String USAGE_RECONCILE = "usage-reconcile";
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final String owner = UlidCreator.getUlid().toString();
+
+    JobLeases(JobLeaseRepository jobLeaseRepository) {
+        this.jobLeaseRepository = jobLeaseRepository;
+    }
+
+    /**
+     * Take or renew the lease for the given duration.
+     * @return whether this node holds the lease
+     */
+    public boolean tryAcquire(String job, Duration lease) {
+        Instant now = Instant.now();
+        return jobLeaseRepository.acquire(job, owner, now, now.plus(lease)) == 1;
+    }
+
+    public void release(String job) {
+        jobLeaseRepository.release(job, owner);
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Multi-key access to the "posts" cache, used where @Cacheable would cost one round-trip per ID.
+ */
+public interface PostBatchCache {
+    /**
+     * @return the cached posts keyed by ID; misses are absent from the map
+     */
+    Map<String, PostData> getAll(Collection<String> ids);
+
+    void putAll(Map<String, PostData> posts);
+
+    /**
+     * Evict the posts and their "post-responses" entries, e.g. after a bulk delete. Evicts immediately,
+     * so call it once the deleting transaction has committed.
+     */
+    void evictAll(Collection<String> ids);
+}
@@ -0,0 +1,21 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import java.util.Collection;
+
+/**
+ * Deletes many posts at once, in throttled chunks of one transaction and one DELETE statement each.
+ * Usage counters, tombstones and change events are kept as for single deletes. Deletes by category or tag stop
+ * after app.posts.bulk-delete.max-rows-per-request posts, so one call holds its request thread for a bounded time;
+ * callers repeat it while {@link BulkDeleteResult#hasMore()} is set.
+ */
+public interface PostBulkDeleteService {
+    BulkDeleteResult deleteByCategory(String categoryId);
+
+    BulkDeleteResult deleteByTag(String tagId);
+
+    /**
+     * @param ids post IDs; unknown IDs are ignored
+     * @return number of posts deleted
+     */
+    long deleteByIds(Collection<String> ids);
+}
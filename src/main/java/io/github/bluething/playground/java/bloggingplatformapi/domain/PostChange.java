@@ -0,0 +1,12 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import java.time.Instant;
+
+/**
+ * One entry of the change feed; {@code post} is null for deletions.
+ */
+public record PostChange(ChangeType type,
+                         String postId,
+                         PostData post,
+                         Instant changedAt) {
+}
@@ -0,0 +1,8 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import java.util.List;
+
+public record PostChangePage(List<PostChange> changes,
+                             String nextCursor,
+                             boolean hasMore) {
+}
@@ -0,0 +1,10 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+public interface PostChangeService {
+    /**
+     * Changes after the given cursor, oldest first.
+     * @param cursor opaque cursor from a previous page, or null to start from the beginning
+     * @param limit maximum number of changes to return
+     */
+    PostChangePage getChangesSince(String cursor, int limit);
+}
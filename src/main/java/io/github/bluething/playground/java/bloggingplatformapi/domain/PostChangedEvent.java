@@ -0,0 +1,12 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import java.time.Instant;
+
+/**
+ * Published by BlogPostService inside the write transaction; {@code post} is null for deletions.
+ */
+public record PostChangedEvent(ChangeType type,
+                               String postId,
+                               PostData post,
+                               Instant occurredAt) {
+}
@@ -0,0 +1,54 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders new and edited posts right after their write commits, so the first format=html read is already a hit.
+ * <p>
+ * Rendering runs on its own thread so neither the request nor the group-commit writer waits for it. It is
+ * only a warm-up: when the queue is full the oldest pending render is dropped and that post renders on first read.
+ */
+@Component
+@Slf4j
+class PostContentPrerenderer {
+    private static final int QUEUE_CAPACITY = 1000;
+
+    private final PostContentRenderer renderer;
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+            Thread.ofPlatform().name("post-prerender").daemon().factory(),
+            new ThreadPoolExecutor.DiscardOldestPolicy());
+
+    PostContentPrerenderer(PostContentRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    void onPostChanged(PostChangedEvent event) {
+        if (event.post() != null) {
+            PostData post = event.post();
+            executor.execute(() -> prerender(post));
+        }
+    }
+
+    private void prerender(PostData post) {
+        try {
+            renderer.toHtml(post.content());
+        } catch (RuntimeException e) {
+            log.warn("Prerendering post {} failed, it will render on first read", post.id(), e);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+}
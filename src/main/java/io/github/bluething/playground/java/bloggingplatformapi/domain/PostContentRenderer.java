@@ -0,0 +1,71 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import org.commonmark.node.Node;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Renders post Markdown to HTML at most once per distinct content. Output is kept in the "post-html" cache
+ * under the SHA-256 of the Markdown, so edits get a new entry and identical content is shared between posts.
+ * Raw HTML in the source is escaped and unsafe link schemes are dropped.
+ */
+@Component
+public class PostContentRenderer {
+    private final Parser parser = Parser.builder().build();
+    private final HtmlRenderer renderer = HtmlRenderer.builder()
+            .escapeHtml(true)
+            .sanitizeUrls(true)
+            .build();
+    private final Cache cache;
+
+    public PostContentRenderer(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache("post-html");
+    }
+
+    /**
+     * Cached HTML for the content, rendering it on the first request.
+     */
+    public String toHtml(String markdown) {
+        if (cache == null) {
+            return render(markdown);
+        }
+        String key = contentHash(markdown);
+        String html = cache.get(key, String.class);
+        if (html == null) {
+            html = render(markdown);
+            cache.put(key, html);
+        }
+        return html;
+    }
+
+    public String render(String markdown) {
+        try {
+            Node document = parser.parseReader(new StringReader(markdown));
+            StringBuilder html = new StringBuilder(markdown.length() + markdown.length() / 4);
+            renderer.render(document, html);
+            return html.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String contentHash(String markdown) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(markdown.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
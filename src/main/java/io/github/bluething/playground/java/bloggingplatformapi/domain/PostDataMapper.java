@@ -0,0 +1,34 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.CategoryEntity;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostEntity;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+class PostDataMapper {
+
+    /**
+     * Map JPA entity to service-layer data transfer object.
+     */
+    static PostData toData(PostEntity entity) {
+        CategoryEntity cat = entity.getCategory();
+        CategoryData categoryData = new CategoryData(
+                cat.getId(),
+                cat.getName(),
+                cat.getGeneration()
+        );
+        List<TagData> tags = entity.getTags().stream()
+                .map(tag -> new TagData(tag.getId(), tag.getName(), tag.getGeneration()))
+                .collect(Collectors.toList());
+        return new PostData(
+                entity.getId(),
+                entity.getTitle(),
+                entity.getContent(),
+                categoryData,
+                tags,
+                entity.getCreatedAt(),
+                entity.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import java.util.function.Consumer;
+
+public interface PostExportService {
+    /**
+     * Hand every post to the sink in ID order without holding more than one batch in memory.
+     * @param sink receives each post; exceptions it throws abort the export
+     */
+    void exportAll(Consumer<PostData> sink);
+}
@@ -8,6 +8,8 @@ public interface PostService {
     PostData updatePost(String id, UpdatePostCommand command);
     void deletePost(String id);
     Optional<PostData> getPostById(String id);
+    List<PostData> getPostsByIds(List<String> ids);
     List<PostData> getAllPosts();
+    List<PostData> filterPosts(String categoryId, String tagId);
     List<PostData> searchPosts(String term);
 }
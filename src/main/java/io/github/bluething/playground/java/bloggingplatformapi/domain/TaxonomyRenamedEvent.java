@@ -0,0 +1,13 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+/**
+ * Published by BlogTaxonomyService inside the rename transaction.
+ */
+public record TaxonomyRenamedEvent(Kind kind,
+                                   String id,
+                                   String name,
+                                   long generation) {
+    public enum Kind {
+        CATEGORY, TAG
+    }
+}
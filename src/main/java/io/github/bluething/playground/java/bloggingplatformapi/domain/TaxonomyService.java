@@ -0,0 +1,6 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+public interface TaxonomyService {
+    CategoryData renameCategory(String id, String name);
+    TagData renameTag(String id, String name);
+}
@@ -0,0 +1,6 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+public record UsageCount(String id,
+                         String name,
+                         long postCount) {
+}
@@ -0,0 +1,147 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.CategoryUsageEntity;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.CategoryUsageRepository;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.TagUsageEntity;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.TagUsageRepository;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.UsageCountRow;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.UsageDriftRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Materialized post counts per tag and category. Writes add their deltas to the counter rows inside their own
+ * transaction, so counts commit or roll back with the post. Reads are served from an in-memory snapshot that
+ * applies local deltas after commit and reloads periodically for other nodes' writes. A reconciliation job
+ * recounts from posts/post_tags and repairs drift, e.g. after writes that bypassed the counters.
+ */
+@Service
+@Slf4j
+public class UsageCounters {
+    private static final Comparator<UsageCount> MOST_USED = Comparator.comparingLong(UsageCount::postCount).reversed()
+            .thenComparing(UsageCount::name);
+
+    private final TagUsageRepository tagUsageRepository;
+    private final CategoryUsageRepository categoryUsageRepository;
+
+    private volatile Map<String, UsageCount> tags = new ConcurrentHashMap<>();
+    private volatile Map<String, UsageCount> categories = new ConcurrentHashMap<>();
+
+    UsageCounters(TagUsageRepository tagUsageRepository,
+                  CategoryUsageRepository categoryUsageRepository) {
+        this.tagUsageRepository = tagUsageRepository;
+        this.categoryUsageRepository = categoryUsageRepository;
+    }
+
+    /**
+     * Add the delta to the counter rows as part of the caller's transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(UsageDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        write(delta.categories(), categoryUsageRepository::increment,
+                (id, count) -> categoryUsageRepository.save(new CategoryUsageEntity(id, count)));
+        write(delta.tags(), tagUsageRepository::increment,
+                (id, count) -> tagUsageRepository.save(new TagUsageEntity(id, count)));
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                adjust(categories, delta.categories());
+                adjust(tags, delta.tags());
+            }
+        });
+    }
+
+    public UsageSnapshot snapshot() {
+        return new UsageSnapshot(sorted(tags), sorted(categories));
+    }
+
+    @Scheduled(fixedDelayString = "${app.usage.refresh-interval:PT30S}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        tags = load(tagUsageRepository.findCounts());
+        categories = load(categoryUsageRepository.findCounts());
+    }
+
+    /**
+     * Each drift row compares counter and recount within one statement, and the difference is applied as a
+     * delta, so writes committing while this runs are not overwritten. Scheduled through {@link UsageReconciler},
+     * which keeps it to one node at a time.
+     */
+    @Transactional
+    public void reconcile() {
+        UsageDelta repair = new UsageDelta();
+        int missingTags = repairs(tagUsageRepository.findDrift(), repair::tag,
+                (id, count) -> tagUsageRepository.save(new TagUsageEntity(id, count)));
+        int missingCategories = repairs(categoryUsageRepository.findDrift(), repair::category,
+                (id, count) -> categoryUsageRepository.save(new CategoryUsageEntity(id, count)));
+        if (!repair.isEmpty() || missingTags + missingCategories > 0) {
+            log.warn("Repaired usage counters: {} tags and {} categories drifted, {} counter rows were missing",
+                    repair.tags().size(), repair.categories().size(), missingTags + missingCategories);
+            apply(repair);
+        }
+    }
+
+    private interface Increment {
+        int increment(String id, long delta);
+    }
+
+    private interface Create {
+        void create(String id, long count);
+    }
+
+    private interface Drift {
+        UsageDelta add(String id, long delta);
+    }
+
+    private static void write(Map<String, Long> deltas, Increment increment, Create create) {
+        deltas.forEach((id, delta) -> {
+            if (increment.increment(id, delta) == 0) {
+                // no counter row yet (created outside the API); reconcile fixes the count if posts predate it
+                create.create(id, Math.max(delta, 0));
+            }
+        });
+    }
+
+    private static int repairs(List<UsageDriftRow> rows, Drift drift, Create create) {
+        int missing = 0;
+        for (UsageDriftRow row : rows) {
+            if (row.recorded() == null) {
+                create.create(row.id(), row.actual());
+                missing++;
+            } else if (!row.recorded().equals(row.actual())) {
+                drift.add(row.id(), row.actual() - row.recorded());
+            }
+        }
+        return missing;
+    }
+
+    private static void adjust(Map<String, UsageCount> counts, Map<String, Long> deltas) {
+        deltas.forEach((id, delta) -> counts.computeIfPresent(id,
+                (key, count) -> new UsageCount(count.id(), count.name(), count.postCount() + delta)));
+    }
+
+    private static Map<String, UsageCount> load(List<UsageCountRow> rows) {
+        return rows.stream()
+                .map(row -> new UsageCount(row.id(), row.name(), row.postCount()))
+                .collect(Collectors.toMap(UsageCount::id, count -> count, (a, b) -> a, ConcurrentHashMap::new));
+    }
+
+    private static List<UsageCount> sorted(Map<String, UsageCount> counts) {
+        return counts.values().stream().sorted(MOST_USED).toList();
+    }
+}
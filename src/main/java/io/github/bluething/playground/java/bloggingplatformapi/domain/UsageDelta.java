@@ -0,0 +1,58 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Net change of post counts per tag and category caused by one or more post writes. IDs are kept sorted so
+ * concurrent transactions lock counter rows in the same order.
+ */
+public class UsageDelta {
+    private final Map<String, Long> tags = new TreeMap<>();
+    private final Map<String, Long> categories = new TreeMap<>();
+
+    public UsageDelta added(String categoryId, Collection<String> tagIds) {
+        return apply(categoryId, tagIds, 1);
+    }
+
+    public UsageDelta removed(String categoryId, Collection<String> tagIds) {
+        return apply(categoryId, tagIds, -1);
+    }
+
+    public UsageDelta tag(String tagId, long delta) {
+        add(tags, tagId, delta);
+        return this;
+    }
+
+    public UsageDelta category(String categoryId, long delta) {
+        add(categories, categoryId, delta);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return tags.isEmpty() && categories.isEmpty();
+    }
+
+    Map<String, Long> tags() {
+        return tags;
+    }
+
+    Map<String, Long> categories() {
+        return categories;
+    }
+
+    private UsageDelta apply(String categoryId, Collection<String> tagIds, long sign) {
+        if (categoryId != null) {
+            category(categoryId, sign);
+        }
+        tagIds.stream().filter(Objects::nonNull).forEach(tagId -> tag(tagId, sign));
+        return this;
+    }
+
+    private static void add(Map<String, Long> counts, String id, long delta) {
+        // an unchanged tag on an update cancels out and leaves its row untouched
+        counts.merge(id, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Runs {@link UsageCounters#reconcile()} on one node at a time. Two nodes repairing the same drift would both
+ * apply the difference, and both would try to insert a missing counter row. The lease is taken outside the
+ * reconcile transaction, so a node that finds it held skips the run instead of waiting on a row lock.
+ */
+@Component
+@Slf4j
+class UsageReconciler {
+    private final UsageCounters usageCounters;
+    private final JobLeases jobLeases;
+    private final Duration lease;
+
+    UsageReconciler(UsageCounters usageCounters,
+                    JobLeases jobLeases,
+                    @Value("${app.usage.reconcile-lease:PT10M}") Duration lease) {
+        this.usageCounters = usageCounters;
+        this.jobLeases = jobLeases;
+        this.lease = lease;
+    }
+
+    @Scheduled(initialDelayString = "${app.usage.reconcile-interval:PT1H}", fixedDelayString = "${app.usage.reconcile-interval:PT1H}")
+    void reconcile() {
+        if (!jobLeases.tryAcquire(JobLeases.USAGE_RECONCILE, lease)) {
+            log.debug("Usage reconciliation is running on another node");
+            return;
+        }
+        try {
+            usageCounters.reconcile();
+        } finally {
+            jobLeases.release(JobLeases.USAGE_RECONCILE);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import java.util.List;
+
+/**
+ * Post counts per tag and per category, most used first.
+ */
+public record UsageSnapshot(List<UsageCount> tags,
+                            List<UsageCount> categories) {
+}
@@ -1,7 +1,7 @@
 package io.github.bluething.playground.java.bloggingplatformapi.exception;
 
 public class BadRequestException extends ApplicationException {
-    protected BadRequestException(String message) {
+    public BadRequestException(String message) {
         super(ErrorCode.BAD_REQUEST, message);
     }
 }
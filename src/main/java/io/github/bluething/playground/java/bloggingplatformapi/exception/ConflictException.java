@@ -0,0 +1,7 @@
+package io.github.bluething.playground.java.bloggingplatformapi.exception;
+
+public class ConflictException extends ApplicationException {
+    public ConflictException(String message) {
+        super(ErrorCode.CONFLICT, message);
+    }
+}
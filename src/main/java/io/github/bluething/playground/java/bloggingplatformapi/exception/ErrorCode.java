@@ -6,7 +6,9 @@ import lombok.Getter;
 public enum ErrorCode {
     BAD_REQUEST(400, "Bad Request"),
     NOT_FOUND(404, "Not Found"),
-    INTERNAL_ERROR(500, "Internal Server Error");
+    CONFLICT(409, "Conflict"),
+    INTERNAL_ERROR(500, "Internal Server Error"),
+    SERVICE_UNAVAILABLE(503, "Service Unavailable");
 
     private final int status;
     private final String reason;
@@ -3,6 +3,7 @@ package io.github.bluething.playground.java.bloggingplatformapi.exception;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -22,7 +23,11 @@ final class GlobalExceptionHandler {
                 .path(request.getRequestURI())
                 .build();
 
-        return ResponseEntity.status(ex.getErrorCode().getStatus()).body(error);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(ex.getErrorCode().getStatus());
+        if (ex instanceof ServiceUnavailableException unavailable) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, unavailable.getRetryAfter().toSeconds())));
+        }
+        return response.body(error);
     }
     @ExceptionHandler({MethodArgumentNotValidException.class,
     BindException.class})
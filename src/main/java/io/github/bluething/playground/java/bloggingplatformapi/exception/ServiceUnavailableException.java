@@ -0,0 +1,16 @@
+package io.github.bluething.playground.java.bloggingplatformapi.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class ServiceUnavailableException extends ApplicationException {
+    // Sent as Retry-After
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(ErrorCode.SERVICE_UNAVAILABLE, message);
+        this.retryAfter = retryAfter;
+    }
+}
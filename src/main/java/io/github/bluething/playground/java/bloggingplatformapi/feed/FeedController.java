@@ -0,0 +1,80 @@
+package io.github.bluething.playground.java.bloggingplatformapi.feed;
+
+import io.github.bluething.playground.java.bloggingplatformapi.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Atom feed and sitemaps for feed readers and crawlers. Responses carry Last-Modified, so conditional
+ * requests with an unchanged If-Modified-Since get 304 without a body.
+ */
+@RestController
+@RequiredArgsConstructor
+class FeedController {
+    static final MediaType ATOM_XML = MediaType.parseMediaType("application/atom+xml");
+    private static final Pattern SITEMAP_NAME = Pattern.compile("(\\d{4}-\\d{2})(?:-(\\d{1,6}))?");
+    private static final String SITEMAP_NAME_FORMAT = "Sitemap name must be formatted as yyyy-MM or yyyy-MM-page";
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic();
+
+    private final FeedService feedService;
+
+    @GetMapping("/feed.atom")
+    ResponseEntity<byte[]> atom() {
+        return document(feedService.atom(), ATOM_XML);
+    }
+
+    @GetMapping("/sitemap.xml")
+    ResponseEntity<byte[]> sitemapIndex() {
+        return document(feedService.sitemapIndex(), MediaType.APPLICATION_XML);
+    }
+
+    /**
+     * One page of a month's sitemap: /sitemaps/2024-03.xml is the first page, /sitemaps/2024-03-2.xml the second.
+     * The body is written while the rows are read; Last-Modified is checked before any of them are.
+     */
+    @GetMapping("/sitemaps/{name}.xml")
+    ResponseEntity<StreamingResponseBody> sitemap(@PathVariable("name") String name, WebRequest request) {
+        Matcher matcher = SITEMAP_NAME.matcher(name);
+        if (!matcher.matches()) {
+            throw new BadRequestException(SITEMAP_NAME_FORMAT);
+        }
+        YearMonth month;
+        try {
+            month = YearMonth.parse(matcher.group(1));
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException(SITEMAP_NAME_FORMAT);
+        }
+        int page = matcher.group(2) == null ? 1 : Integer.parseInt(matcher.group(2));
+        Instant lastModified = feedService.sitemapLastModified(month, page);
+        if (request.checkNotModified(lastModified.toEpochMilli())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_XML)
+                .lastModified(lastModified)
+                .cacheControl(CACHE_CONTROL)
+                .body(out -> feedService.writeSitemap(month, page, out));
+    }
+
+    private static ResponseEntity<byte[]> document(FeedDocument document, MediaType mediaType) {
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .lastModified(document.lastModified())
+                .cacheControl(CACHE_CONTROL)
+                .body(document.body());
+    }
+}
@@ -0,0 +1,9 @@
+package io.github.bluething.playground.java.bloggingplatformapi.feed;
+
+import java.time.Instant;
+
+/**
+ * A generated XML document and the latest modification of the posts it covers (its Last-Modified).
+ */
+record FeedDocument(byte[] body, Instant lastModified) {
+}
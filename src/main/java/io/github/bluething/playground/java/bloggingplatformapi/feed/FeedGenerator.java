@@ -0,0 +1,205 @@
+package io.github.bluething.playground.java.bloggingplatformapi.feed;
+
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.FeedProperties;
+import io.github.bluething.playground.java.bloggingplatformapi.exception.ResourceNotFoundException;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.FeedStateRepository;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostChangeKey;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostEntity;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostMonth;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Writes the Atom feed and sitemaps with a StAX writer while reading posts from a repository stream, so rows
+ * are never collected into a list. Sitemaps are split per creation month (UTC) and each month into pages of at
+ * most sitemapPageSize URLs (50,000 is the protocol limit); the index lists every page with its month's latest
+ * modification. Sitemap pages are streamed straight to the caller's output rather than built in memory.
+ * <p>
+ * A document's Last-Modified is its newest post update or the last recorded deletion or rename, whichever is
+ * later, since neither of those leaves a newer post timestamp behind.
+ */
+@Component
+@RequiredArgsConstructor
+class FeedGenerator {
+    private static final String ATOM_NS = "http://www.w3.org/2005/Atom";
+    private static final String SITEMAP_NS = "http://www.sitemaps.org/schemas/sitemap/0.9";
+    private static final XMLOutputFactory XML_OUTPUT = XMLOutputFactory.newFactory();
+
+    private final PostRepository postRepository;
+    private final FeedStateRepository feedStateRepository;
+    private final FeedProperties properties;
+
+    @Transactional(readOnly = true)
+    public FeedDocument atom() {
+        try (Stream<PostEntity> posts = postRepository.streamLatest(Limit.of(properties.getAtomEntries()))) {
+            Iterator<PostEntity> iterator = posts.iterator();
+            PostEntity first = iterator.hasNext() ? iterator.next() : null;
+            Instant updated = withFeedModified(first != null ? first.getUpdatedAt() : Instant.EPOCH);
+
+            return write(updated, xml -> {
+                xml.writeStartElement("feed");
+                xml.writeDefaultNamespace(ATOM_NS);
+                element(xml, "title", properties.getTitle());
+                element(xml, "id", properties.getSiteUrl() + "/");
+                xml.writeEmptyElement("link");
+                xml.writeAttribute("rel", "self");
+                xml.writeAttribute("href", properties.getSiteUrl() + "/feed.atom");
+                element(xml, "updated", updated.toString());
+                for (PostEntity post = first; post != null; post = iterator.hasNext() ? iterator.next() : null) {
+                    writeEntry(xml, post);
+                }
+                xml.writeEndElement();
+            });
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public FeedDocument sitemapIndex() {
+        List<PostMonth> months = postRepository.findPostMonths();
+        Instant updated = withFeedModified(months.stream().map(PostMonth::lastModified).max(Instant::compareTo).orElse(Instant.EPOCH));
+        return write(updated, xml -> {
+            xml.writeStartElement("sitemapindex");
+            xml.writeDefaultNamespace(SITEMAP_NS);
+            for (PostMonth month : months) {
+                YearMonth yearMonth = YearMonth.of(month.year(), month.month());
+                for (int page = 1; page <= pages(month.postCount()); page++) {
+                    xml.writeStartElement("sitemap");
+                    element(xml, "loc", properties.getSiteUrl() + "/sitemaps/" + sitemapName(yearMonth, page) + ".xml");
+                    element(xml, "lastmod", month.lastModified().toString());
+                    xml.writeEndElement();
+                }
+            }
+            xml.writeEndElement();
+        });
+    }
+
+    /**
+     * Last-Modified of a sitemap page: the latest modification in its month, so every page of a month shares it.
+     *
+     * @throws ResourceNotFoundException when the month has fewer pages; an empty month has one empty page
+     */
+    @Transactional(readOnly = true)
+    public Instant sitemapLastModified(YearMonth month, int page) {
+        Optional<PostMonth> posts = postRepository.findPostMonth(start(month), start(month.plusMonths(1)));
+        if (page < 1 || page > pages(posts.map(PostMonth::postCount).orElse(0L))) {
+            throw new ResourceNotFoundException("Sitemap", sitemapName(month, page));
+        }
+        return withFeedModified(posts.map(PostMonth::lastModified).orElse(Instant.EPOCH));
+    }
+
+    /**
+     * Stream one sitemap page to {@code out} while its rows are read, at most sitemapPageSize URLs.
+     */
+    @Transactional(readOnly = true)
+    public void writeSitemap(YearMonth month, int page, OutputStream out) {
+        PageRequest range = PageRequest.of(page - 1, properties.getSitemapPageSize());
+        try (Stream<PostChangeKey> posts =
+                     postRepository.streamCreatedBetween(start(month), start(month.plusMonths(1)), range)) {
+            write(out, xml -> {
+                xml.writeStartElement("urlset");
+                xml.writeDefaultNamespace(SITEMAP_NS);
+                Iterator<PostChangeKey> iterator = posts.iterator();
+                while (iterator.hasNext()) {
+                    PostChangeKey post = iterator.next();
+                    xml.writeStartElement("url");
+                    element(xml, "loc", postUrl(post.id()));
+                    element(xml, "lastmod", post.updatedAt().toString());
+                    xml.writeEndElement();
+                }
+                xml.writeEndElement();
+            });
+        }
+    }
+
+    /**
+     * "2024-03" for a month's first page, "2024-03-2" onwards for the others.
+     */
+    static String sitemapName(YearMonth month, int page) {
+        return page == 1 ? month.toString() : month + "-" + page;
+    }
+
+    private int pages(long postCount) {
+        return (int) Math.max(1, (postCount + properties.getSitemapPageSize() - 1) / properties.getSitemapPageSize());
+    }
+
+    private static Instant start(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private Instant withFeedModified(Instant updated) {
+        return feedStateRepository.findModifiedAt(FeedService.FEEDS)
+                .filter(modified -> modified.isAfter(updated))
+                .orElse(updated);
+    }
+
+    private void writeEntry(XMLStreamWriter xml, PostEntity post) throws XMLStreamException {
+        String url = postUrl(post.getId());
+        xml.writeStartElement("entry");
+        element(xml, "title", post.getTitle());
+        element(xml, "id", url);
+        xml.writeEmptyElement("link");
+        xml.writeAttribute("href", url);
+        element(xml, "published", post.getCreatedAt().toString());
+        element(xml, "updated", post.getUpdatedAt().toString());
+        xml.writeEmptyElement("category");
+        xml.writeAttribute("term", post.getCategory().getName());
+        element(xml, "summary", summary(post.getContent()));
+        xml.writeEndElement();
+    }
+
+    private String postUrl(String id) {
+        return properties.getSiteUrl() + properties.getPostPath().replace("{id}", id);
+    }
+
+    private String summary(String content) {
+        return content.length() <= properties.getSummaryLength()
+                ? content
+                : content.substring(0, properties.getSummaryLength()) + "…";
+    }
+
+    private interface XmlBody {
+        void write(XMLStreamWriter xml) throws XMLStreamException;
+    }
+
+    private static FeedDocument write(Instant lastModified, XmlBody body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        write(out, body);
+        return new FeedDocument(out.toByteArray(), lastModified);
+    }
+
+    private static void write(OutputStream out, XmlBody body) {
+        try {
+            XMLStreamWriter xml = XML_OUTPUT.createXMLStreamWriter(out, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            body.write(xml);
+            xml.writeEndDocument();
+            // flushes the writer's buffer, leaves out open
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Failed to write feed document", e);
+        }
+    }
+
+    private static void element(XMLStreamWriter xml, String name, String text) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(text);
+        xml.writeEndElement();
+    }
+}
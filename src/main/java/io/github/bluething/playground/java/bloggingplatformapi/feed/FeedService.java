@@ -0,0 +1,149 @@
+package io.github.bluething.playground.java.bloggingplatformapi.feed;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostChangedEvent;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.TaxonomyRenamedEvent;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.FeedStateRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.function.Supplier;
+
+/**
+ * Serves the Atom feed and the sitemap index from the "feeds" cache and regenerates them when posts change or
+ * a category or tag is renamed: those are the only two cached documents, so a change evicts exactly their keys
+ * and never sweeps the cache. Sitemap pages can hold 50,000 URLs each and are streamed from the database instead
+ * of being cached.
+ * <p>
+ * Deletions and renames also advance the feed modification time in the same transaction, which
+ * {@link FeedGenerator} folds into Last-Modified. Both happen once per transaction, so a bulk-delete chunk costs
+ * one feed_state update and two evictions rather than that many per post.
+ */
+@Service
+class FeedService {
+    static final String ATOM = "atom";
+    static final String SITEMAP_INDEX = "sitemap-index";
+    static final String FEEDS = "feeds";
+
+    private final FeedGenerator generator;
+    private final FeedStateRepository feedStateRepository;
+    private final Cache cache;
+
+    FeedService(FeedGenerator generator, FeedStateRepository feedStateRepository, CacheManager cacheManager) {
+        this.generator = generator;
+        this.feedStateRepository = feedStateRepository;
+        this.cache = cacheManager.getCache("feeds");
+    }
+
+    FeedDocument atom() {
+        return cached(ATOM, generator::atom);
+    }
+
+    FeedDocument sitemapIndex() {
+        return cached(SITEMAP_INDEX, generator::sitemapIndex);
+    }
+
+    Instant sitemapLastModified(YearMonth month, int page) {
+        return generator.sitemapLastModified(month, page);
+    }
+
+    void writeSitemap(YearMonth month, int page, OutputStream out) {
+        generator.writeSitemap(month, page, out);
+    }
+
+    @EventListener
+    void onPostChanged(PostChangedEvent event) {
+        record(event.post() == null ? event.occurredAt() : null);
+    }
+
+    @EventListener
+    void onRenamed(TaxonomyRenamedEvent event) {
+        record(Instant.now());
+    }
+
+    /**
+     * Adds the change to its transaction's {@link PendingChange}; outside a transaction it takes effect right away.
+     *
+     * @param modifiedAt time of a deletion or rename, null for a post created or updated
+     */
+    private void record(Instant modifiedAt) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (modifiedAt != null) {
+                feedStateRepository.advance(FEEDS, modifiedAt);
+            }
+            evict();
+            return;
+        }
+        PendingChange pending = (PendingChange) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChange();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        if (modifiedAt != null && (pending.modifiedAt == null || modifiedAt.isAfter(pending.modifiedAt))) {
+            pending.modifiedAt = modifiedAt;
+        }
+    }
+
+    private void evict() {
+        if (cache != null) {
+            cache.evict(ATOM);
+            cache.evict(SITEMAP_INDEX);
+        }
+    }
+
+    /**
+     * Feed changes of one transaction: one feed_state advance before commit, however many posts it deleted, and
+     * one eviction after. Bound as a resource keyed by this service and following the transaction through
+     * suspension, like the read model's pending changes.
+     */
+    private final class PendingChange implements TransactionSynchronization {
+        // latest deletion or rename, null when the transaction only created or updated posts
+        private Instant modifiedAt;
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(FeedService.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(FeedService.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (modifiedAt != null) {
+                feedStateRepository.advance(FEEDS, modifiedAt);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            evict();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(FeedService.this);
+        }
+    }
+
+    private FeedDocument cached(String key, Supplier<FeedDocument> generate) {
+        if (cache == null) {
+            return generate.get();
+        }
+        FeedDocument document = cache.get(key, FeedDocument.class);
+        if (document == null) {
+            document = generate.get();
+            cache.put(key, document);
+        }
+        return document;
+    }
+}
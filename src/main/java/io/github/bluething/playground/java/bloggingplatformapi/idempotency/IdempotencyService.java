@@ -0,0 +1,129 @@
+package io.github.bluething.playground.java.bloggingplatformapi.idempotency;
+
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.IdempotencyProperties;
+import io.github.bluething.playground.java.bloggingplatformapi.exception.BadRequestException;
+import io.github.bluething.playground.java.bloggingplatformapi.exception.ConflictException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per Idempotency-Key and replays the stored response for retries.
+ * <p>
+ * Duplicates arriving while the first request is still running wait for its result: on the same node
+ * through a shared future, across nodes by polling the store. A failed first request releases the key,
+ * and a waiting duplicate then executes itself.
+ */
+@Component
+public class IdempotencyService {
+    public static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    public record Result(IdempotentResponse response, boolean replayed) {
+    }
+
+    private final IdempotencyStore store;
+    private final Duration waitTimeout;
+    private final Map<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyStore store, IdempotencyProperties properties) {
+        this.store = store;
+        this.waitTimeout = properties.getWaitTimeout();
+    }
+
+    public Result execute(String key, String fingerprint, Supplier<IdempotentResponse> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            Optional<IdempotentResponse> stored = store.find(key);
+            if (stored.isPresent()) {
+                return replay(stored.get(), fingerprint);
+            }
+
+            CompletableFuture<IdempotentResponse> mine = new CompletableFuture<>();
+            CompletableFuture<IdempotentResponse> running = inFlight.putIfAbsent(key, mine);
+            if (running != null) {
+                Optional<IdempotentResponse> shared = await(key, running, deadline);
+                if (shared.isPresent()) {
+                    return replay(shared.get(), fingerprint);
+                }
+                continue;
+            }
+
+            try {
+                String token = store.reserve(key);
+                if (token != null) {
+                    return new Result(run(key, token, action, mine), false);
+                }
+            } finally {
+                inFlight.remove(key, mine);
+                // wake local waiters if another node holds the key; they re-check the store
+                mine.complete(null);
+            }
+            // reserved by another node: poll until it completes or releases the key
+            if (System.nanoTime() >= deadline) {
+                throw inProgress(key);
+            }
+            sleep(key);
+        }
+    }
+
+    private IdempotentResponse run(String key, String token, Supplier<IdempotentResponse> action,
+                                   CompletableFuture<IdempotentResponse> mine) {
+        IdempotentResponse response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            store.release(key, token);
+            mine.complete(null);
+            throw e;
+        }
+        // local waiters replay even if the store then cannot record the response
+        mine.complete(response);
+        store.complete(key, response);
+        return response;
+    }
+
+    private Optional<IdempotentResponse> await(String key, CompletableFuture<IdempotentResponse> running, long deadline) {
+        try {
+            return Optional.ofNullable(running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            throw inProgress(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress(key);
+        } catch (ExecutionException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Result replay(IdempotentResponse response, String fingerprint) {
+        if (!response.fingerprint().equals(fingerprint)) {
+            throw new BadRequestException("Idempotency-Key was already used for a different request");
+        }
+        return new Result(response, true);
+    }
+
+    private static ConflictException inProgress(String key) {
+        return new ConflictException("A request with Idempotency-Key " + key + " is still in progress");
+    }
+
+    private static void sleep(String key) {
+        try {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress(key);
+        }
+    }
+}
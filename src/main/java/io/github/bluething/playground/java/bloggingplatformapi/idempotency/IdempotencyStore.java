@@ -0,0 +1,24 @@
+package io.github.bluething.playground.java.bloggingplatformapi.idempotency;
+
+import java.util.Optional;
+
+public interface IdempotencyStore {
+    /**
+     * The completed response for a key, empty while the key is unknown or still being executed.
+     */
+    Optional<IdempotentResponse> find(String key);
+
+    /**
+     * Claim a key for execution.
+     * @return a token identifying this reservation, or null when the key is already reserved or completed
+     */
+    String reserve(String key);
+
+    void complete(String key, IdempotentResponse response);
+
+    /**
+     * Drop a reservation after a failed execution so the client can retry with the same key. Does nothing
+     * once the reservation is gone, e.g. its lease expired and another request reserved the key again.
+     */
+    void release(String key, String token);
+}
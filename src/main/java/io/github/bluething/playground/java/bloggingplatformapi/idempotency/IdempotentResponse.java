@@ -0,0 +1,8 @@
+package io.github.bluething.playground.java.bloggingplatformapi.idempotency;
+
+/**
+ * The stored outcome of a request made with an Idempotency-Key. The fingerprint identifies the
+ * request payload so a key reused for a different request is rejected instead of replayed.
+ */
+public record IdempotentResponse(String fingerprint, int status, String location, byte[] body) {
+}
@@ -0,0 +1,83 @@
+package io.github.bluething.playground.java.bloggingplatformapi.idempotency;
+
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.IdempotencyProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Per-node store bounded by both TTL and entry count; the oldest keys are dropped first when full.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "memory", matchIfMissing = true)
+class InMemoryIdempotencyStore implements IdempotencyStore {
+    // response is null while the key is reserved, token is null once it completed
+    private record Entry(IdempotentResponse response, String token, Instant expiresAt) {
+    }
+
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+
+    @Autowired
+    InMemoryIdempotencyStore(IdempotencyProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    InMemoryIdempotencyStore(IdempotencyProperties properties, Clock clock) {
+        this.ttl = properties.getTtl();
+        this.clock = clock;
+        int maxEntries = properties.getMaxEntries();
+        this.entries = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Optional<IdempotentResponse> find(String key) {
+        return Optional.ofNullable(live(key)).map(Entry::response);
+    }
+
+    @Override
+    public synchronized String reserve(String key) {
+        if (live(key) != null) {
+            return null;
+        }
+        String token = UUID.randomUUID().toString();
+        entries.put(key, new Entry(null, token, clock.instant().plus(ttl)));
+        return token;
+    }
+
+    @Override
+    public synchronized void complete(String key, IdempotentResponse response) {
+        entries.put(key, new Entry(response, null, clock.instant().plus(ttl)));
+    }
+
+    @Override
+    public synchronized void release(String key, String token) {
+        Entry entry = entries.get(key);
+        if (entry != null && token.equals(entry.token())) {
+            entries.remove(key);
+        }
+    }
+
+    private Entry live(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.expiresAt().isAfter(clock.instant())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.bluething.playground.java.bloggingplatformapi.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.IdempotencyProperties;
+import io.github.bluething.playground.java.bloggingplatformapi.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Shared store so retries landing on another node still replay. A reservation is a short-lived
+ * placeholder value (SET NX with the lease) carrying a per-reservation token, which the completed
+ * response later overwrites. Releasing compares the token before deleting, so a request whose lease
+ * expired cannot drop the reservation of the request that took the key over.
+ * <p>
+ * Calls have their own timeout (app.idempotency.redis-timeout) and do not go through the cache breaker: a
+ * skipped call here is not a cache miss but a lost guarantee. A lookup or reservation that cannot be confirmed
+ * fails the request with 503 instead of running it without deduplication. Storing the response is retried a few
+ * times, since the request has already run and a lost response lets a later retry run it again; if it still
+ * fails, the request answers 503 as well. Releasing is best effort, the lease frees the key anyway.
+ */
+@Component
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "redis")
+@Slf4j
+class RedisIdempotencyStore implements IdempotencyStore, AutoCloseable {
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final String PENDING_PREFIX = "pending:";
+    private static final RedisScript<Long> COMPARE_AND_DELETE = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) else return 0 end",
+            Long.class);
+    private static final int COMPLETE_ATTEMPTS = 3;
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration lease;
+    private final long timeoutNanos;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    RedisIdempotencyStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                          IdempotencyProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = properties.getTtl();
+        this.lease = properties.getLease();
+        this.timeoutNanos = properties.getRedisTimeout().toNanos();
+    }
+
+    @Override
+    public Optional<IdempotentResponse> find(String key) {
+        String value = call(key, () -> redisTemplate.opsForValue().get(KEY_PREFIX + key));
+        if (value == null || value.startsWith(PENDING_PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(value, IdempotentResponse.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable idempotency entry for key {}", key, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public String reserve(String key) {
+        String token = UUID.randomUUID().toString();
+        Boolean reserved = call(key, () -> redisTemplate.opsForValue()
+                .setIfAbsent(KEY_PREFIX + key, PENDING_PREFIX + token, lease));
+        return Boolean.TRUE.equals(reserved) ? token : null;
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponse response) {
+        String value;
+        try {
+            value = objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot store idempotent response for key " + key, e);
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                call(key, () -> {
+                    redisTemplate.opsForValue().set(KEY_PREFIX + key, value, ttl);
+                    return null;
+                });
+                return;
+            } catch (ServiceUnavailableException e) {
+                if (attempt == COMPLETE_ATTEMPTS) {
+                    log.error("Could not store the response for Idempotency-Key {}; a retry after its lease may run the request again", key);
+                    throw new ServiceUnavailableException("The request ran, but its Idempotency-Key " + key
+                            + " could not be recorded", RETRY_AFTER);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void release(String key, String token) {
+        try {
+            call(key, () -> redisTemplate.execute(COMPARE_AND_DELETE, List.of(KEY_PREFIX + key), PENDING_PREFIX + token));
+        } catch (ServiceUnavailableException e) {
+            log.warn("Could not release Idempotency-Key {}, it stays reserved until its lease expires", key);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Run a Redis call within the store's timeout.
+     *
+     * @throws ServiceUnavailableException when it fails or does not finish in time
+     */
+    private <T> T call(String key, Callable<T> action) {
+        Future<T> future = executor.submit(action);
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Idempotency store call for key {} exceeded {}ms", key, TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+        } catch (ExecutionException e) {
+            log.warn("Idempotency store call for key {} failed", key, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new ServiceUnavailableException("Idempotency-Key " + key + " cannot be checked right now", RETRY_AFTER);
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.bluething.playground.java.bloggingplatformapi.importer;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One post in an import file. Categories and tags are referenced by name and created when missing;
+ * a missing id is generated from createdAt, a missing updatedAt defaults to createdAt.
+ */
+record ImportRecord(String id,
+                    String title,
+                    String content,
+                    String category,
+                    List<String> tags,
+                    Instant createdAt,
+                    Instant updatedAt) {
+}
@@ -0,0 +1,75 @@
+package io.github.bluething.playground.java.bloggingplatformapi.importer;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads import records one at a time from NDJSON or CSV (chosen by file extension, ".gz" is decompressed on
+ * the fly). CSV files need a header row with the record's field names; tags are separated by '|'.
+ */
+class ImportRecordReader implements Iterator<ImportRecord>, Closeable {
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private final MappingIterator<ImportRecord> records;
+
+    private ImportRecordReader(MappingIterator<ImportRecord> records) {
+        this.records = records;
+    }
+
+    static ImportRecordReader open(Path file, ObjectMapper objectMapper) throws IOException {
+        String name = file.getFileName().toString().toLowerCase();
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+        if (name.endsWith(".gz")) {
+            in = new GZIPInputStream(in, 64 * 1024);
+            name = name.substring(0, name.length() - 3);
+        }
+
+        ObjectReader reader;
+        if (name.endsWith(".csv")) {
+            reader = CSV_MAPPER.readerFor(ImportRecord.class)
+                    .with(CsvSchema.emptySchema().withHeader().withArrayElementSeparator("|"));
+        } else if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            reader = objectMapper.readerFor(ImportRecord.class)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        } else {
+            in.close();
+            throw new IllegalArgumentException("Unsupported import file " + file + ", expected .ndjson, .jsonl or .csv");
+        }
+        return new ImportRecordReader(reader.readValues(in));
+    }
+
+    @Override
+    public boolean hasNext() {
+        return records.hasNext();
+    }
+
+    @Override
+    public ImportRecord next() {
+        return records.next();
+    }
+
+    @Override
+    public void close() throws IOException {
+        records.close();
+    }
+}
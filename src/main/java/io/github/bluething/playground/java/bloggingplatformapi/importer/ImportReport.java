@@ -0,0 +1,21 @@
+package io.github.bluething.playground.java.bloggingplatformapi.importer;
+
+import java.time.Duration;
+
+/**
+ * Outcome of an import run.
+ * @param resumed records skipped because an earlier run already committed them
+ * @param rejected records that failed validation and were not imported
+ */
+public record ImportReport(String source,
+                           long imported,
+                           long resumed,
+                           long rejected,
+                           int createdCategories,
+                           int createdTags,
+                           Duration elapsed) {
+
+    public double postsPerSecond() {
+        return elapsed.isZero() ? imported : imported * 1000.0 / elapsed.toMillis();
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.bluething.playground.java.bloggingplatformapi.importer;
+
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.PostImportProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the import given by app.import.file at startup, e.g.
+ * {@code java -jar app.jar --app.import.file=legacy.ndjson.gz --spring.main.web-application-type=none}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.import.file")
+@RequiredArgsConstructor
+class PostImportRunner implements ApplicationRunner {
+    private final PostImporter postImporter;
+    private final PostImportProperties properties;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        postImporter.importFile(properties.getFile());
+        if (properties.isExitOnCompletion()) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package io.github.bluething.playground.java.bloggingplatformapi.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.f4b6a3.ulid.UlidCreator;
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.PostImportProperties;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.CategoryData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.ChangeType;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.TagData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.UsageCounters;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.UsageDelta;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Bulk-loads posts from a file with plain JDBC batches, bypassing BlogPostService: no entities, no persistence
+ * context and no per-row lookups. Categories and tags are resolved by name through in-memory name→ID maps and
+ * created in the same batch when missing. Each batch commits together with a checkpoint (records consumed
+ * from the file), so a rerun resumes right after the last committed batch. The checkpoint is keyed on the file's
+ * absolute path and remembers its size and modification time; a rerun over a file that changed since is refused
+ * rather than skipping records of a different file. A batch that violates a constraint,
+ * e.g. an ID that already exists, is retried one record per transaction so only the offending records are
+ * rejected and the checkpoint still moves past them.
+ * <p>
+ * Imported posts publish no PostChangedEvent, and they keep their source timestamps, so a change feed cursor
+ * that is already past those times never sees them. Instead each batch appends a CREATED row per post to the
+ * outbox in the same transaction, and downstream consumers receive the import through the relay.
+ */
+@Component
+@Slf4j
+public class PostImporter {
+    private static final Calendar UTC = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    // post_import_checkpoints.source
+    private static final int MAX_SOURCE_LENGTH = 255;
+
+    private record Line(long position, ImportRecord record) {
+    }
+
+    /**
+     * A category or tag as stored: its ID and its original (trimmed) name.
+     */
+    private record Named(String id, String name) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UsageCounters usageCounters;
+    private final ObjectMapper objectMapper;
+    private final PostImportProperties properties;
+
+    public PostImporter(JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager,
+                        UsageCounters usageCounters,
+                        ObjectMapper objectMapper,
+                        PostImportProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.usageCounters = usageCounters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    public ImportReport importFile(Path file) throws IOException {
+        Run run = new Run(file.toAbsolutePath().normalize().toString(), Files.size(file),
+                Files.getLastModifiedTime(file).toInstant().truncatedTo(ChronoUnit.MILLIS));
+        if (run.source.length() > MAX_SOURCE_LENGTH) {
+            throw new IllegalArgumentException("Import path is longer than " + MAX_SOURCE_LENGTH + " characters: " + run.source);
+        }
+        long committed = checkpoint(run);
+        if (committed > 0) {
+            log.info("Resuming import of {} after record {}", run.source, committed);
+        }
+
+        try (ImportRecordReader reader = ImportRecordReader.open(file, objectMapper)) {
+            List<Line> batch = new ArrayList<>(properties.getBatchSize());
+            long position = 0;
+            while (reader.hasNext()) {
+                ImportRecord record = reader.next();
+                position++;
+                if (position <= committed) {
+                    run.resumed++;
+                    continue;
+                }
+                String problem = validate(record);
+                if (problem != null) {
+                    run.rejected++;
+                    log.warn("Rejected record {} of {}: {}", position, run.source, problem);
+                    continue;
+                }
+                batch.add(new Line(position, record));
+                if (batch.size() == properties.getBatchSize()) {
+                    commit(run, batch, position);
+                }
+            }
+            if (position > committed) {
+                commit(run, batch, position);
+            }
+        }
+
+        ImportReport report = run.report();
+        log.info("Imported {} posts from {} in {} ({} posts/s), {} resumed, {} rejected, {} new categories, {} new tags",
+                report.imported(), report.source(), report.elapsed(), Math.round(report.postsPerSecond()),
+                report.resumed(), report.rejected(), report.createdCategories(), report.createdTags());
+        return report;
+    }
+
+    private void commit(Run run, List<Line> batch, long position) {
+        long before = run.imported;
+        try {
+            write(run, batch, position);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Batch ending at record {} of {} violates a constraint, retrying its records one by one",
+                    position, run.source, e);
+            for (Line line : batch) {
+                try {
+                    write(run, List.of(line), line.position());
+                } catch (DataIntegrityViolationException rejected) {
+                    run.rejected++;
+                    log.warn("Rejected record {} of {}: {}", line.position(), run.source,
+                            rejected.getMostSpecificCause().getMessage());
+                    write(run, List.of(), line.position());
+                }
+            }
+            write(run, List.of(), position);
+        }
+        batch.clear();
+        if (before / properties.getReportInterval() != run.imported / properties.getReportInterval()) {
+            log.info("Imported {} posts from {} ({} posts/s)", run.imported, run.source, Math.round(run.report().postsPerSecond()));
+        }
+    }
+
+    /**
+     * Insert the records, their new categories and tags, usage counts and outbox rows, and move the checkpoint
+     * to {@code position}, all in one transaction.
+     */
+    private void write(Run run, List<Line> lines, long position) {
+        Map<String, Named> newCategories = new HashMap<>();
+        Map<String, Named> newTags = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!lines.isEmpty()) {
+                insert(run, lines, newCategories, newTags);
+            }
+            saveCheckpoint(run, position);
+        });
+
+        // only IDs that were committed may be reused by later batches
+        run.categories.putAll(newCategories);
+        run.tags.putAll(newTags);
+        run.createdCategories += newCategories.size();
+        run.createdTags += newTags.size();
+        run.imported += lines.size();
+    }
+
+    private void insert(Run run, List<Line> lines, Map<String, Named> newCategories, Map<String, Named> newTags) {
+        Instant now = Instant.now();
+        List<Object[]> posts = new ArrayList<>(lines.size());
+        List<Object[]> postTags = new ArrayList<>();
+        List<Object[]> outbox = new ArrayList<>(lines.size());
+        UsageDelta usage = new UsageDelta();
+        for (Line line : lines) {
+            ImportRecord record = line.record();
+            Instant createdAt = record.createdAt() != null ? record.createdAt() : run.startedAt;
+            Instant updatedAt = record.updatedAt() != null ? record.updatedAt() : createdAt;
+            String id = record.id() != null ? record.id() : UlidCreator.getUlid(createdAt.toEpochMilli()).toString();
+            Named category = resolve(record.category(), run.categories, newCategories);
+            posts.add(new Object[]{id, record.title(), record.content(), category.id(), createdAt, updatedAt});
+
+            Map<String, Named> tags = new LinkedHashMap<>();
+            if (record.tags() != null) {
+                record.tags().forEach(tag -> {
+                    Named named = resolve(tag, run.tags, newTags);
+                    tags.putIfAbsent(named.id(), named);
+                });
+            }
+            tags.keySet().forEach(tagId -> postTags.add(new Object[]{id, tagId}));
+            usage.added(category.id(), tags.keySet());
+
+            PostData post = new PostData(id, record.title(), record.content(),
+                    new CategoryData(category.id(), category.name()),
+                    tags.values().stream().map(tag -> new TagData(tag.id(), tag.name())).toList(),
+                    createdAt, updatedAt);
+            outbox.add(new Object[]{id, payload(post), now});
+        }
+
+        insertNames("INSERT INTO categories (id, name) VALUES (?, ?)", newCategories);
+        insertNames("INSERT INTO tags (id, name) VALUES (?, ?)", newTags);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO posts (id, title, content, category_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)",
+                posts, posts.size(), (ps, row) -> {
+                    ps.setString(1, (String) row[0]);
+                    ps.setString(2, (String) row[1]);
+                    ps.setString(3, (String) row[2]);
+                    ps.setString(4, (String) row[3]);
+                    setInstant(ps, 5, (Instant) row[4]);
+                    setInstant(ps, 6, (Instant) row[5]);
+                });
+        jdbcTemplate.batchUpdate("INSERT INTO post_tags (post_id, tag_id) VALUES (?, ?)", postTags);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO post_outbox (post_id, event_type, payload, created_at) VALUES (?, ?, ?, ?)",
+                outbox, outbox.size(), (ps, row) -> {
+                    ps.setString(1, (String) row[0]);
+                    ps.setString(2, ChangeType.CREATED.name());
+                    ps.setString(3, (String) row[1]);
+                    setInstant(ps, 4, (Instant) row[2]);
+                });
+        usageCounters.apply(usage);
+    }
+
+    private String payload(PostData post) {
+        try {
+            return objectMapper.writeValueAsString(post);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize imported post " + post.id(), e);
+        }
+    }
+
+    private static Named resolve(String name, Map<String, Named> known, Map<String, Named> created) {
+        // matched case-insensitively, like the unique name columns under MySQL's default collation;
+        // a new name is stored as first written
+        String key = name.trim().toLowerCase(Locale.ROOT);
+        Named named = known.get(key);
+        if (named != null) {
+            return named;
+        }
+        return created.computeIfAbsent(key, k -> new Named(UlidCreator.getUlid().toString(), name.trim()));
+    }
+
+    private void insertNames(String sql, Map<String, Named> created) {
+        if (created.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, created.values(), created.size(), (ps, named) -> {
+            ps.setString(1, named.id());
+            ps.setString(2, named.name());
+        });
+    }
+
+    private Map<String, Named> loadNames(String table) {
+        Map<String, Named> names = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM " + table, (RowCallbackHandler) rs -> {
+            String name = rs.getString("name");
+            names.put(name.trim().toLowerCase(Locale.ROOT), new Named(rs.getString("id"), name));
+        });
+        return names;
+    }
+
+    /**
+     * Records of this file committed by earlier runs.
+     *
+     * @throws IllegalStateException if the checkpoint was taken from a file of another size or modification time
+     */
+    private long checkpoint(Run run) {
+        List<Long> records = jdbcTemplate.query(
+                "SELECT records, file_size, file_modified_at FROM post_import_checkpoints WHERE source = ?",
+                (rs, rowNum) -> {
+                    long size = rs.getLong("file_size");
+                    Timestamp modified = rs.getTimestamp("file_modified_at", (Calendar) UTC.clone());
+                    if (size != run.size || modified == null || !modified.toInstant().equals(run.modifiedAt)) {
+                        throw new IllegalStateException("Checkpoint for " + run.source + " was taken from a different file ("
+                                + size + " bytes, modified " + (modified == null ? "unknown" : modified.toInstant())
+                                + "); delete it from post_import_checkpoints to import this file from the start");
+                    }
+                    return rs.getLong("records");
+                },
+                run.source);
+        return records.isEmpty() ? 0 : records.get(0);
+    }
+
+    private void saveCheckpoint(Run run, long position) {
+        Instant now = Instant.now();
+        int updated = jdbcTemplate.update("UPDATE post_import_checkpoints SET records = ?, updated_at = ? WHERE source = ?",
+                ps -> {
+                    ps.setLong(1, position);
+                    setInstant(ps, 2, now);
+                    ps.setString(3, run.source);
+                });
+        if (updated == 0) {
+            jdbcTemplate.update("INSERT INTO post_import_checkpoints (source, records, updated_at, file_size, file_modified_at) "
+                            + "VALUES (?, ?, ?, ?, ?)",
+                    ps -> {
+                        ps.setString(1, run.source);
+                        ps.setLong(2, position);
+                        setInstant(ps, 3, now);
+                        ps.setLong(4, run.size);
+                        setInstant(ps, 5, run.modifiedAt);
+                    });
+        }
+    }
+
+    private static void setInstant(PreparedStatement ps, int index, Instant instant) throws SQLException {
+        // bound as UTC, the same way Hibernate binds the entities' Instant columns
+        ps.setTimestamp(index, Timestamp.from(instant), (Calendar) UTC.clone());
+    }
+
+    private static String validate(ImportRecord record) {
+        if (record.id() != null && record.id().length() != 26) {
+            return "id must be a 26-character ULID";
+        }
+        if (record.title() == null || record.title().isBlank() || record.title().length() > 255) {
+            return "title must be 1-255 characters";
+        }
+        if (record.content() == null || record.content().isBlank()) {
+            return "content is required";
+        }
+        if (record.category() == null || record.category().isBlank() || record.category().trim().length() > 100) {
+            return "category must be 1-100 characters";
+        }
+        if (record.tags() != null && record.tags().stream().anyMatch(tag -> tag == null || tag.isBlank() || tag.trim().length() > 50)) {
+            return "tags must be 1-50 characters";
+        }
+        return null;
+    }
+
+    private class Run {
+        final String source;
+        final long size;
+        final Instant modifiedAt;
+        final Instant startedAt = Instant.now();
+        final long startNanos = System.nanoTime();
+        final Map<String, Named> categories = loadNames("categories");
+        final Map<String, Named> tags = loadNames("tags");
+        long imported;
+        long resumed;
+        long rejected;
+        int createdCategories;
+        int createdTags;
+
+        Run(String source, long size, Instant modifiedAt) {
+            this.source = source;
+            this.size = size;
+            this.modifiedAt = modifiedAt;
+        }
+
+        ImportReport report() {
+            return new ImportReport(source, imported, resumed, rejected, createdCategories, createdTags,
+                    Duration.ofNanos(System.nanoTime() - startNanos));
+        }
+    }
+}
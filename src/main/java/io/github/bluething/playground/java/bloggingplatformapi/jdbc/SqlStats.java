@@ -0,0 +1,67 @@
+package io.github.bluething.playground.java.bloggingplatformapi.jdbc;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JDBC work done inside one scope (an HTTP request, a service call or a test block): statements executed,
+ * rows read or written, time spent in the driver, and how often each distinct SQL string ran.
+ * A scope belongs to a single thread and is not thread-safe.
+ */
+public class SqlStats {
+    private final String name;
+    private int statements;
+    private long rows;
+    private long jdbcMillis;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    SqlStats(String name) {
+        this.name = name;
+    }
+
+    void recordStatement(String sql, long elapsedMillis) {
+        statements++;
+        jdbcMillis += elapsedMillis;
+        executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    void recordRows(long count) {
+        rows += count;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public Duration jdbcTime() {
+        return Duration.ofMillis(jdbcMillis);
+    }
+
+    /**
+     * Statements that ran at least {@code threshold} times with identical SQL (only parameters differ),
+     * the usual shape of an N+1 lazy load.
+     */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executionsBySql.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + statements + " statements, " + rows + " rows, " + jdbcMillis + "ms";
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.bluething.playground.java.bloggingplatformapi.jdbc;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound stack of open {@link SqlStats} scopes. A statement counts toward every open scope, so a
+ * service call nested in a request shows up in both.
+ */
+public final class SqlStatsContext {
+    private static final ThreadLocal<Deque<SqlStats>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private SqlStatsContext() {
+    }
+
+    public static Scope open(String name) {
+        SqlStats stats = new SqlStats(name);
+        SCOPES.get().push(stats);
+        return new Scope(stats);
+    }
+
+    /**
+     * Run an action in its own scope and return what it did, e.g. for assertions in tests.
+     */
+    public static SqlStats capture(Runnable action) {
+        try (Scope scope = open("capture")) {
+            action.run();
+            return scope.stats();
+        }
+    }
+
+    /**
+     * Wrap a task handed to another thread, so the statements it runs there count toward the scopes open
+     * on the calling thread, e.g. the request scope around work submitted to a bulkhead.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Deque<SqlStats> open = SCOPES.get();
+        if (open.isEmpty()) {
+            SCOPES.remove();
+            return task;
+        }
+        // innermost first, as the deque iterates
+        List<SqlStats> captured = List.copyOf(open);
+        return () -> {
+            Deque<SqlStats> scopes = SCOPES.get();
+            for (int i = captured.size() - 1; i >= 0; i--) {
+                scopes.push(captured.get(i));
+            }
+            try {
+                return task.get();
+            } finally {
+                captured.forEach(scopes::remove);
+                if (scopes.isEmpty()) {
+                    SCOPES.remove();
+                }
+            }
+        };
+    }
+
+    static void forEachOpen(Consumer<SqlStats> action) {
+        Deque<SqlStats> scopes = SCOPES.get();
+        if (!scopes.isEmpty()) {
+            scopes.forEach(action);
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final SqlStats stats;
+
+        private Scope(SqlStats stats) {
+            this.stats = stats;
+        }
+
+        public SqlStats stats() {
+            return stats;
+        }
+
+        @Override
+        public void close() {
+            Deque<SqlStats> scopes = SCOPES.get();
+            scopes.remove(stats);
+            if (scopes.isEmpty()) {
+                SCOPES.remove();
+            }
+        }
+    }
+}
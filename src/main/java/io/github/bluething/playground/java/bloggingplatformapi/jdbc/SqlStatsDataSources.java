@@ -0,0 +1,27 @@
+package io.github.bluething.playground.java.bloggingplatformapi.jdbc;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+import javax.sql.DataSource;
+
+public final class SqlStatsDataSources {
+    private SqlStatsDataSources() {
+    }
+
+    /**
+     * Wrap a DataSource so its statements are counted into the open {@link SqlStatsContext} scopes.
+     * ResultSets are proxied as well so rows read can be counted.
+     */
+    public static DataSource wrap(DataSource dataSource, String name) {
+        if (dataSource instanceof ProxyDataSource) {
+            return dataSource;
+        }
+        SqlStatsListener listener = new SqlStatsListener();
+        return ProxyDataSourceBuilder.create(name, dataSource)
+                .listener(listener)
+                .methodListener(listener)
+                .proxyResultSet()
+                .build();
+    }
+}
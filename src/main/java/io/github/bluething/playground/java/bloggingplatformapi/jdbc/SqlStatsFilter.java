@@ -0,0 +1,73 @@
+package io.github.bluething.playground.java.bloggingplatformapi.jdbc;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * One {@link SqlStats} scope per HTTP request, reported under the matched route pattern
+ * (e.g. "GET /api/v1/posts/{id}") to keep metric tags bounded. An async request is reported when it
+ * completes, so work it handed to a bulkhead thread (see {@link SqlStatsContext#propagate}) is included.
+ */
+public class SqlStatsFilter extends OncePerRequestFilter {
+    private final SqlStatsReporter reporter;
+
+    public SqlStatsFilter(SqlStatsReporter reporter) {
+        this.reporter = reporter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatsContext.Scope scope = SqlStatsContext.open(request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReportOnComplete(request, scope.stats()));
+            } else {
+                report(request, scope.stats());
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        reporter.report("request", request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED"), stats);
+    }
+
+    private class ReportOnComplete implements AsyncListener {
+        private final HttpServletRequest request;
+        private final SqlStats stats;
+
+        ReportOnComplete(HttpServletRequest request, SqlStats stats) {
+            this.request = request;
+            this.stats = stats;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            report(request, stats);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.bluething.playground.java.bloggingplatformapi.jdbc;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * One {@link SqlStats} scope per service method call, reported as "Service.method".
+ */
+public class SqlStatsInterceptor implements MethodInterceptor {
+    private final String serviceName;
+    private final SqlStatsReporter reporter;
+
+    public SqlStatsInterceptor(String serviceName, SqlStatsReporter reporter) {
+        this.serviceName = serviceName;
+        this.reporter = reporter;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String name = serviceName + "." + invocation.getMethod().getName();
+        try (SqlStatsContext.Scope scope = SqlStatsContext.open(name)) {
+            try {
+                return invocation.proceed();
+            } finally {
+                reporter.report("service", name, scope.stats());
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.bluething.playground.java.bloggingplatformapi.jdbc;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Feeds datasource-proxy callbacks into the open {@link SqlStats} scopes: one statement per execution
+ * (a JDBC batch counts once), rows as update counts plus ResultSet rows actually read.
+ */
+class SqlStatsListener implements QueryExecutionListener, MethodExecutionListener {
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.size() == 1
+                ? queryInfoList.get(0).getQuery()
+                : String.join(";", queryInfoList.stream().map(QueryInfo::getQuery).toList());
+        long updated = updateCount(execInfo.getResult());
+        SqlStatsContext.forEachOpen(stats -> {
+            stats.recordStatement(sql, execInfo.getElapsedTime());
+            stats.recordRows(updated);
+        });
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            SqlStatsContext.forEachOpen(stats -> stats.recordRows(1));
+        }
+    }
+
+    private static long updateCount(Object result) {
+        if (result instanceof Integer count && count > 0) {
+            return count;
+        }
+        if (result instanceof int[] counts) {
+            return Arrays.stream(counts).filter(count -> count > 0).sum();
+        }
+        return 0;
+    }
+}
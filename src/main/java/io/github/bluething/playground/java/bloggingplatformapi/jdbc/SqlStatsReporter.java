@@ -0,0 +1,47 @@
+package io.github.bluething.playground.java.bloggingplatformapi.jdbc;
+
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.SqlStatsProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Map;
+
+/**
+ * Publishes a closed scope as metrics (sql.statements, sql.rows, sql.jdbc.time and sql.n_plus_one.suspects,
+ * tagged with the scope kind and name) and logs scopes over the configured thresholds.
+ */
+@Slf4j
+public class SqlStatsReporter {
+    private final SqlStatsProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public SqlStatsReporter(SqlStatsProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void report(String kind, String name, SqlStats stats) {
+        Map<String, Integer> suspects = stats.repeatedStatements(properties.getRepeatedStatementThreshold());
+        meterRegistry.ifAvailable(registry -> {
+            DistributionSummary.builder("sql.statements").tags("scope", kind, "name", name)
+                    .register(registry).record(stats.statements());
+            DistributionSummary.builder("sql.rows").tags("scope", kind, "name", name)
+                    .register(registry).record(stats.rows());
+            Timer.builder("sql.jdbc.time").tags("scope", kind, "name", name)
+                    .register(registry).record(stats.jdbcTime());
+            if (!suspects.isEmpty()) {
+                registry.counter("sql.n_plus_one.suspects", "scope", kind, "name", name).increment();
+            }
+        });
+
+        if (stats.statements() > properties.getStatementThreshold()
+                || stats.jdbcTime().compareTo(properties.getJdbcTimeThreshold()) > 0) {
+            log.warn("{} {}: {} statements, {} rows, {}ms in JDBC",
+                    kind, name, stats.statements(), stats.rows(), stats.jdbcTime().toMillis());
+        }
+        suspects.forEach((sql, count) -> log.warn("{} {}: possible N+1, ran {} times: {}", kind, name, count, sql));
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.bluething.playground.java.bloggingplatformapi.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rejects requests with 503 and Retry-After as soon as their lane is at its adaptive limit, so clients
+ * fail fast instead of waiting out the connection pool's checkout timeout. Async requests, which is how
+ * reads run on their bulkhead lanes, keep their slot until they complete, time out or fail, and are sampled
+ * at that point like any other request.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private final Map<Lane, GradientLimiter> limiters;
+    private final Map<Lane, Counter> rejections = new EnumMap<>(Lane.class);
+    private final String retryAfter;
+
+    public ConcurrencyLimitFilter(Map<Lane, GradientLimiter> limiters, Duration retryAfter, MeterRegistry meterRegistry) {
+        this.limiters = limiters;
+        this.retryAfter = Long.toString(Math.max(1, retryAfter.toSeconds()));
+        for (Lane lane : Lane.values()) {
+            rejections.put(lane, meterRegistry.counter("http.concurrency.rejected", "lane", lane.tag()));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Lane lane = Lane.of(request);
+        GradientLimiter limiter = limiters.get(lane);
+        int inflight = limiter.tryAcquire();
+        if (inflight < 0) {
+            rejections.get(lane).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many concurrent " + lane.tag() + " requests");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(limiter, inflight, start));
+            } else {
+                // failed requests are sampled too: a pool checkout timeout is exactly the signal to back off
+                limiter.release(inflight, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static final class ReleaseOnComplete implements AsyncListener {
+        private final GradientLimiter limiter;
+        private final int inflight;
+        private final long start;
+        // onComplete also follows a timeout or an error; the slot is released on whichever comes first
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnComplete(GradientLimiter limiter, int inflight, long start) {
+            this.limiter = limiter;
+            this.inflight = inflight;
+            this.start = start;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(inflight, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
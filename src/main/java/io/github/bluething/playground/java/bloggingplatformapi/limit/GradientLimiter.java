@@ -0,0 +1,107 @@
+package io.github.bluething.playground.java.bloggingplatformapi.limit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive in-flight limit in the style of a gradient limiter: each completed request compares its latency
+ * with the long-term average, and the limit follows {@code limit * gradient + sqrt(limit)}, where the
+ * gradient drops below 1 once latency exceeds the average by more than the tolerance (requests queueing
+ * on the connection pool) and is 1 otherwise. The sqrt term lets the limit probe upwards while latency
+ * stays flat.
+ * <p>
+ * Admission is a single CAS on the in-flight count; limit updates are serialized.
+ */
+public class GradientLimiter {
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final int longWindow;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile double limit;
+    // Exponential average of sample latencies, in nanos
+    private double longRtt;
+    private long samples;
+
+    public GradientLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing, int longWindow) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.longWindow = longWindow;
+        this.limit = initialLimit;
+    }
+
+    public void bindTo(MeterRegistry meterRegistry, String lane) {
+        Gauge.builder("http.concurrency.limit", this, GradientLimiter::limit)
+                .tag("lane", lane)
+                .register(meterRegistry);
+        Gauge.builder("http.concurrency.inflight", this, GradientLimiter::inflight)
+                .tag("lane", lane)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claim a slot, returning the in-flight count including this request, or -1 when the limit is reached.
+     */
+    public int tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= (int) limit) {
+                return -1;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Free the slot and, for a request that ran to completion, feed its latency into the limit.
+     *
+     * @param inflightAtStart value returned by {@link #tryAcquire()}
+     * @param rttNanos        request latency, or negative to release without a sample
+     */
+    public void release(int inflightAtStart, long rttNanos) {
+        inflight.decrementAndGet();
+        if (rttNanos >= 0) {
+            onSample(inflightAtStart, rttNanos);
+        }
+    }
+
+    private synchronized void onSample(int inflightAtStart, long rttNanos) {
+        samples++;
+        if (samples == 1) {
+            longRtt = rttNanos;
+            return;
+        }
+        double weight = 2.0 / (Math.min(samples, longWindow) + 1);
+        longRtt += (rttNanos - longRtt) * weight;
+        // After a sustained latency shift the average would hold the limit down for a whole window; let it catch up
+        if (longRtt / rttNanos > 2) {
+            longRtt *= 0.95;
+        }
+
+        double current = limit;
+        // Latency of a lightly used lane says nothing about how far the limit could grow
+        if (inflightAtStart < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / rttNanos));
+        double estimate = current * gradient + Math.sqrt(current);
+        double next = current * (1 - smoothing) + estimate * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    public double limit() {
+        return limit;
+    }
+
+    public int inflight() {
+        return inflight.get();
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.bluething.playground.java.bloggingplatformapi.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Requests are limited per lane, so a burst of slow searches cannot starve cheap reads or writes.
+ */
+public enum Lane {
+    READ, SEARCH, WRITE;
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+
+    static Lane of(HttpServletRequest request) {
+        return switch (request.getMethod()) {
+            case "GET", "HEAD" -> isSearch(request) ? SEARCH : READ;
+            default -> WRITE;
+        };
+    }
+
+    private static boolean isSearch(HttpServletRequest request) {
+        String term = request.getParameter("term");
+        return term != null && !term.isBlank();
+    }
+}
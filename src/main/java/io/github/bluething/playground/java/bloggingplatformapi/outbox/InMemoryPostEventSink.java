@@ -0,0 +1,41 @@
+package io.github.bluething.playground.java.bloggingplatformapi.outbox;
+
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.OutboxProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Local stand-in for a broker: keeps the most recent messages in memory for tests and local runs.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "memory")
+public class InMemoryPostEventSink implements PostEventSink {
+    private final int capacity;
+    private final Deque<PostEventMessage> messages = new ArrayDeque<>();
+
+    public InMemoryPostEventSink(OutboxProperties properties) {
+        this.capacity = properties.getMemorySinkCapacity();
+    }
+
+    @Override
+    public synchronized void publish(List<PostEventMessage> batch) {
+        for (PostEventMessage message : batch) {
+            if (messages.size() == capacity) {
+                messages.removeFirst();
+            }
+            messages.addLast(message);
+        }
+    }
+
+    public synchronized List<PostEventMessage> messages() {
+        return List.copyOf(messages);
+    }
+
+    public synchronized void clear() {
+        messages.clear();
+    }
+}
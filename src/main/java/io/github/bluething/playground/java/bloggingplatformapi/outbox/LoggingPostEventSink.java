@@ -0,0 +1,18 @@
+package io.github.bluething.playground.java.bloggingplatformapi.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "log", matchIfMissing = true)
+@Slf4j
+class LoggingPostEventSink implements PostEventSink {
+    @Override
+    public void publish(List<PostEventMessage> messages) {
+        messages.forEach(message -> log.info("Post event #{} {} {}",
+                message.sequence(), message.type(), message.postId()));
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.bluething.playground.java.bloggingplatformapi.outbox;
+
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.OutboxProperties;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.ChangeType;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.JobLeases;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.OutboxEventEntity;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Drains the outbox in id order and hands each batch to every sink, deleting rows only once all sinks
+ * accepted them. A failed batch is retried as a whole on the next run, which keeps per-post order
+ * at the cost of at-least-once delivery.
+ * <p>
+ * Every node runs the relay, but only the holder of the outbox-relay lease reads the outbox, so rows are
+ * never published by two nodes at once. The holder renews the lease between batches and keeps it across
+ * runs; the outbox.lag gauge is therefore only meaningful on the holder.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxRelay {
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<PostEventSink> sinks;
+    private final JobLeases jobLeases;
+    private final int batchSize;
+    private final Duration lease;
+
+    // Creation time of the oldest event not yet delivered, null when the outbox was empty
+    private final AtomicReference<Instant> oldestPending = new AtomicReference<>();
+    private final Counter delivered;
+    private final Counter failures;
+    private final Timer publishTimer;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       List<PostEventSink> sinks,
+                       JobLeases jobLeases,
+                       OutboxProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.jobLeases = jobLeases;
+        this.batchSize = properties.getRelay().getBatchSize();
+        this.lease = properties.getRelay().getLease();
+        this.delivered = meterRegistry.counter("outbox.events.delivered");
+        this.failures = meterRegistry.counter("outbox.relay.failures");
+        this.publishTimer = meterRegistry.timer("outbox.relay.publish");
+        Gauge.builder("outbox.lag", this, relay -> relay.lag().toMillis() / 1000.0)
+                .description("Age of the oldest undelivered outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval:500ms}")
+    public void relay() {
+        if (!jobLeases.tryAcquire(JobLeases.OUTBOX_RELAY, lease)) {
+            oldestPending.set(null);
+            return;
+        }
+        List<OutboxEventEntity> batch;
+        do {
+            batch = outboxEventRepository.findPending(PageRequest.of(0, batchSize));
+            oldestPending.set(batch.isEmpty() ? null : batch.get(0).getCreatedAt());
+            if (batch.isEmpty() || !deliver(batch)) {
+                return;
+            }
+            if (batch.size() < batchSize) {
+                // a short batch drained the outbox
+                oldestPending.set(null);
+                return;
+            }
+        } while (jobLeases.tryAcquire(JobLeases.OUTBOX_RELAY, lease));
+    }
+
+    /**
+     * Hand the lease over right away instead of letting it expire.
+     */
+    @PreDestroy
+    void stop() {
+        jobLeases.release(JobLeases.OUTBOX_RELAY);
+    }
+
+    Duration lag() {
+        Instant oldest = oldestPending.get();
+        return oldest == null ? Duration.ZERO : Duration.between(oldest, Instant.now());
+    }
+
+    private boolean deliver(List<OutboxEventEntity> batch) {
+        List<PostEventMessage> messages = batch.stream()
+                .map(event -> new PostEventMessage(
+                        event.getId(),
+                        ChangeType.valueOf(event.getEventType()),
+                        event.getPostId(),
+                        event.getPayload(),
+                        event.getCreatedAt()))
+                .toList();
+        try {
+            publishTimer.record(() -> sinks.forEach(sink -> sink.publish(messages)));
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Outbox relay failed for batch starting at #{}, will retry", messages.get(0).sequence(), e);
+            return false;
+        }
+        outboxEventRepository.deleteAllByIdInBatch(messages.stream().map(PostEventMessage::sequence).toList());
+        delivered.increment(messages.size());
+        return true;
+    }
+}
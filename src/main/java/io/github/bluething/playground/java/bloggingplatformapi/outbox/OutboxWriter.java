@@ -0,0 +1,29 @@
+package io.github.bluething.playground.java.bloggingplatformapi.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostChangedEvent;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.OutboxEventEntity;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Appends every post write to the outbox before the write transaction commits,
+ * so the event is stored if and only if the write is.
+ */
+@Component
+@RequiredArgsConstructor
+class OutboxWriter {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    void onPostChanged(PostChangedEvent event) throws JsonProcessingException {
+        String payload = event.post() == null ? null : objectMapper.writeValueAsString(event.post());
+        outboxEventRepository.save(new OutboxEventEntity(
+                event.postId(), event.type().name(), payload, event.occurredAt()));
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.bluething.playground.java.bloggingplatformapi.outbox;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.ChangeType;
+
+import java.time.Instant;
+
+/**
+ * A relayed post write event. {@code sequence} increases in delivery order;
+ * {@code payload} is the PostData JSON, or null for deletions.
+ */
+public record PostEventMessage(long sequence,
+                               ChangeType type,
+                               String postId,
+                               String payload,
+                               Instant createdAt) {
+}
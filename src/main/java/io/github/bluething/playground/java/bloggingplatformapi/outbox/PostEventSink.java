@@ -0,0 +1,12 @@
+package io.github.bluething.playground.java.bloggingplatformapi.outbox;
+
+import java.util.List;
+
+/**
+ * Destination for relayed outbox events (message broker, indexer, ...).
+ * Messages arrive in outbox order; throwing makes the relay retry the whole batch later,
+ * so implementations must tolerate redelivery.
+ */
+public interface PostEventSink {
+    void publish(List<PostEventMessage> messages);
+}
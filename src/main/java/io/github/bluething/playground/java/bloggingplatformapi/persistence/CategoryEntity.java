@@ -17,6 +17,10 @@ public class CategoryEntity {
     @Column(name = "name", length = 100, nullable = false, unique = true)
     private String name;
 
+    // Bumped on every rename so cached posts embedding the old name can be recognized as stale
+    @Column(name = "generation", nullable = false)
+    private long generation;
+
     // bi-directional if needed
     @OneToMany(mappedBy = "category", fetch = FetchType.LAZY)
     private Set<PostEntity> posts;
@@ -27,4 +31,9 @@ public class CategoryEntity {
         this.id = id;
         this.name = name;
     }
+
+    public void rename(String name) {
+        this.name = name;
+        this.generation++;
+    }
 }
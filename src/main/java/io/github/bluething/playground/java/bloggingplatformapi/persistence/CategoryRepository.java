@@ -1,6 +1,25 @@
 package io.github.bluething.playground.java.bloggingplatformapi.persistence;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<CategoryEntity, String> {
+    boolean existsByNameIgnoreCaseAndIdNot(String name, String id);
+
+    /**
+     * The row locked until the transaction ends, so concurrent renames bump the generation one after another.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM CategoryEntity e WHERE e.id = :id")
+    Optional<CategoryEntity> findForUpdate(@Param("id") String id);
+
+    @Query("SELECT new io.github.bluething.playground.java.bloggingplatformapi.persistence.GenerationRow(e.id, e.generation) " +
+            "FROM CategoryEntity e WHERE e.generation > 0")
+    List<GenerationRow> findGenerations();
 }
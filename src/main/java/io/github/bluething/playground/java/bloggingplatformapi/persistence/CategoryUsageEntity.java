@@ -0,0 +1,26 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+/**
+ * Materialized number of posts in a category, maintained as deltas by the post writes.
+ */
+@Entity
+@Table(name = "category_usage")
+@Getter
+public class CategoryUsageEntity {
+    @Id
+    @Column(name = "category_id", columnDefinition = "CHAR(26)", length = 26, nullable = false)
+    private String categoryId;
+
+    @Column(name = "post_count", nullable = false)
+    private long postCount;
+
+    protected CategoryUsageEntity() {}
+
+    public CategoryUsageEntity(String categoryId, long postCount) {
+        this.categoryId = categoryId;
+        this.postCount = postCount;
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface CategoryUsageRepository extends JpaRepository<CategoryUsageEntity, String> {
+    /**
+     * Add a delta to a category's counter in place.
+     * @return 0 when the category has no counter row yet
+     */
+    @Modifying
+    @Query(value = "UPDATE category_usage SET post_count = post_count + :delta WHERE category_id = :id", nativeQuery = true)
+    int increment(@Param("id") String id, @Param("delta") long delta);
+
+    @Query("SELECT new io.github.bluething.playground.java.bloggingplatformapi.persistence.UsageCountRow(" +
+            "c.id, c.name, COALESCE(u.postCount, 0L)) " +
+            "FROM CategoryEntity c LEFT JOIN CategoryUsageEntity u ON u.categoryId = c.id")
+    List<UsageCountRow> findCounts();
+
+    @Query("SELECT new io.github.bluething.playground.java.bloggingplatformapi.persistence.UsageDriftRow(" +
+            "c.id, u.postCount, (SELECT COUNT(p) FROM PostEntity p WHERE p.category.id = c.id)) " +
+            "FROM CategoryEntity c LEFT JOIN CategoryUsageEntity u ON u.categoryId = c.id")
+    List<UsageDriftRow> findDrift();
+}
@@ -0,0 +1,28 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Last change to the feeds that post timestamps don't show, i.e. deletions and renames. The row is created
+ * by the changelog.
+ */
+@Entity
+@Table(name = "feed_state")
+@Getter
+public class FeedStateEntity {
+
+    @Id
+    @Column(name = "name", length = 64, nullable = false)
+    private String name;
+
+    @Column(name = "modified_at")
+    private Instant modifiedAt;
+
+    protected FeedStateEntity() {}
+}
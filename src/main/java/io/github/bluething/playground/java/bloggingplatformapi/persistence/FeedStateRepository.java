@@ -0,0 +1,24 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface FeedStateRepository extends JpaRepository<FeedStateEntity, String> {
+    /**
+     * Move the modification time forward to {@code at}; an older time leaves it unchanged.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE FeedStateEntity f SET f.modifiedAt = :at " +
+            "WHERE f.name = :name AND (f.modifiedAt IS NULL OR f.modifiedAt < :at)")
+    int advance(@Param("name") String name, @Param("at") Instant at);
+
+    @Query("SELECT f.modifiedAt FROM FeedStateEntity f WHERE f.name = :name")
+    Optional<Instant> findModifiedAt(@Param("name") String name);
+}
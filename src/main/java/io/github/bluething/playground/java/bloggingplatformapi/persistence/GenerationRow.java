@@ -0,0 +1,8 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+/**
+ * A renamed tag or category with its rename counter.
+ */
+public record GenerationRow(String id,
+                            long generation) {
+}
@@ -0,0 +1,30 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Which node may run a cluster-wide job, and until when. Rows are created by the changelog, one per job.
+ */
+@Entity
+@Table(name = "job_leases")
+@Getter
+public class JobLeaseEntity {
+
+    @Id
+    @Column(name = "name", length = 64, nullable = false)
+    private String name;
+
+    @Column(name = "owner", columnDefinition = "CHAR(26)", length = 26)
+    private String owner;
+
+    @Column(name = "locked_until")
+    private Instant lockedUntil;
+
+    protected JobLeaseEntity() {}
+}
@@ -0,0 +1,30 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface JobLeaseRepository extends JpaRepository<JobLeaseEntity, String> {
+    /**
+     * Take the lease if it is free or expired, or extend it if the owner already holds it.
+     * The row lock taken by the update makes this atomic across nodes.
+     * @return 1 if the owner now holds the lease, 0 if another node does
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobLeaseEntity l SET l.owner = :owner, l.lockedUntil = :until " +
+            "WHERE l.name = :name AND (l.owner = :owner OR l.lockedUntil IS NULL OR l.lockedUntil < :now)")
+    int acquire(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("now") Instant now,
+                @Param("until") Instant until);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobLeaseEntity l SET l.owner = NULL, l.lockedUntil = NULL WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
@@ -0,0 +1,42 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * A post write event waiting to be relayed, inserted in the same transaction as the write.
+ * The identity ID gives the delivery order.
+ */
+@Entity
+@Table(name = "post_outbox")
+@Getter
+public class OutboxEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "post_id", columnDefinition = "CHAR(26)", length = 26, nullable = false)
+    private String postId;
+
+    @Column(name = "event_type", length = 20, nullable = false)
+    private String eventType;
+
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected OutboxEventEntity() {}
+
+    public OutboxEventEntity(String postId, String eventType, String payload, Instant createdAt) {
+        this.postId = postId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+    /**
+     * Oldest pending events first, i.e. in commit order per post.
+     */
+    @Query("SELECT e FROM OutboxEventEntity e ORDER BY e.id")
+    List<OutboxEventEntity> findPending(Pageable page);
+}
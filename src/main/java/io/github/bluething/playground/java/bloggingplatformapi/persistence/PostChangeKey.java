@@ -0,0 +1,10 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+import java.time.Instant;
+
+/**
+ * Position of a post in the change feed: its last modification time and ID.
+ */
+public record PostChangeKey(String id,
+                            Instant updatedAt) {
+}
@@ -0,0 +1,12 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+import java.time.Instant;
+
+/**
+ * A calendar month that has posts, with their number and the latest modification among them.
+ */
+public record PostMonth(Integer year,
+                        Integer month,
+                        Instant lastModified,
+                        Long postCount) {
+}
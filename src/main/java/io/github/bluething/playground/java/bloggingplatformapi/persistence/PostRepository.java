@@ -1,10 +1,20 @@
 package io.github.bluething.playground.java.bloggingplatformapi.persistence;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PostRepository extends JpaRepository<PostEntity, String> {
     /**
@@ -18,4 +28,140 @@ public interface PostRepository extends JpaRepository<PostEntity, String> {
             "OR LOWER(c.name) LIKE LOWER(:term)")
     List<PostEntity> searchByTerm(@Param("term") String term);
 
+    /**
+     * Load posts by ID in a single query, fetch-joining category and tags so mapping needs no further queries.
+     * @param ids post IDs; unknown IDs are ignored
+     * @return matching PostEntity, in no particular order
+     */
+    @Query("SELECT DISTINCT p FROM PostEntity p JOIN FETCH p.category LEFT JOIN FETCH p.tags " +
+            "WHERE p.id IN :ids")
+    List<PostEntity> findAllWithDetailsByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * Posts in a category and/or carrying a tag, newest first, fetch-joining category and tags.
+     * @param categoryId category to match, or null for any
+     * @param tagId tag to match, or null for any
+     */
+    @Query("SELECT DISTINCT p FROM PostEntity p JOIN FETCH p.category c LEFT JOIN FETCH p.tags " +
+            "WHERE (:categoryId IS NULL OR c.id = :categoryId) " +
+            "AND (:tagId IS NULL OR EXISTS (SELECT t.id FROM PostEntity p2 JOIN p2.tags t WHERE p2 = p AND t.id = :tagId)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostEntity> findFiltered(@Param("categoryId") String categoryId, @Param("tagId") String tagId);
+
+    /**
+     * Category and tags of a post, one row per tag, for adjusting usage counters before it is deleted.
+     */
+    @Query("SELECT new io.github.bluething.playground.java.bloggingplatformapi.persistence.PostUsageKey(p.category.id, t.id) " +
+            "FROM PostEntity p LEFT JOIN p.tags t WHERE p.id = :id")
+    List<PostUsageKey> findUsageKeys(@Param("id") String id);
+
+    /**
+     * ID, category and tags of each existing post among the IDs, one row per tag, for adjusting usage
+     * counters before they are deleted in bulk.
+     */
+    @Query("SELECT new io.github.bluething.playground.java.bloggingplatformapi.persistence.PostUsageRow(p.id, p.category.id, t.id) " +
+            "FROM PostEntity p LEFT JOIN p.tags t WHERE p.id IN :ids")
+    List<PostUsageRow> findUsageRows(@Param("ids") Collection<String> ids);
+
+    /**
+     * IDs of posts in a category, in ID order. Served by the index behind fk_posts_category.
+     */
+    @Query("SELECT p.id FROM PostEntity p WHERE p.category.id = :categoryId ORDER BY p.id")
+    List<String> findIdsByCategoryId(@Param("categoryId") String categoryId, Limit limit);
+
+    /**
+     * IDs of posts carrying a tag, in ID order.
+     */
+    @Query("SELECT p.id FROM PostEntity p JOIN p.tags t WHERE t.id = :tagId ORDER BY p.id")
+    List<String> findIdsByTagId(@Param("tagId") String tagId, Limit limit);
+
+    /**
+     * Delete posts with one statement; their post_tags rows go through ON DELETE CASCADE. deleteById
+     * and JPQL deletes would load each post or clear post_tags with statements of their own.
+     * Bypasses the persistence context, so callers must not hold managed copies of these posts.
+     * @return number of posts deleted
+     */
+    @Modifying
+    @Query(value = "DELETE FROM posts WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIds(@Param("ids") Collection<String> ids);
+
+    /**
+     * Keys of posts created or updated strictly after the (updatedAt, id) cursor and before {@code until},
+     * in cursor order. Served by idx_posts_updated_at.
+     */
+    @Query("SELECT new io.github.bluething.playground.java.bloggingplatformapi.persistence.PostChangeKey(p.id, p.updatedAt) " +
+            "FROM PostEntity p " +
+            "WHERE (p.updatedAt > :at OR (p.updatedAt = :at AND p.id > :id)) " +
+            "AND p.updatedAt < :until " +
+            "ORDER BY p.updatedAt, p.id")
+    List<PostChangeKey> findChangedAfter(@Param("at") Instant at,
+                                         @Param("id") String id,
+                                         @Param("until") Instant until,
+                                         Pageable page);
+
+    /**
+     * Most recently updated posts with their category, newest first, read through a server-side cursor
+     * (useCursorFetch) instead of buffering the result. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT p FROM PostEntity p JOIN FETCH p.category ORDER BY p.updatedAt DESC, p.id DESC")
+    Stream<PostEntity> streamLatest(Limit limit);
+
+    /**
+     * One page of the sitemap entries for posts created in [from, to), in creation order. Projections are not
+     * managed, so the persistence context stays empty however many rows are read. Must be consumed inside a
+     * transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new io.github.bluething.playground.java.bloggingplatformapi.persistence.PostChangeKey(p.id, p.updatedAt) " +
+            "FROM PostEntity p " +
+            "WHERE p.createdAt >= :from AND p.createdAt < :to " +
+            "ORDER BY p.createdAt, p.id")
+    Stream<PostChangeKey> streamCreatedBetween(@Param("from") Instant from, @Param("to") Instant to, Pageable pageable);
+
+    /**
+     * Keys of all posts in ID order, read through a server-side cursor. Projections are not managed, so
+     * the persistence context stays empty however many rows are read. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new io.github.bluething.playground.java.bloggingplatformapi.persistence.PostChangeKey(p.id, p.updatedAt) " +
+            "FROM PostEntity p ORDER BY p.id")
+    Stream<PostChangeKey> streamAllKeys();
+
+    /**
+     * Title and category of every post, read through a server-side cursor. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new io.github.bluething.playground.java.bloggingplatformapi.persistence.PostTitleRow(p.id, p.title, p.category.id) " +
+            "FROM PostEntity p")
+    Stream<PostTitleRow> streamTitles();
+
+    /**
+     * Every post-tag pair, read through a server-side cursor. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new io.github.bluething.playground.java.bloggingplatformapi.persistence.PostTagRow(p.id, t.id) " +
+            "FROM PostEntity p JOIN p.tags t")
+    Stream<PostTagRow> streamTagIds();
+
+    /**
+     * One row per calendar month (UTC) that has posts, with the number of posts and the latest modification in
+     * that month.
+     */
+    @Query("SELECT new io.github.bluething.playground.java.bloggingplatformapi.persistence.PostMonth(" +
+            "year(p.createdAt), month(p.createdAt), max(p.updatedAt), count(p)) " +
+            "FROM PostEntity p " +
+            "GROUP BY year(p.createdAt), month(p.createdAt) " +
+            "ORDER BY year(p.createdAt), month(p.createdAt)")
+    List<PostMonth> findPostMonths();
+
+    /**
+     * The same for the posts created in [from, to), which should span one month; empty when there are none.
+     */
+    @Query("SELECT new io.github.bluething.playground.java.bloggingplatformapi.persistence.PostMonth(" +
+            "year(p.createdAt), month(p.createdAt), max(p.updatedAt), count(p)) " +
+            "FROM PostEntity p " +
+            "WHERE p.createdAt >= :from AND p.createdAt < :to " +
+            "GROUP BY year(p.createdAt), month(p.createdAt)")
+    Optional<PostMonth> findPostMonth(@Param("from") Instant from, @Param("to") Instant to);
 }
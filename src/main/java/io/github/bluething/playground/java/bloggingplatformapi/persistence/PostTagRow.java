@@ -0,0 +1,8 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+/**
+ * One row of the post_tags join table.
+ */
+public record PostTagRow(String postId,
+                         String tagId) {
+}
@@ -0,0 +1,9 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+/**
+ * A post's title and category, without content or tags.
+ */
+public record PostTitleRow(String id,
+                           String title,
+                           String categoryId) {
+}
@@ -0,0 +1,32 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Records a deleted post so the change feed can report the deletion to syncing clients.
+ */
+@Entity
+@Table(name = "post_tombstones")
+@Getter
+public class PostTombstoneEntity {
+
+    @Id
+    @Column(name = "post_id", columnDefinition = "CHAR(26)", length = 26, nullable = false)
+    private String postId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    protected PostTombstoneEntity() {}
+
+    public PostTombstoneEntity(String postId, Instant deletedAt) {
+        this.postId = postId;
+        this.deletedAt = deletedAt;
+    }
+}
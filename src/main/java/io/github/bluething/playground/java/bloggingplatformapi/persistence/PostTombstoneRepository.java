@@ -0,0 +1,28 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface PostTombstoneRepository extends JpaRepository<PostTombstoneEntity, String> {
+    /**
+     * Tombstones strictly after the (deletedAt, postId) cursor and before {@code until}, in cursor order.
+     */
+    @Query("SELECT t FROM PostTombstoneEntity t " +
+            "WHERE (t.deletedAt > :at OR (t.deletedAt = :at AND t.postId > :id)) " +
+            "AND t.deletedAt < :until " +
+            "ORDER BY t.deletedAt, t.postId")
+    List<PostTombstoneEntity> findChangedAfter(@Param("at") Instant at,
+                                               @Param("id") String id,
+                                               @Param("until") Instant until,
+                                               Pageable page);
+
+    @Modifying
+    @Query("DELETE FROM PostTombstoneEntity t WHERE t.deletedAt < :before")
+    int deleteOlderThan(@Param("before") Instant before);
+}
@@ -0,0 +1,8 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+/**
+ * A post's category and one of its tags (null for a post without tags).
+ */
+public record PostUsageKey(String categoryId,
+                           String tagId) {
+}
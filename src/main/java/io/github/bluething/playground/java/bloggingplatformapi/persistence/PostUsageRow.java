@@ -0,0 +1,9 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+/**
+ * A post's ID, category and one of its tags (null for a post without tags).
+ */
+public record PostUsageRow(String postId,
+                           String categoryId,
+                           String tagId) {
+}
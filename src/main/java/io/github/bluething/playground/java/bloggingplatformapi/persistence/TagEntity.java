@@ -16,6 +16,10 @@ public class TagEntity {
     @Column(name = "name", length = 50, nullable = false, unique = true)
     private String name;
 
+    // Bumped on every rename so cached posts embedding the old name can be recognized as stale
+    @Column(name = "generation", nullable = false)
+    private long generation;
+
     @ManyToMany(mappedBy = "tags", fetch = FetchType.LAZY)
     private Set<PostEntity> posts;
 
@@ -25,4 +29,9 @@ public class TagEntity {
         this.id = id;
         this.name = name;
     }
+
+    public void rename(String name) {
+        this.name = name;
+        this.generation++;
+    }
 }
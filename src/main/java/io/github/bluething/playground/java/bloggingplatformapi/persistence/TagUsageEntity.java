@@ -0,0 +1,26 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+/**
+ * Materialized number of posts using a tag, maintained as deltas by the post writes.
+ */
+@Entity
+@Table(name = "tag_usage")
+@Getter
+public class TagUsageEntity {
+    @Id
+    @Column(name = "tag_id", columnDefinition = "CHAR(26)", length = 26, nullable = false)
+    private String tagId;
+
+    @Column(name = "post_count", nullable = false)
+    private long postCount;
+
+    protected TagUsageEntity() {}
+
+    public TagUsageEntity(String tagId, long postCount) {
+        this.tagId = tagId;
+        this.postCount = postCount;
+    }
+}
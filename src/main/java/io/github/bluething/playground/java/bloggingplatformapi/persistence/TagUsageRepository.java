@@ -0,0 +1,28 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TagUsageRepository extends JpaRepository<TagUsageEntity, String> {
+    /**
+     * Add a delta to a tag's counter in place.
+     * @return 0 when the tag has no counter row yet
+     */
+    @Modifying
+    @Query(value = "UPDATE tag_usage SET post_count = post_count + :delta WHERE tag_id = :id", nativeQuery = true)
+    int increment(@Param("id") String id, @Param("delta") long delta);
+
+    @Query("SELECT new io.github.bluething.playground.java.bloggingplatformapi.persistence.UsageCountRow(" +
+            "t.id, t.name, COALESCE(u.postCount, 0L)) " +
+            "FROM TagEntity t LEFT JOIN TagUsageEntity u ON u.tagId = t.id")
+    List<UsageCountRow> findCounts();
+
+    @Query("SELECT new io.github.bluething.playground.java.bloggingplatformapi.persistence.UsageDriftRow(" +
+            "t.id, u.postCount, (SELECT COUNT(p) FROM PostEntity p JOIN p.tags pt WHERE pt.id = t.id)) " +
+            "FROM TagEntity t LEFT JOIN TagUsageEntity u ON u.tagId = t.id")
+    List<UsageDriftRow> findDrift();
+}
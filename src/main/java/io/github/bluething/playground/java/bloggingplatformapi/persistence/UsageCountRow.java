@@ -0,0 +1,9 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+/**
+ * A tag or category with its materialized post count.
+ */
+public record UsageCountRow(String id,
+                            String name,
+                            Long postCount) {
+}
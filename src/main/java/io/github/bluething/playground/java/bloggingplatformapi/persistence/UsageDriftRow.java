@@ -0,0 +1,10 @@
+package io.github.bluething.playground.java.bloggingplatformapi.persistence;
+
+/**
+ * A counter next to the count recomputed from the source tables, read in one statement.
+ * @param recorded materialized count, null when the counter row is missing
+ */
+public record UsageDriftRow(String id,
+                            Long recorded,
+                            Long actual) {
+}
@@ -0,0 +1,76 @@
+package io.github.bluething.playground.java.bloggingplatformapi.reactive;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.GenerationStamps;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostData;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Reactive access to the "posts" cache entries, with the key prefix, serializer and TTL of the RedisCache
+ * behind @Cacheable, so both read paths share one cache. Like the blocking path, a slow or failing Redis
+ * turns reads into misses and writes into no-ops within the cache latency budget, and posts with renamed
+ * categories or tags count as misses.
+ */
+public class ReactivePostCache {
+    private final ReactiveRedisTemplate<String, Object> redis;
+    private final RedisCacheConfiguration configuration;
+    private final String keyPrefix;
+    private final Duration timeout;
+    private final GenerationStamps stamps;
+
+    public ReactivePostCache(RedisCache cache, ReactiveRedisConnectionFactory connectionFactory,
+                             Duration timeout, GenerationStamps stamps) {
+        this.configuration = cache.getCacheConfiguration();
+        this.keyPrefix = configuration.getKeyPrefixFor(cache.getName());
+        this.redis = new ReactiveRedisTemplate<>(connectionFactory,
+                RedisSerializationContext.<String, Object>newSerializationContext(RedisSerializer.string())
+                        .value(configuration.getValueSerializationPair())
+                        .build());
+        this.timeout = timeout;
+        this.stamps = stamps;
+    }
+
+    private ReactivePostCache() {
+        this.redis = null;
+        this.configuration = null;
+        this.keyPrefix = null;
+        this.timeout = null;
+        this.stamps = null;
+    }
+
+    /**
+     * A cache that always misses, for cache managers other than Redis.
+     */
+    public static ReactivePostCache disabled() {
+        return new ReactivePostCache();
+    }
+
+    Mono<PostData> get(String id) {
+        if (redis == null) {
+            return Mono.empty();
+        }
+        return redis.opsForValue().get(keyPrefix + id)
+                .ofType(PostData.class)
+                .filter(stamps::isCurrent)
+                .timeout(timeout)
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    Mono<Boolean> put(PostData post) {
+        if (redis == null) {
+            return Mono.just(false);
+        }
+        Duration ttl = configuration.getTtlFunction().getTimeToLive(post.id(), post);
+        Mono<Boolean> write = ttl.isZero() || ttl.isNegative()
+                ? redis.opsForValue().set(keyPrefix + post.id(), post)
+                : redis.opsForValue().set(keyPrefix + post.id(), post, ttl);
+        return write.timeout(timeout).onErrorReturn(false);
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.bluething.playground.java.bloggingplatformapi.reactive;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.CategoryData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.TagData;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Non-blocking post queries over R2DBC. Posts and their tags come from one query, one row per post and tag,
+ * ordered so each post's rows are adjacent; a list stream thus holds a single connection while demand from
+ * the client paces it.
+ */
+public class ReactivePostRepository implements AutoCloseable {
+    private static final String SELECT = "SELECT p.id, p.title, p.content, p.created_at, p.updated_at, " +
+            "c.id AS category_id, c.name AS category_name, c.generation AS category_generation, " +
+            "t.id AS tag_id, t.name AS tag_name, t.generation AS tag_generation " +
+            "FROM posts p JOIN categories c ON c.id = p.category_id " +
+            "LEFT JOIN post_tags pt ON pt.post_id = p.id LEFT JOIN tags t ON t.id = pt.tag_id";
+    private static final String RECENT_FIRST = " ORDER BY p.created_at DESC, p.id DESC";
+    private static final String SEARCH = " WHERE LOWER(p.title) LIKE :term " +
+            "OR LOWER(p.content) LIKE :term " +
+            "OR LOWER(c.name) LIKE :term";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient client;
+
+    public ReactivePostRepository(ConnectionPool pool) {
+        this.pool = pool;
+        this.client = DatabaseClient.create(pool);
+    }
+
+    public Mono<PostData> findById(String id) {
+        return posts(client.sql(SELECT + " WHERE p.id = :id").bind("id", id)).next();
+    }
+
+    /**
+     * All posts, or those whose title, content or category name contains the term, newest first.
+     */
+    public Flux<PostData> findAll(String term) {
+        DatabaseClient.GenericExecuteSpec query = term == null
+                ? client.sql(SELECT + RECENT_FIRST)
+                : client.sql(SELECT + SEARCH + RECENT_FIRST).bind("term", "%" + term.toLowerCase() + "%");
+        return posts(query);
+    }
+
+    private static Flux<PostData> posts(DatabaseClient.GenericExecuteSpec query) {
+        return query.map(ReactivePostRepository::toRow)
+                .all()
+                .bufferUntilChanged(row -> row.post().id())
+                .map(ReactivePostRepository::toPost);
+    }
+
+    private static PostData toPost(List<PostRow> rows) {
+        PostData post = rows.get(0).post();
+        List<TagData> tags = rows.stream()
+                .map(PostRow::tag)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PostData(post.id(), post.title(), post.content(), post.category(), tags,
+                post.createdAt(), post.updatedAt());
+    }
+
+    private static PostRow toRow(Readable row) {
+        String tagId = row.get("tag_id", String.class);
+        return new PostRow(new PostData(
+                row.get("id", String.class),
+                row.get("title", String.class),
+                row.get("content", String.class),
+                new CategoryData(row.get("category_id", String.class), row.get("category_name", String.class),
+                        number(row, "category_generation")),
+                List.of(),
+                // timestamps are stored in UTC, see serverTimezone on the JDBC URL
+                row.get("created_at", LocalDateTime.class).toInstant(ZoneOffset.UTC),
+                row.get("updated_at", LocalDateTime.class).toInstant(ZoneOffset.UTC)),
+                tagId == null ? null : new TagData(tagId, row.get("tag_name", String.class), number(row, "tag_generation")));
+    }
+
+    private static long number(Readable row, String column) {
+        Number value = row.get(column, Number.class);
+        return value == null ? 0 : value.longValue();
+    }
+
+    @Override
+    public void close() {
+        pool.dispose();
+    }
+
+    /**
+     * One result row: the post, and one of its tags or null when it has none.
+     */
+    private record PostRow(PostData post,
+                           TagData tag) {
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.bluething.playground.java.bloggingplatformapi.reactive;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostData;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only counterpart of BlogPostService that never blocks a thread on Redis or MySQL.
+ * Writes stay on the MVC path; its cache evictions apply here too since the cache is shared.
+ */
+@Service
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactivePostService {
+    private final ReactivePostRepository reactivePostRepository;
+    private final ReactivePostCache reactivePostCache;
+
+    public Mono<PostData> getPostById(String id) {
+        return reactivePostCache.get(id)
+                .switchIfEmpty(Mono.defer(() -> reactivePostRepository.findById(id)
+                        .flatMap(post -> reactivePostCache.put(post).thenReturn(post))));
+    }
+
+    /**
+     * All posts, or those matching the term, newest first, emitted as they are read.
+     */
+    public Flux<PostData> streamPosts(String term) {
+        return reactivePostRepository.findAll(term == null || term.isBlank() ? null : term);
+    }
+}
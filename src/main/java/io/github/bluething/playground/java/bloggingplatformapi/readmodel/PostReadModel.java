@@ -0,0 +1,249 @@
+package io.github.bluething.playground.java.bloggingplatformapi.readmodel;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.ChangeType;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostChangedEvent;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostExportService;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.TaxonomyRenamedEvent;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostChangeKey;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Holds the current {@link PostSnapshot}: loaded once the application is ready through the streaming export,
+ * then kept current from committed post changes and renames. The post changes of one transaction are applied
+ * together after it commits, so a bulk delete rebuilds the snapshot once per chunk rather than once per post.
+ * Changes committed while a load runs are replayed
+ * onto the new snapshot before it is published. A periodic check compares the snapshot with the database
+ * (writes that bypass events, e.g. bulk imports) and reloads it on drift.
+ * <p>
+ * Single node only: events are in-process, so another node's writes and renames reach this copy only through
+ * the drift check, i.e. reads can be stale for up to app.read-model.check-interval. Leave the read model off
+ * when several nodes serve traffic.
+ */
+@Component
+@ConditionalOnProperty(name = "app.read-model.enabled", havingValue = "true")
+@Slf4j
+public class PostReadModel {
+    // Committed changes reach the snapshot shortly after commit; younger rows are not counted as drift
+    private static final Duration SETTLE = Duration.ofMinutes(1);
+    // Timestamps are rounded to the column precision in the database but exact in the events
+    private static final Duration TIMESTAMP_TOLERANCE = Duration.ofSeconds(1);
+
+    private final PostExportService exportService;
+    private final PostRepository postRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter drift;
+
+    // null until the first load completes
+    private volatile PostSnapshot snapshot;
+    // changes committed while a load runs, guarded by this
+    private List<UnaryOperator<PostSnapshot>> replay;
+
+    PostReadModel(PostExportService exportService,
+                  PostRepository postRepository,
+                  PlatformTransactionManager transactionManager,
+                  MeterRegistry meterRegistry) {
+        this.exportService = exportService;
+        this.postRepository = postRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.drift = meterRegistry.counter("readmodel.drift");
+        Gauge.builder("readmodel.posts", this, model -> model.current().size())
+                .description("Posts held by the in-memory read model")
+                .register(meterRegistry);
+        Gauge.builder("readmodel.memory", this, model -> model.current().estimatedBytes())
+                .description("Estimated heap retained by the in-memory read model")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the current snapshot, or null while the first load is still running
+     */
+    PostSnapshot snapshot() {
+        return snapshot;
+    }
+
+    private PostSnapshot current() {
+        PostSnapshot current = snapshot;
+        return current == null ? PostSnapshot.EMPTY : current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void onReady() {
+        load();
+    }
+
+    void load() {
+        synchronized (this) {
+            replay = new ArrayList<>();
+        }
+        long start = System.nanoTime();
+        PostSnapshot fresh;
+        try {
+            List<PostData> posts = new ArrayList<>();
+            exportService.exportAll(posts::add);
+            fresh = PostSnapshot.of(posts);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                replay = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            for (UnaryOperator<PostSnapshot> change : replay) {
+                fresh = change.apply(fresh);
+            }
+            replay = null;
+            snapshot = fresh;
+        }
+        log.info("Loaded read model with {} posts (~{} MB) in {} ms", fresh.size(),
+                fresh.estimatedBytes() / (1024 * 1024), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Collects the change into its transaction's {@link PendingChanges}, which applies them all after commit and
+     * drops them on rollback. Outside a transaction the change is applied right away.
+     */
+    @EventListener
+    void onPostChanged(PostChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(List.of(event));
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+
+    private void apply(List<PostChangedEvent> events) {
+        // the last change of each post wins, so a post created and deleted in one transaction ends up deleted
+        Map<String, PostData> latest = new LinkedHashMap<>();
+        for (PostChangedEvent event : events) {
+            latest.put(event.postId(), event.type() == ChangeType.DELETED ? null : event.post());
+        }
+        List<PostData> upserts = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        latest.forEach((id, post) -> {
+            if (post == null) {
+                deletes.add(id);
+            } else {
+                upserts.add(post);
+            }
+        });
+        update(current -> current.apply(upserts, deletes));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    void onRenamed(TaxonomyRenamedEvent event) {
+        update(current -> current.renamed(event));
+    }
+
+    private synchronized void update(UnaryOperator<PostSnapshot> change) {
+        if (snapshot != null) {
+            snapshot = change.apply(snapshot);
+        }
+        if (replay != null) {
+            replay.add(change);
+        }
+    }
+
+    /**
+     * Post changes of one transaction, bound as a resource keyed by this read model. The binding follows the
+     * transaction through suspension, so changes in a REQUIRES_NEW transaction are applied when that one commits.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+        private final List<PostChangedEvent> events = new ArrayList<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(PostReadModel.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(PostReadModel.this, this);
+        }
+
+        @Override
+        public void afterCommit() {
+            apply(events);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PostReadModel.this);
+        }
+    }
+
+    /**
+     * Compare IDs and update times with the database and reload on any settled difference.
+     *
+     * @return the number of posts that were missing, extra or outdated
+     */
+    @Scheduled(initialDelayString = "${app.read-model.check-interval:PT1H}", fixedDelayString = "${app.read-model.check-interval:PT1H}")
+    public long check() {
+        PostSnapshot current = snapshot;
+        if (current == null) {
+            return 0;
+        }
+        Instant settled = Instant.now().minus(SETTLE);
+        Set<String> seen = new HashSet<>(current.size());
+        long differences = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            try (Stream<PostChangeKey> keys = postRepository.streamAllKeys()) {
+                for (PostChangeKey key : (Iterable<PostChangeKey>) keys::iterator) {
+                    seen.add(key.id());
+                    PostData post = current.get(key.id()).orElse(null);
+                    boolean outdated = post == null
+                            || Duration.between(post.updatedAt(), key.updatedAt()).abs().compareTo(TIMESTAMP_TOLERANCE) >= 0;
+                    if (outdated && key.updatedAt().isBefore(settled)) {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        });
+        for (PostData post : current.recent()) {
+            if (!seen.contains(post.id()) && post.updatedAt().isBefore(settled)) {
+                differences++;
+            }
+        }
+        if (differences > 0) {
+            drift.increment(differences);
+            log.warn("Read model differs from the database in {} posts, reloading", differences);
+            load();
+        }
+        return differences;
+    }
+}
@@ -0,0 +1,217 @@
+package io.github.bluething.playground.java.bloggingplatformapi.readmodel;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.CategoryData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.TagData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.TaxonomyRenamedEvent;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable view of every post with indexes by ID, category, tag and recency (newest first). Changes produce a
+ * new snapshot that shares the untouched index lists with this one, so readers never lock and never see a
+ * half-applied change.
+ */
+final class PostSnapshot {
+    static final Comparator<PostData> RECENT = Comparator.comparing(PostData::createdAt)
+            .thenComparing(PostData::id)
+            .reversed();
+    static final PostSnapshot EMPTY = new PostSnapshot(Map.of(), List.of(), Map.of(), Map.of(), 0);
+
+    private final Map<String, PostData> byId;
+    private final List<PostData> recent;
+    private final Map<String, List<PostData>> byCategory;
+    private final Map<String, List<PostData>> byTag;
+    private final long estimatedBytes;
+
+    private PostSnapshot(Map<String, PostData> byId,
+                         List<PostData> recent,
+                         Map<String, List<PostData>> byCategory,
+                         Map<String, List<PostData>> byTag,
+                         long estimatedBytes) {
+        this.byId = byId;
+        this.recent = recent;
+        this.byCategory = byCategory;
+        this.byTag = byTag;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    static PostSnapshot of(Collection<PostData> posts) {
+        return EMPTY.apply(posts, List.of());
+    }
+
+    Optional<PostData> get(String id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    List<PostData> getAll(List<String> ids) {
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    List<PostData> recent() {
+        return recent;
+    }
+
+    /**
+     * Posts in the category and/or with the tag, newest first; a null criterion matches everything.
+     */
+    List<PostData> filter(String categoryId, String tagId) {
+        if (categoryId == null && tagId == null) {
+            return recent;
+        }
+        if (tagId == null) {
+            return byCategory.getOrDefault(categoryId, List.of());
+        }
+        List<PostData> tagged = byTag.getOrDefault(tagId, List.of());
+        return categoryId == null ? tagged : tagged.stream()
+                .filter(post -> post.category().id().equals(categoryId))
+                .toList();
+    }
+
+    /**
+     * Case-insensitive substring match on title, content or category name, like the database search.
+     */
+    List<PostData> search(String term) {
+        Pattern pattern = Pattern.compile(Pattern.quote(term), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        return recent.stream()
+                .filter(post -> pattern.matcher(post.title()).find()
+                        || pattern.matcher(post.content()).find()
+                        || pattern.matcher(post.category().name()).find())
+                .toList();
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * New snapshot with the given posts inserted or replaced and the given IDs removed.
+     */
+    PostSnapshot apply(Collection<PostData> upserts, Collection<String> deletes) {
+        Map<String, PostData> ids = new HashMap<>(byId);
+        Set<String> changed = new HashSet<>(deletes);
+        upserts.forEach(post -> changed.add(post.id()));
+
+        // index keys whose lists change
+        Set<String> categories = new HashSet<>();
+        Set<String> tags = new HashSet<>();
+        long bytes = estimatedBytes;
+        for (String id : changed) {
+            PostData old = ids.remove(id);
+            if (old != null) {
+                collectKeys(old, categories, tags);
+                bytes -= footprint(old);
+            }
+        }
+        for (PostData post : upserts) {
+            ids.put(post.id(), post);
+            collectKeys(post, categories, tags);
+            bytes += footprint(post);
+        }
+
+        return new PostSnapshot(
+                Collections.unmodifiableMap(ids),
+                merge(recent, changed, upserts),
+                reindex(byCategory, categories, changed, upserts, post -> List.of(post.category().id())),
+                reindex(byTag, tags, changed, upserts, post -> post.tags().stream().map(TagData::id).toList()),
+                bytes);
+    }
+
+    /**
+     * New snapshot where the posts embedding the renamed category or tag carry its new name.
+     */
+    PostSnapshot renamed(TaxonomyRenamedEvent event) {
+        boolean category = event.kind() == TaxonomyRenamedEvent.Kind.CATEGORY;
+        List<PostData> affected = (category ? byCategory : byTag).getOrDefault(event.id(), List.of());
+        if (affected.isEmpty()) {
+            return this;
+        }
+        List<PostData> updated = affected.stream()
+                .map(post -> category ? withCategory(post, event) : withTag(post, event))
+                .toList();
+        return apply(updated, List.of());
+    }
+
+    private static PostData withCategory(PostData post, TaxonomyRenamedEvent event) {
+        return new PostData(post.id(), post.title(), post.content(),
+                new CategoryData(event.id(), event.name(), event.generation()),
+                post.tags(), post.createdAt(), post.updatedAt());
+    }
+
+    private static PostData withTag(PostData post, TaxonomyRenamedEvent event) {
+        List<TagData> tags = post.tags().stream()
+                .map(tag -> tag.id().equals(event.id()) ? new TagData(event.id(), event.name(), event.generation()) : tag)
+                .toList();
+        return new PostData(post.id(), post.title(), post.content(), post.category(), tags,
+                post.createdAt(), post.updatedAt());
+    }
+
+    private static void collectKeys(PostData post, Set<String> categories, Set<String> tags) {
+        categories.add(post.category().id());
+        post.tags().forEach(tag -> tags.add(tag.id()));
+    }
+
+    private static List<PostData> merge(List<PostData> current, Set<String> changed, Collection<PostData> upserts) {
+        List<PostData> merged = new ArrayList<>(current.size() + upserts.size());
+        for (PostData post : current) {
+            if (!changed.contains(post.id())) {
+                merged.add(post);
+            }
+        }
+        merged.addAll(upserts);
+        // the retained posts form one sorted run, so this costs little more than the copy
+        merged.sort(RECENT);
+        return Collections.unmodifiableList(merged);
+    }
+
+    private static Map<String, List<PostData>> reindex(Map<String, List<PostData>> current,
+                                                       Set<String> keys,
+                                                       Set<String> changed,
+                                                       Collection<PostData> upserts,
+                                                       Function<PostData, List<String>> keysOf) {
+        Map<String, List<PostData>> added = new HashMap<>();
+        for (PostData post : upserts) {
+            for (String key : keysOf.apply(post)) {
+                added.computeIfAbsent(key, k -> new ArrayList<>()).add(post);
+            }
+        }
+        Map<String, List<PostData>> index = new HashMap<>(current);
+        for (String key : keys) {
+            List<PostData> list = merge(current.getOrDefault(key, List.of()), changed, added.getOrDefault(key, List.of()));
+            if (list.isEmpty()) {
+                index.remove(key);
+            } else {
+                index.put(key, list);
+            }
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Rough retained size of a post and its index slots: 64-bit JVM with compressed references,
+     * Latin-1 strings. Good enough to watch growth, not an exact heap measurement.
+     */
+    static long footprint(PostData post) {
+        long bytes = 24 + 2 * 24 + string(post.id()) + string(post.title()) + string(post.content())
+                + 24 + string(post.category().id()) + string(post.category().name())
+                + 16 + 4L * post.tags().size();
+        for (TagData tag : post.tags()) {
+            bytes += 24 + string(tag.id()) + string(tag.name());
+        }
+        // map entry in byId, plus one list slot each in recent, the category index and every tag index
+        return bytes + 48 + 4L * (2 + post.tags().size());
+    }
+
+    private static long string(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+}
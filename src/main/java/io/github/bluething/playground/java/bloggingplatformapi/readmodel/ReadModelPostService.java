@@ -0,0 +1,75 @@
+package io.github.bluething.playground.java.bloggingplatformapi.readmodel;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.CreatePostCommand;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostService;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.UpdatePostCommand;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serves reads from the in-memory {@link PostReadModel} without touching Redis or MySQL; writes, and reads
+ * issued before the first load completes, go to BlogPostService.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "app.read-model.enabled", havingValue = "true")
+class ReadModelPostService implements PostService {
+    private final PostService delegate;
+    private final PostReadModel readModel;
+
+    ReadModelPostService(@Qualifier("blogPostService") PostService delegate, PostReadModel readModel) {
+        this.delegate = delegate;
+        this.readModel = readModel;
+    }
+
+    @Override
+    public PostData createPost(CreatePostCommand command) {
+        return delegate.createPost(command);
+    }
+
+    @Override
+    public PostData updatePost(String id, UpdatePostCommand command) {
+        return delegate.updatePost(id, command);
+    }
+
+    @Override
+    public void deletePost(String id) {
+        delegate.deletePost(id);
+    }
+
+    @Override
+    public Optional<PostData> getPostById(String id) {
+        PostSnapshot snapshot = readModel.snapshot();
+        return snapshot == null ? delegate.getPostById(id) : snapshot.get(id);
+    }
+
+    @Override
+    public List<PostData> getPostsByIds(List<String> ids) {
+        PostSnapshot snapshot = readModel.snapshot();
+        return snapshot == null ? delegate.getPostsByIds(ids) : snapshot.getAll(ids);
+    }
+
+    @Override
+    public List<PostData> getAllPosts() {
+        PostSnapshot snapshot = readModel.snapshot();
+        return snapshot == null ? delegate.getAllPosts() : snapshot.recent();
+    }
+
+    @Override
+    public List<PostData> filterPosts(String categoryId, String tagId) {
+        PostSnapshot snapshot = readModel.snapshot();
+        return snapshot == null ? delegate.filterPosts(categoryId, tagId) : snapshot.filter(categoryId, tagId);
+    }
+
+    @Override
+    public List<PostData> searchPosts(String term) {
+        PostSnapshot snapshot = readModel.snapshot();
+        return snapshot == null ? delegate.searchPosts(term) : snapshot.search(term);
+    }
+}
@@ -0,0 +1,201 @@
+package io.github.bluething.playground.java.bloggingplatformapi.related;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Related posts by tag overlap. Every post gets an int ordinal and every tag a compressed bitmap of the ordinals
+ * using it, so a post's candidates are the union of its tags' bitmaps. A candidate scores its Jaccard similarity
+ * (shared tags / distinct tags of both posts), boosted when the category matches.
+ * <p>
+ * Results are computed on first read and kept until a write touches a tag they depend on: changing a post
+ * invalidates exactly the posts in its old and new tags' bitmaps.
+ */
+class RelatedIndex {
+    private static final int[] NO_TAGS = new int[0];
+
+    private final int resultSize;
+    private final double categoryBoost;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // guarded by lock
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<String> ids = new ArrayList<>();
+    private final List<String> categories = new ArrayList<>();
+    private final List<int[]> tagsOf = new ArrayList<>();
+    private final Map<String, Integer> tagOrdinals = new HashMap<>();
+    private final List<RoaringBitmap> postsByTag = new ArrayList<>();
+
+    private final Map<Integer, int[]> related = new ConcurrentHashMap<>();
+
+    RelatedIndex(int resultSize, double categoryBoost) {
+        this.resultSize = resultSize;
+        this.categoryBoost = categoryBoost;
+    }
+
+    /**
+     * Add or replace a post.
+     */
+    void put(String postId, String categoryId, Collection<String> tagIds) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(postId);
+            if (ordinal == null) {
+                ordinal = ids.size();
+                ordinals.put(postId, ordinal);
+                ids.add(postId);
+                categories.add(categoryId);
+                tagsOf.add(NO_TAGS);
+            } else {
+                detach(ordinal);
+            }
+            int[] tags = tagIds.stream().distinct().mapToInt(this::tagOrdinal).sorted().toArray();
+            categories.set(ordinal, categoryId);
+            tagsOf.set(ordinal, tags);
+            for (int tag : tags) {
+                postsByTag.get(tag).add(ordinal);
+            }
+            invalidate(ordinal, tags);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String postId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(postId);
+            if (ordinal == null) {
+                return;
+            }
+            detach(ordinal);
+            // the ordinal is retired rather than reused; a rebuild compacts them
+            ids.set(ordinal, null);
+            tagsOf.set(ordinal, NO_TAGS);
+            related.remove(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * IDs of the posts most related to the given one, best first; empty for an unknown post.
+     */
+    List<String> related(String postId, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinals.get(postId);
+            if (ordinal == null) {
+                return List.of();
+            }
+            // computed under the read lock, so no write can invalidate it before it is stored
+            int[] best = related.computeIfAbsent(ordinal, this::compute);
+            List<String> result = new ArrayList<>(Math.min(limit, best.length));
+            for (int i = 0; i < best.length && result.size() < limit; i++) {
+                result.add(ids.get(best[i]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] compute(int ordinal) {
+        int[] tags = tagsOf.get(ordinal);
+        if (tags.length == 0) {
+            return NO_TAGS;
+        }
+        RoaringBitmap[] bitmaps = new RoaringBitmap[tags.length];
+        for (int i = 0; i < tags.length; i++) {
+            bitmaps[i] = postsByTag.get(tags[i]);
+        }
+        RoaringBitmap candidates = FastAggregation.or(bitmaps);
+
+        String category = categories.get(ordinal);
+        int[] top = new int[resultSize];
+        double[] topScores = new double[resultSize];
+        int[] count = {0};
+        candidates.forEach((int candidate) -> {
+            if (candidate == ordinal) {
+                return;
+            }
+            int shared = 0;
+            for (RoaringBitmap bitmap : bitmaps) {
+                if (bitmap.contains(candidate)) {
+                    shared++;
+                }
+            }
+            double score = (double) shared / (tags.length + tagsOf.get(candidate).length - shared);
+            if (category != null && category.equals(categories.get(candidate))) {
+                score *= 1 + categoryBoost;
+            }
+            count[0] = insert(top, topScores, count[0], candidate, score);
+        });
+        return Arrays.copyOf(top, count[0]);
+    }
+
+    /**
+     * Insert into the score-descending arrays; among equal scores the newer post (higher ULID) ranks first.
+     */
+    private int insert(int[] top, double[] scores, int size, int candidate, double score) {
+        int position = size;
+        while (position > 0 && (scores[position - 1] < score
+                || scores[position - 1] == score && ids.get(top[position - 1]).compareTo(ids.get(candidate)) < 0)) {
+            position--;
+        }
+        if (position == top.length) {
+            return size;
+        }
+        int end = Math.min(size, top.length - 1);
+        System.arraycopy(top, position, top, position + 1, end - position);
+        System.arraycopy(scores, position, scores, position + 1, end - position);
+        top[position] = candidate;
+        scores[position] = score;
+        return Math.min(size + 1, top.length);
+    }
+
+    private void detach(int ordinal) {
+        int[] tags = tagsOf.get(ordinal);
+        invalidate(ordinal, tags);
+        for (int tag : tags) {
+            postsByTag.get(tag).remove(ordinal);
+        }
+    }
+
+    private void invalidate(int ordinal, int[] tags) {
+        if (related.isEmpty()) {
+            // nothing computed yet, e.g. while the index is being built
+            return;
+        }
+        related.remove(ordinal);
+        for (int tag : tags) {
+            postsByTag.get(tag).forEach((int neighbor) -> related.remove(neighbor));
+        }
+    }
+
+    private int tagOrdinal(String tagId) {
+        return tagOrdinals.computeIfAbsent(tagId, id -> {
+            postsByTag.add(new RoaringBitmap());
+            return postsByTag.size() - 1;
+        });
+    }
+}
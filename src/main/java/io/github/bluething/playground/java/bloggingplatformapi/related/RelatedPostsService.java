@@ -0,0 +1,117 @@
+package io.github.bluething.playground.java.bloggingplatformapi.related;
+
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.RelatedProperties;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostChangedEvent;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.TagData;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostRepository;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostTagRow;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostTitleRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Serves related posts from the in-memory {@link RelatedIndex}. The index is built from the database once the
+ * application is ready and periodically after that; committed post changes update it in between. Changes that
+ * commit during a rebuild are replayed onto the new index before it replaces the old one.
+ */
+@Service
+@Slf4j
+public class RelatedPostsService {
+    private final PostRepository postRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final RelatedProperties properties;
+
+    private volatile RelatedIndex index;
+    // changes committed while a rebuild runs, guarded by this
+    private List<PostChangedEvent> replay;
+
+    RelatedPostsService(PostRepository postRepository,
+                        PlatformTransactionManager transactionManager,
+                        RelatedProperties properties) {
+        this.postRepository = postRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.index = newIndex();
+    }
+
+    /**
+     * IDs of the posts sharing the most tags with the given one, best first.
+     */
+    public List<String> related(String postId, int limit) {
+        return index.related(postId, Math.max(1, Math.min(limit, properties.getResultSize())));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void onReady() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${app.related.rebuild-interval:PT6H}", fixedDelayString = "${app.related.rebuild-interval:PT6H}")
+    void rebuild() {
+        synchronized (this) {
+            replay = new ArrayList<>();
+        }
+        long start = System.nanoTime();
+        RelatedIndex fresh;
+        try {
+            fresh = readOnlyTransaction.execute(status -> load());
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                replay = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            replay.forEach(event -> apply(fresh, event));
+            replay = null;
+            index = fresh;
+        }
+        log.info("Built related-posts index with {} posts in {} ms", fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    synchronized void onPostChanged(PostChangedEvent event) {
+        apply(index, event);
+        if (replay != null) {
+            replay.add(event);
+        }
+    }
+
+    private static void apply(RelatedIndex target, PostChangedEvent event) {
+        if (event.post() == null) {
+            target.remove(event.postId());
+            return;
+        }
+        target.put(event.postId(), event.post().category().id(), event.post().tags().stream().map(TagData::id).toList());
+    }
+
+    private RelatedIndex load() {
+        RelatedIndex fresh = newIndex();
+        Map<String, List<String>> tagIds = new HashMap<>();
+        try (Stream<PostTagRow> rows = postRepository.streamTagIds()) {
+            rows.forEach(row -> tagIds.computeIfAbsent(row.postId(), id -> new ArrayList<>(4)).add(row.tagId()));
+        }
+        try (Stream<PostTitleRow> rows = postRepository.streamTitles()) {
+            rows.forEach(row -> fresh.put(row.id(), row.categoryId(), tagIds.getOrDefault(row.id(), List.of())));
+        }
+        return fresh;
+    }
+
+    private RelatedIndex newIndex() {
+        return new RelatedIndex(properties.getResultSize(), properties.getCategoryBoost());
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.bluething.playground.java.bloggingplatformapi.rest;
+
+import java.util.Locale;
+
+/**
+ * Accept-Encoding negotiation (RFC 9110 section 12.5.3): a coding is acceptable when it is listed, or
+ * covered by "*", with a non-zero q-value. "gzip;q=0" is an explicit refusal.
+ */
+final class AcceptEncoding {
+    private AcceptEncoding() {
+    }
+
+    static boolean acceptsGzip(String header) {
+        if (header == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String element : header.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = quality(parts);
+            switch (coding) {
+                case "gzip", "x-gzip" -> gzip = gzip == null ? q : Math.max(gzip, q);
+                case "*" -> any = q;
+                default -> {
+                }
+            }
+        }
+        Double effective = gzip != null ? gzip : any;
+        return effective != null && effective > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')
+                    && parameter.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    // a malformed weight counts as a refusal rather than guessing
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
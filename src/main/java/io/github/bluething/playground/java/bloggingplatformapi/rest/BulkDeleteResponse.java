@@ -0,0 +1,4 @@
+package io.github.bluething.playground.java.bloggingplatformapi.rest;
+
+record BulkDeleteResponse(long deleted, boolean hasMore) {
+}
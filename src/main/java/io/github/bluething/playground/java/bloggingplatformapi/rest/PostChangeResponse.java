@@ -0,0 +1,9 @@
+package io.github.bluething.playground.java.bloggingplatformapi.rest;
+
+import java.time.Instant;
+
+record PostChangeResponse(String type,
+    String id,
+    PostResponse post,
+    Instant changedAt) {
+}
@@ -0,0 +1,8 @@
+package io.github.bluething.playground.java.bloggingplatformapi.rest;
+
+import java.util.List;
+
+record PostChangesResponse(List<PostChangeResponse> changes,
+    String nextCursor,
+    boolean hasMore) {
+}
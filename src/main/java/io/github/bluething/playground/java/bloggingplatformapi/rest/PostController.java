@@ -1,48 +1,304 @@
 package io.github.bluething.playground.java.bloggingplatformapi.rest;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.github.bluething.playground.java.bloggingplatformapi.bulkhead.Bulkheads;
+import io.github.bluething.playground.java.bloggingplatformapi.bulkhead.ReadLane;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.BulkDeleteResult;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.GroupCommitPostWriter;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostBulkDeleteService;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostChangeService;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostContentRenderer;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostExportService;
 import io.github.bluething.playground.java.bloggingplatformapi.domain.PostService;
+import io.github.bluething.playground.java.bloggingplatformapi.exception.BadRequestException;
 import io.github.bluething.playground.java.bloggingplatformapi.exception.ResourceNotFoundException;
+import io.github.bluething.playground.java.bloggingplatformapi.idempotency.IdempotencyService;
+import io.github.bluething.playground.java.bloggingplatformapi.idempotency.IdempotentResponse;
+import io.github.bluething.playground.java.bloggingplatformapi.related.RelatedPostsService;
+import io.github.bluething.playground.java.bloggingplatformapi.trending.TrendingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/posts")
 @Validated
 @RequiredArgsConstructor
 class PostController {
+    private static final int MAX_BATCH_IDS = 100;
+    private static final int MAX_BULK_DELETE_IDS = 1000;
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
     private final PostService postService;
+    private final PostChangeService postChangeService;
+    private final PostExportService postExportService;
+    private final PostBulkDeleteService postBulkDeleteService;
+    private final PostResponseCache postResponseCache;
+    private final PostContentRenderer postContentRenderer;
+    private final IdempotencyService idempotencyService;
+    private final TrendingService trendingService;
+    private final RelatedPostsService relatedPostsService;
+    private final Bulkheads bulkheads;
+    private final ObjectMapper objectMapper;
+    // present only with app.posts.group-commit.enabled
+    private final ObjectProvider<GroupCommitPostWriter> groupCommitWriter;
 
+    /**
+     * With an Idempotency-Key header, retries of the same request replay the first response
+     * instead of creating another post.
+     */
     @PostMapping
-    ResponseEntity<PostResponse> createPost(@Valid @RequestBody PostRequest postRequest) {
+    ResponseEntity<?> createPost(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                 @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                 @Valid @RequestBody PostRequest postRequest) {
+        if (idempotencyKey == null) {
+            var response = create(postRequest);
+            return ResponseEntity.created(URI.create("/api/v1/posts/" + response.id())).body(response);
+        }
+
+        String fingerprint = fingerprint(postRequest);
+        var result = idempotencyService.execute(idempotencyKey, fingerprint, () -> {
+            var response = create(postRequest);
+            return new IdempotentResponse(fingerprint, HttpStatus.CREATED.value(),
+                    "/api/v1/posts/" + response.id(), toJson(response));
+        });
+        var stored = result.response();
+        var builder = ResponseEntity.status(stored.status())
+                .location(URI.create(stored.location()))
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(result.replayed()));
+        if (prefersJson(accept)) {
+            return builder.contentType(MediaType.APPLICATION_JSON).body(stored.body());
+        }
+        // e.g. application/cbor: re-encode the stored JSON through the negotiated converter
+        return builder.body(fromJson(stored.body(), PostResponse.class));
+    }
+
+    private PostResponse create(PostRequest postRequest) {
         var command = PostMapper.toCreatePostCommand(postRequest);
-        var data = postService.createPost(command);
-        var response = PostMapper.toResponse(data);
-        return ResponseEntity.created(URI.create("/api/v1/posts/" + response.id())).body(response);
+        var writer = groupCommitWriter.getIfAvailable();
+        var data = writer != null ? writer.create(command) : postService.createPost(command);
+        return PostMapper.toResponse(data);
+    }
+
+    private String fingerprint(PostRequest postRequest) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(toJson(postRequest)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * True unless the client asks for CBOR (or something JSON can't satisfy).
+     */
+    private static boolean prefersJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            return mediaTypes.stream().noneMatch(mediaType -> mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR))
+                    && mediaTypes.stream().anyMatch(mediaType -> mediaType.includes(MediaType.APPLICATION_JSON));
+        } catch (InvalidMediaTypeException e) {
+            return true;
+        }
+    }
+
+    private <T> T fromJson(byte[] json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     @GetMapping("/{id}")
-    ResponseEntity<PostResponse> getPostById(@PathVariable("id") String id) {
+    CompletableFuture<ResponseEntity<?>> getPostById(@PathVariable("id") String id,
+                                                     @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                     @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return bulkheads.submit(ReadLane.POINT_READ, () -> {
+            // cached bytes are JSON; other representations go through the message converters
+            ResponseEntity<?> response = postResponseCache.isEnabled() && prefersJson(accept)
+                    ? postResponseCache.serve(id, acceptEncoding, () -> loadPost(id))
+                    : ResponseEntity.ok(loadPost(id));
+            trendingService.recordView(id);
+            return response;
+        });
+    }
+
+    /**
+     * Server-rendered variant: content is returned as HTML, rendered once per distinct Markdown and cached.
+     */
+    @GetMapping(value = "/{id}", params = "format=html")
+    CompletableFuture<ResponseEntity<PostHtmlResponse>> getPostHtmlById(@PathVariable("id") String id) {
+        return bulkheads.submit(ReadLane.POINT_READ, () -> {
+            var data = postService.getPostById(id).orElseThrow(() -> new ResourceNotFoundException("Post", id));
+            trendingService.recordView(id);
+            return ResponseEntity.ok(PostMapper.toHtmlResponse(data, postContentRenderer.toHtml(data.content())));
+        });
+    }
+
+    /**
+     * Posts sharing the most tags with the given one (same category ranks higher), best first.
+     * Precomputed in memory; the request only hydrates the posts.
+     */
+    @GetMapping("/{id}/related")
+    CompletableFuture<ResponseEntity<List<PostResponse>>> getRelatedPosts(@PathVariable("id") String id,
+                                                                          @RequestParam(value = "limit", defaultValue = "5") int limit) {
+        return bulkheads.submit(ReadLane.POINT_READ, () -> {
+            var responses = postService.getPostsByIds(relatedPostsService.related(id, limit)).stream()
+                    .map(PostMapper::toResponse)
+                    .toList();
+            return ResponseEntity.ok(responses);
+        });
+    }
+
+    private PostResponse loadPost(String id) {
         var data = postService.getPostById(id).orElseThrow(() -> new ResourceNotFoundException("Post", id));
-        return ResponseEntity.ok(PostMapper.toResponse(data));
+        return PostMapper.toResponse(data);
     }
 
+    /**
+     * All posts, posts matching a search term, or posts filtered by category and/or tag (newest first).
+     * Searches run in their own lane, apart from plain and filtered listings.
+     */
     @GetMapping
-    ResponseEntity<List<PostResponse>> getPosts(@RequestParam(value = "term", required = false) String term) {
-        var results = (term == null || term.isBlank())
-                ? postService.getAllPosts()
-                : postService.searchPosts(term);
-        var responses = results.stream()
-                .map(PostMapper::toResponse)
-                .toList();
-        return ResponseEntity.ok(responses);
+    CompletableFuture<ResponseEntity<List<PostResponse>>> getPosts(@RequestParam(value = "term", required = false) String term,
+                                                                   @RequestParam(value = "category", required = false) String category,
+                                                                   @RequestParam(value = "tag", required = false) String tag) {
+        boolean search = term != null && !term.isBlank();
+        boolean filter = category != null || tag != null;
+        if (search && filter) {
+            throw new BadRequestException("term cannot be combined with category or tag");
+        }
+        return bulkheads.submit(search ? ReadLane.SEARCH : ReadLane.LIST, () -> {
+            var results = filter
+                    ? postService.filterPosts(category, tag)
+                    : search ? postService.searchPosts(term) : postService.getAllPosts();
+            var responses = results.stream()
+                    .map(PostMapper::toResponse)
+                    .toList();
+            return ResponseEntity.ok(responses);
+        });
+    }
+
+    /**
+     * Batch lookup for feed rendering: GET /api/v1/posts?ids=a,b,c.
+     * Posts are returned in the requested order; unknown IDs are skipped.
+     */
+    @GetMapping(params = "ids")
+    CompletableFuture<ResponseEntity<List<PostResponse>>> getPostsByIds(@RequestParam("ids") List<String> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new BadRequestException("At most " + MAX_BATCH_IDS + " ids are allowed per request");
+        }
+        return bulkheads.submit(ReadLane.POINT_READ, () -> {
+            var responses = postService.getPostsByIds(ids).stream()
+                    .map(PostMapper::toResponse)
+                    .toList();
+            return ResponseEntity.ok(responses);
+        });
+    }
+
+    /**
+     * Most viewed posts with exponentially decayed weight, highest first. The ranking is kept in memory and
+     * merged across nodes in the background, so the request only hydrates the posts.
+     */
+    @GetMapping("/trending")
+    CompletableFuture<ResponseEntity<List<PostResponse>>> getTrending(@RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return bulkheads.submit(ReadLane.POINT_READ, () -> {
+            var responses = postService.getPostsByIds(trendingService.trending(limit)).stream()
+                    .map(PostMapper::toResponse)
+                    .toList();
+            return ResponseEntity.ok(responses);
+        });
+    }
+
+    /**
+     * Bulk export of every post as NDJSON, one PostResponse per line in ID order, streamed while it is read
+     * so memory stays flat with table size. Gzip-encoded when the client accepts gzip. Only a few exports run at
+     * once, each holding an export permit until its stream ends.
+     */
+    @GetMapping("/export")
+    ResponseEntity<StreamingResponseBody> exportPosts(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = AcceptEncoding.acceptsGzip(acceptEncoding);
+        ObjectWriter writer = objectMapper.writerFor(PostResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        Runnable release = bulkheads.acquireExport();
+        StreamingResponseBody body = out -> {
+            try {
+                OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+                postExportService.exportAll(post -> {
+                    try {
+                        writer.writeValue(target, PostMapper.toResponse(post));
+                        target.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (target instanceof GZIPOutputStream gzipStream) {
+                    gzipStream.finish();
+                }
+                target.flush();
+            } finally {
+                release.run();
+            }
+        };
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(body);
+    }
+
+    /**
+     * Incremental sync: created/updated posts and deletions after the given cursor, oldest first.
+     * Clients resume with the returned nextCursor.
+     */
+    @GetMapping("/changes")
+    CompletableFuture<ResponseEntity<PostChangesResponse>> getChanges(@RequestParam(value = "since", required = false) String since,
+                                                                      @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return bulkheads.submit(ReadLane.LIST, () -> {
+            var page = postChangeService.getChangesSince(since, limit);
+            return ResponseEntity.ok(PostMapper.toResponse(page));
+        });
     }
 
     @PutMapping("/{id}")
@@ -58,4 +314,31 @@ class PostController {
     void deletePost(@PathVariable("id") String id) {
         postService.deletePost(id);
     }
+
+    /**
+     * Bulk delete: DELETE /api/v1/posts?category=x, ?tag=x or ?ids=a,b,c, exactly one of them.
+     * Runs in throttled chunks and deletes a bounded number of posts per call; hasMore asks the client to repeat
+     * a category or tag delete. Unknown IDs are skipped.
+     */
+    @DeleteMapping
+    ResponseEntity<BulkDeleteResponse> deletePosts(@RequestParam(value = "category", required = false) String category,
+                                                   @RequestParam(value = "tag", required = false) String tag,
+                                                   @RequestParam(value = "ids", required = false) List<String> ids) {
+        long criteria = Stream.of(category, tag, ids).filter(Objects::nonNull).count();
+        if (criteria != 1) {
+            throw new BadRequestException("Exactly one of category, tag or ids is required");
+        }
+        BulkDeleteResult result;
+        if (category != null) {
+            result = postBulkDeleteService.deleteByCategory(category);
+        } else if (tag != null) {
+            result = postBulkDeleteService.deleteByTag(tag);
+        } else {
+            if (ids.size() > MAX_BULK_DELETE_IDS) {
+                throw new BadRequestException("At most " + MAX_BULK_DELETE_IDS + " ids are allowed per request");
+            }
+            result = new BulkDeleteResult(postBulkDeleteService.deleteByIds(ids), false);
+        }
+        return ResponseEntity.ok(new BulkDeleteResponse(result.deleted(), result.hasMore()));
+    }
 }
@@ -0,0 +1,13 @@
+package io.github.bluething.playground.java.bloggingplatformapi.rest;
+
+import java.time.Instant;
+import java.util.List;
+
+record PostHtmlResponse(String id,
+    String title,
+    String contentHtml,
+    CategoryResponse category,
+    List<TagResponse> tags,
+    Instant createdAt,
+    Instant updatedAt) {
+}
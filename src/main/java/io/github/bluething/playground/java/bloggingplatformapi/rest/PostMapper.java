@@ -51,4 +51,34 @@ class PostMapper {
                 postData.updatedAt()
         );
     }
+
+    /**
+     * Map service-layer data to the format=html response DTO, with already rendered content.
+     */
+    public static PostHtmlResponse toHtmlResponse(PostData postData, String contentHtml) {
+        PostResponse response = toResponse(postData);
+        return new PostHtmlResponse(
+                response.id(),
+                response.title(),
+                contentHtml,
+                response.category(),
+                response.tags(),
+                response.createdAt(),
+                response.updatedAt()
+        );
+    }
+
+    /**
+     * Map a change feed page to API response DTO.
+     */
+    public static PostChangesResponse toResponse(PostChangePage page) {
+        List<PostChangeResponse> changes = page.changes().stream()
+                .map(change -> new PostChangeResponse(
+                        change.type().name(),
+                        change.postId(),
+                        change.post() == null ? null : toResponse(change.post()),
+                        change.changedAt()))
+                .toList();
+        return new PostChangesResponse(changes, page.nextCursor(), page.hasMore());
+    }
 }
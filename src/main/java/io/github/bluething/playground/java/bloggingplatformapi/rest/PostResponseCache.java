@@ -0,0 +1,145 @@
+package io.github.bluething.playground.java.bloggingplatformapi.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.ResponseCacheProperties;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.GenerationStamps;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the final JSON bytes of GET /api/v1/posts/{id} so a hit skips the PostData
+ * deserialization, the response mapping and Jackson serialization. Entries live in the
+ * "post-responses" cache, which BlogPostService evicts together with "posts".
+ * <p>
+ * Each entry starts with the {@link GenerationStamps#epoch()} it was encoded at; entries from before any
+ * later category or tag rename are treated as misses, since the bytes embed the old names. The body is
+ * served straight from the cached entry, past the stamp, without copying it.
+ */
+@Component
+@Slf4j
+class PostResponseCache {
+    private final Cache cache;
+    private final ObjectMapper objectMapper;
+    private final ResponseCacheProperties properties;
+    private final GenerationStamps generationStamps;
+
+    PostResponseCache(CacheManager cacheManager, ObjectMapper objectMapper, ResponseCacheProperties properties,
+                      GenerationStamps generationStamps) {
+        this.cache = cacheManager.getCache("post-responses");
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.generationStamps = generationStamps;
+    }
+
+    boolean isEnabled() {
+        return properties.isEnabled() && cache != null;
+    }
+
+    /**
+     * Serve the cached bytes for a post, loading and caching them on a miss.
+     * Gzip-encoded entries are sent as-is when the client accepts gzip and decoded otherwise.
+     */
+    ResponseEntity<Resource> serve(String id, String acceptEncoding, Supplier<PostResponse> loader) {
+        long epoch = generationStamps.epoch();
+        byte[] entry = cache.get(id, byte[].class);
+        if (!isCurrent(entry, epoch)) {
+            entry = stamped(encode(loader.get()), epoch);
+            cache.put(id, entry);
+        }
+        Resource body = new EntryBody(entry);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON);
+        if (!properties.isGzip()) {
+            return builder.body(body);
+        }
+        builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (AcceptEncoding.acceptsGzip(acceptEncoding)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body);
+        }
+        return builder.body(gunzip(entry));
+    }
+
+    byte[] encode(PostResponse response) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(response);
+            return properties.isGzip() ? gzip(json) : json;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] stamped(byte[] body, long epoch) {
+        return ByteBuffer.allocate(Long.BYTES + body.length).putLong(epoch).put(body).array();
+    }
+
+    private static boolean isCurrent(byte[] entry, long epoch) {
+        return entry != null && entry.length >= Long.BYTES && ByteBuffer.wrap(entry).getLong() >= epoch;
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static Resource gunzip(byte[] entry) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new EntryBody(entry).getInputStream())) {
+            return new ByteArrayResource(gzip.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The body part of a cached entry, read in place; the converter's stream copy writes it straight
+     * from the entry array.
+     */
+    private static final class EntryBody extends AbstractResource {
+        private final byte[] entry;
+
+        private EntryBody(byte[] entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(entry, Long.BYTES, entry.length - Long.BYTES);
+        }
+
+        @Override
+        public long contentLength() {
+            return entry.length - Long.BYTES;
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public String getDescription() {
+            return "cached post response";
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.bluething.playground.java.bloggingplatformapi.rest;
+
+import io.github.bluething.playground.java.bloggingplatformapi.exception.ResourceNotFoundException;
+import io.github.bluething.playground.java.bloggingplatformapi.reactive.ReactivePostService;
+import io.github.bluething.playground.java.bloggingplatformapi.trending.TrendingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variants of the post reads. The servlet thread is released while Redis and R2DBC work,
+ * and list results are written as NDJSON one post at a time, requested as the client consumes them.
+ */
+@RestController
+@RequestMapping("/api/v1/reactive/posts")
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+@RequiredArgsConstructor
+class ReactivePostController {
+    private final ReactivePostService reactivePostService;
+    private final TrendingService trendingService;
+
+    @GetMapping("/{id}")
+    Mono<PostResponse> getPostById(@PathVariable("id") String id) {
+        return reactivePostService.getPostById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Post", id)))
+                .doOnNext(post -> trendingService.recordView(id))
+                .map(PostMapper::toResponse);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    Flux<PostResponse> streamPosts(@RequestParam(value = "term", required = false) String term) {
+        return reactivePostService.streamPosts(term)
+                .map(PostMapper::toResponse);
+    }
+}
@@ -0,0 +1,9 @@
+package io.github.bluething.playground.java.bloggingplatformapi.rest;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+record RenameRequest(
+        @NotBlank(message = "Name must not be blank") @Size(max = 100, message = "Name must be at most 100 characters") String name
+) {
+}
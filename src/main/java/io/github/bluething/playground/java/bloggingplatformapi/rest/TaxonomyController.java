@@ -0,0 +1,36 @@
+package io.github.bluething.playground.java.bloggingplatformapi.rest;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.TaxonomyService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Category and tag renames. Cached posts that embed the old name are not evicted; they turn stale through
+ * the renamed entity's generation and are reloaded on their next read.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+class TaxonomyController {
+    private final TaxonomyService taxonomyService;
+
+    @PutMapping("/categories/{id}")
+    ResponseEntity<CategoryResponse> renameCategory(@PathVariable("id") String id,
+                                                    @Valid @RequestBody RenameRequest request) {
+        var category = taxonomyService.renameCategory(id, request.name().trim());
+        return ResponseEntity.ok(new CategoryResponse(category.id(), category.name()));
+    }
+
+    @PutMapping("/tags/{id}")
+    ResponseEntity<TagResponse> renameTag(@PathVariable("id") String id,
+                                          @Valid @RequestBody RenameRequest request) {
+        var tag = taxonomyService.renameTag(id, request.name().trim());
+        return ResponseEntity.ok(new TagResponse(tag.id(), tag.name()));
+    }
+}
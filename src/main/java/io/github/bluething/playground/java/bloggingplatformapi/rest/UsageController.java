@@ -0,0 +1,33 @@
+package io.github.bluething.playground.java.bloggingplatformapi.rest;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.UsageCount;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.UsageCounters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/usage")
+@RequiredArgsConstructor
+class UsageController {
+    private final UsageCounters usageCounters;
+
+    /**
+     * Tag cloud data: post counts per tag and per category, most used first, served from memory.
+     */
+    @GetMapping
+    ResponseEntity<UsageResponse> getUsage() {
+        var snapshot = usageCounters.snapshot();
+        return ResponseEntity.ok(new UsageResponse(toResponse(snapshot.tags()), toResponse(snapshot.categories())));
+    }
+
+    private static List<UsageResponse.Count> toResponse(List<UsageCount> counts) {
+        return counts.stream()
+                .map(count -> new UsageResponse.Count(count.id(), count.name(), count.postCount()))
+                .toList();
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.bluething.playground.java.bloggingplatformapi.rest;
+
+import java.util.List;
+
+record UsageResponse(List<Count> tags,
+                     List<Count> categories) {
+
+    record Count(String id,
+                 String name,
+                 long postCount) {
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.bluething.playground.java.bloggingplatformapi.suggest;
+
+import io.github.bluething.playground.java.bloggingplatformapi.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Editor autocomplete: tags, categories and post titles starting with the prefix, most used first.
+ * Served from memory, so it is safe to call on every keystroke.
+ */
+@RestController
+@RequiredArgsConstructor
+class SuggestController {
+    private final SuggestService suggestService;
+
+    @GetMapping("/api/v1/suggest")
+    ResponseEntity<List<Suggestion>> suggest(@RequestParam("prefix") String prefix,
+                                             @RequestParam(value = "limit", required = false) Integer limit) {
+        if (prefix.isBlank()) {
+            throw new BadRequestException("prefix must not be blank");
+        }
+        return ResponseEntity.ok(suggestService.suggest(prefix, limit));
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.bluething.playground.java.bloggingplatformapi.suggest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Prefix index over tag names, category names and post titles. Terms are kept in skip lists ordered by their
+ * normalized text, so a prefix is a range scan; reads are lock-free while writes are serialized by the caller.
+ * Tag and category weights are their post counts, kept up to date from the per-post terms the index remembers.
+ * Names and titles live in separate lists: the few names matching a prefix are always ranked in full, so a popular
+ * tag is found however many titles share its prefix, while the title scan is capped.
+ */
+class SuggestIndex {
+    private static final Comparator<Suggestion> RANK = Comparator.comparingInt(Suggestion::weight).reversed()
+            .thenComparing(Suggestion::type)
+            .thenComparing(Suggestion::text);
+
+    private final ConcurrentSkipListMap<String, Term> names = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Term> titles = new ConcurrentSkipListMap<>();
+    private final Map<String, Term> tags = new HashMap<>();
+    private final Map<String, Term> categories = new HashMap<>();
+    private final Map<String, PostTerms> posts = new HashMap<>();
+
+    private static final class Term {
+        final Suggestion.Type type;
+        final String id;
+        final String text;
+        final String key;
+        volatile int weight;
+
+        Term(Suggestion.Type type, String id, String text, int weight) {
+            this.type = type;
+            this.id = id;
+            this.text = text;
+            // the id keeps equal texts (two posts with the same title) apart
+            this.key = normalize(text) + '\u0000' + id;
+            this.weight = weight;
+        }
+    }
+
+    private record PostTerms(Term title, String categoryId, Set<String> tagIds) {
+    }
+
+    static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The best matches for the prefix: every tag and category, and at most {@code maxTitles} post titles.
+     */
+    List<Suggestion> suggest(String prefix, int limit, int maxTitles) {
+        String from = normalize(prefix);
+        PriorityQueue<Suggestion> top = new PriorityQueue<>(limit + 1, RANK.reversed());
+        rank(names, from, Integer.MAX_VALUE, top, limit);
+        rank(titles, from, maxTitles, top, limit);
+        List<Suggestion> result = new ArrayList<>(top);
+        result.sort(RANK);
+        return result;
+    }
+
+    private static void rank(ConcurrentSkipListMap<String, Term> terms, String from, int maxScan,
+                             PriorityQueue<Suggestion> top, int limit) {
+        int scanned = 0;
+        for (Term term : terms.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+            if (scanned++ == maxScan) {
+                return;
+            }
+            top.offer(new Suggestion(term.type, term.id, term.text, term.weight));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+    }
+
+    void putTag(String id, String name) {
+        put(tags, Suggestion.Type.TAG, id, name);
+    }
+
+    void putCategory(String id, String name) {
+        put(categories, Suggestion.Type.CATEGORY, id, name);
+    }
+
+    /**
+     * Index a new or edited post. Its category and tags must already be in the index.
+     */
+    void putPost(String id, String title, String categoryId, Set<String> tagIds) {
+        removePost(id);
+        Term term = new Term(Suggestion.Type.TITLE, id, title, 0);
+        titles.put(term.key, term);
+        posts.put(id, new PostTerms(term, categoryId, tagIds));
+        adjust(categories.get(categoryId), 1);
+        tagIds.forEach(tagId -> adjust(tags.get(tagId), 1));
+    }
+
+    void removePost(String id) {
+        PostTerms old = posts.remove(id);
+        if (old == null) {
+            return;
+        }
+        titles.remove(old.title().key);
+        adjust(categories.get(old.categoryId()), -1);
+        old.tagIds().forEach(tagId -> adjust(tags.get(tagId), -1));
+    }
+
+    int size() {
+        return names.size() + titles.size();
+    }
+
+    private void put(Map<String, Term> byId, Suggestion.Type type, String id, String text) {
+        Term old = byId.get(id);
+        if (old != null && old.text.equals(text)) {
+            return;
+        }
+        Term term = new Term(type, id, text, old == null ? 0 : old.weight);
+        if (old != null) {
+            names.remove(old.key);
+        }
+        byId.put(id, term);
+        names.put(term.key, term);
+    }
+
+    private static void adjust(Term term, int delta) {
+        if (term != null) {
+            term.weight += delta;
+        }
+    }
+}
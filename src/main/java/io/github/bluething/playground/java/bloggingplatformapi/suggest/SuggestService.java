@@ -0,0 +1,151 @@
+package io.github.bluething.playground.java.bloggingplatformapi.suggest;
+
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.SuggestProperties;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostChangedEvent;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.TagData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.TaxonomyRenamedEvent;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.CategoryRepository;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostRepository;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostTagRow;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostTitleRow;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.TagRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Owns the suggest index: built from the database once the application is ready (and periodically), then kept
+ * current from committed post changes and renames. A rebuild fills a fresh index while the old one keeps serving; changes
+ * committed meanwhile are replayed onto the new index before it is swapped in.
+ * <p>
+ * Single node only, like the read model: events are in-process, so another node's writes and renames reach this
+ * index only through the periodic rebuild, i.e. suggestions can lag for up to app.suggest.rebuild-interval when
+ * several nodes serve traffic.
+ */
+@Service
+@Slf4j
+class SuggestService {
+    private final PostRepository postRepository;
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SuggestProperties properties;
+
+    private volatile SuggestIndex index = new SuggestIndex();
+    // changes committed while a rebuild runs, guarded by this
+    private List<Consumer<SuggestIndex>> replay;
+
+    SuggestService(PostRepository postRepository,
+                   CategoryRepository categoryRepository,
+                   TagRepository tagRepository,
+                   PlatformTransactionManager transactionManager,
+                   SuggestProperties properties) {
+        this.postRepository = postRepository;
+        this.categoryRepository = categoryRepository;
+        this.tagRepository = tagRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+    }
+
+    List<Suggestion> suggest(String prefix, Integer limit) {
+        int size = limit == null ? properties.getDefaultLimit() : Math.max(1, Math.min(limit, properties.getMaxLimit()));
+        return index.suggest(prefix, size, properties.getMaxScan());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void onReady() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${app.suggest.rebuild-interval:PT6H}", fixedDelayString = "${app.suggest.rebuild-interval:PT6H}")
+    void rebuild() {
+        synchronized (this) {
+            replay = new ArrayList<>();
+        }
+        long start = System.nanoTime();
+        SuggestIndex fresh;
+        try {
+            fresh = readOnlyTransaction.execute(status -> load());
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                replay = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            replay.forEach(change -> change.accept(fresh));
+            replay = null;
+            index = fresh;
+        }
+        log.info("Built suggest index with {} terms in {} ms", fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    void onPostChanged(PostChangedEvent event) {
+        update(target -> apply(target, event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    void onRenamed(TaxonomyRenamedEvent event) {
+        update(target -> {
+            if (event.kind() == TaxonomyRenamedEvent.Kind.CATEGORY) {
+                target.putCategory(event.id(), event.name());
+            } else {
+                target.putTag(event.id(), event.name());
+            }
+        });
+    }
+
+    private synchronized void update(Consumer<SuggestIndex> change) {
+        change.accept(index);
+        if (replay != null) {
+            replay.add(change);
+        }
+    }
+
+    private static void apply(SuggestIndex target, PostChangedEvent event) {
+        PostData post = event.post();
+        if (post == null) {
+            target.removePost(event.postId());
+            return;
+        }
+        target.putCategory(post.category().id(), post.category().name());
+        post.tags().forEach(tag -> target.putTag(tag.id(), tag.name()));
+        target.putPost(post.id(), post.title(), post.category().id(),
+                post.tags().stream().map(TagData::id).collect(Collectors.toSet()));
+    }
+
+    private SuggestIndex load() {
+        SuggestIndex fresh = new SuggestIndex();
+        categoryRepository.findAll().forEach(category -> fresh.putCategory(category.getId(), category.getName()));
+        tagRepository.findAll().forEach(tag -> fresh.putTag(tag.getId(), tag.getName()));
+
+        Map<String, Set<String>> tagIds = new HashMap<>();
+        try (Stream<PostTagRow> rows = postRepository.streamTagIds()) {
+            rows.forEach(row -> tagIds.computeIfAbsent(row.postId(), id -> new HashSet<>(4)).add(row.tagId()));
+        }
+        try (Stream<PostTitleRow> rows = postRepository.streamTitles()) {
+            rows.forEach(row -> fresh.putPost(row.id(), row.title(), row.categoryId(),
+                    tagIds.getOrDefault(row.id(), Set.of())));
+        }
+        return fresh;
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.bluething.playground.java.bloggingplatformapi.suggest;
+
+/**
+ * An autocomplete candidate. For tags and categories the weight is the number of posts using them.
+ */
+record Suggestion(Type type,
+                  String id,
+                  String text,
+                  int weight) {
+
+    enum Type {
+        TAG, CATEGORY, TITLE
+    }
+}
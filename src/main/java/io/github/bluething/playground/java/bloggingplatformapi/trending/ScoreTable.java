@@ -0,0 +1,91 @@
+package io.github.bluething.playground.java.bloggingplatformapi.trending;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from a 128-bit post ID (a ULID as two longs) to a double score, stored in
+ * parallel primitive arrays: no boxing and no entry objects per post. A zero score marks a free slot.
+ * Not thread-safe.
+ */
+class ScoreTable {
+    private final int maxEntries;
+    private long[] high;
+    private long[] low;
+    private double[] scores;
+    private int size;
+
+    ScoreTable(int maxEntries) {
+        this.maxEntries = maxEntries;
+        allocate(maxEntries);
+    }
+
+    /**
+     * Add to an entry's score, creating it when absent. When the table is full, the lower half of the
+     * scores is dropped first.
+     * @return the entry's new score
+     */
+    double add(long hi, long lo, double amount) {
+        int slot = find(hi, lo);
+        if (scores[slot] == 0) {
+            if (size == maxEntries) {
+                evictLowerHalf();
+                slot = find(hi, lo);
+            }
+            high[slot] = hi;
+            low[slot] = lo;
+            size++;
+        }
+        scores[slot] += amount;
+        return scores[slot];
+    }
+
+    double get(long hi, long lo) {
+        return scores[find(hi, lo)];
+    }
+
+    void scale(double factor) {
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] *= factor;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int find(long hi, long lo) {
+        int mask = scores.length - 1;
+        int slot = Long.hashCode(hi * 0x9E3779B97F4A7C15L ^ lo) & mask;
+        while (scores[slot] != 0 && (high[slot] != hi || low[slot] != lo)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void evictLowerHalf() {
+        double[] live = Arrays.stream(scores).filter(score -> score != 0).sorted().toArray();
+        double threshold = live[live.length / 2];
+        long[] oldHigh = high;
+        long[] oldLow = low;
+        double[] oldScores = scores;
+        allocate(maxEntries);
+        for (int i = 0; i < oldScores.length; i++) {
+            if (oldScores[i] > threshold) {
+                int slot = find(oldHigh[i], oldLow[i]);
+                high[slot] = oldHigh[i];
+                low[slot] = oldLow[i];
+                scores[slot] = oldScores[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int entries) {
+        // load factor of at most 0.5 keeps linear probe sequences short
+        int capacity = Integer.highestOneBit(Math.max(entries, 8) * 2 - 1) << 1;
+        high = new long[capacity];
+        low = new long[capacity];
+        scores = new double[capacity];
+        size = 0;
+    }
+}
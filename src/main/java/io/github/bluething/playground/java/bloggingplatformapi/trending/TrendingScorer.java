@@ -0,0 +1,114 @@
+package io.github.bluething.playground.java.bloggingplatformapi.trending;
+
+import com.github.f4b6a3.ulid.Ulid;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exponentially decayed view scores with forward decay: a view at time t adds e^(λ(t - landmark)) instead of
+ * every score being decayed over time, so an update touches one entry and scores stay comparable. Dividing by
+ * e^(λ(now - landmark)) gives the decayed score. The landmark is aligned to the epoch in fixed steps, so all
+ * nodes share it and their scores can be summed; advancing it rescales every score by the same factor.
+ * <p>
+ * The top entries are maintained on every view. Scores only grow between rescales, so an entry can only move
+ * up, and one that is not in the top enters it by displacing the lowest.
+ */
+class TrendingScorer {
+    // Keeps e^(λ(t - landmark)) far from overflow for any half-life of minutes or more
+    static final Duration LANDMARK_STEP = Duration.ofHours(1);
+
+    record Scored(String postId, double score) {
+    }
+
+    private final double lambda;
+    private final ScoreTable table;
+    private final long[] topHigh;
+    private final long[] topLow;
+    private final double[] topScores;
+    private int topCount;
+    private long landmark;
+
+    TrendingScorer(Duration halfLife, int maxEntries, int topSize, Instant now) {
+        this.lambda = Math.log(2) / halfLife.toSeconds();
+        this.table = new ScoreTable(maxEntries);
+        this.topHigh = new long[topSize];
+        this.topLow = new long[topSize];
+        this.topScores = new double[topSize];
+        this.landmark = landmarkOf(now);
+    }
+
+    static long landmarkOf(Instant now) {
+        long step = LANDMARK_STEP.toSeconds();
+        return Math.floorDiv(now.getEpochSecond(), step) * step;
+    }
+
+    synchronized void record(String postId, Instant at) {
+        if (!Ulid.isValid(postId)) {
+            return;
+        }
+        advance(at);
+        Ulid ulid = Ulid.from(postId);
+        long hi = ulid.getMostSignificantBits();
+        long lo = ulid.getLeastSignificantBits();
+        double score = table.add(hi, lo, Math.exp(lambda * (at.getEpochSecond() - landmark)));
+        updateTop(hi, lo, score);
+    }
+
+    /**
+     * The current top entries, highest first, with scores relative to {@link #landmark()}.
+     */
+    synchronized List<Scored> top(Instant now) {
+        advance(now);
+        List<Scored> result = new ArrayList<>(topCount);
+        for (int i = 0; i < topCount; i++) {
+            result.add(new Scored(new Ulid(topHigh[i], topLow[i]).toString(), topScores[i]));
+        }
+        result.sort((a, b) -> Double.compare(b.score(), a.score()));
+        return result;
+    }
+
+    synchronized long landmark() {
+        return landmark;
+    }
+
+    synchronized int size() {
+        return table.size();
+    }
+
+    private void advance(Instant now) {
+        long next = landmarkOf(now);
+        if (next <= landmark) {
+            return;
+        }
+        double factor = Math.exp(-lambda * (next - landmark));
+        table.scale(factor);
+        for (int i = 0; i < topCount; i++) {
+            topScores[i] *= factor;
+        }
+        landmark = next;
+    }
+
+    private void updateTop(long hi, long lo, double score) {
+        int lowest = -1;
+        for (int i = 0; i < topCount; i++) {
+            if (topHigh[i] == hi && topLow[i] == lo) {
+                topScores[i] = score;
+                return;
+            }
+            if (lowest < 0 || topScores[i] < topScores[lowest]) {
+                lowest = i;
+            }
+        }
+        if (topCount < topScores.length) {
+            lowest = topCount++;
+        } else if (score <= topScores[lowest]) {
+            return;
+        }
+        topHigh[lowest] = hi;
+        topLow[lowest] = lo;
+        topScores[lowest] = score;
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.bluething.playground.java.bloggingplatformapi.trending;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.TrendingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Trending posts across the cluster. Each node scores the views it serves locally ({@link TrendingScorer}) and
+ * periodically publishes its top to a per-node Redis sorted set; the sets of all live nodes are summed with
+ * ZUNIONSTORE into the ranking every node serves from memory until the next sync. While Redis is unreachable the
+ * local top is served instead.
+ */
+@Service
+@Slf4j
+public class TrendingService {
+    private static final String KEY_PREFIX = "trending:";
+
+    private final TrendingScorer scorer;
+    private final StringRedisTemplate redisTemplate;
+    private final TrendingProperties properties;
+    private final String nodeId = UlidCreator.getUlid().toString();
+
+    private volatile List<String> ranking = List.of();
+
+    TrendingService(StringRedisTemplate redisTemplate, TrendingProperties properties) {
+        this.scorer = new TrendingScorer(properties.getHalfLife(), properties.getMaxEntries(),
+                properties.getTopSize(), Instant.now());
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+    }
+
+    public void recordView(String postId) {
+        scorer.record(postId, Instant.now());
+    }
+
+    /**
+     * Post IDs by trending score, highest first. Deleted posts may still be listed until their score decays.
+     */
+    public List<String> trending(int limit) {
+        int size = Math.max(1, Math.min(limit, properties.getMaxLimit()));
+        List<String> current = ranking;
+        return current.subList(0, Math.min(size, current.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.sync-interval:PT10S}")
+    void sync() {
+        List<TrendingScorer.Scored> local = scorer.top(Instant.now());
+        try {
+            ranking = merge(scorer.landmark(), local);
+        } catch (RuntimeException e) {
+            log.warn("Trending sync with Redis failed, serving the local ranking", e);
+            ranking = local.stream().map(TrendingScorer.Scored::postId).toList();
+        }
+    }
+
+    private List<String> merge(long landmark, List<TrendingScorer.Scored> local) {
+        // keys are per landmark, so nodes only ever sum scores relative to the same landmark
+        String prefix = KEY_PREFIX + landmark + ":";
+        String nodesKey = prefix + "nodes";
+        String nodeKey = prefix + "node:" + nodeId;
+        String mergedKey = prefix + "merged";
+        Duration ttl = TrendingScorer.LANDMARK_STEP.multipliedBy(2);
+
+        if (!local.isEmpty()) {
+            Set<ZSetOperations.TypedTuple<String>> tuples = local.stream()
+                    .map(scored -> (ZSetOperations.TypedTuple<String>) new DefaultTypedTuple<>(scored.postId(), scored.score()))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            // replace the node's previous top in one step so readers never see it half-written
+            String staging = nodeKey + ":staging";
+            redisTemplate.opsForZSet().add(staging, tuples);
+            redisTemplate.rename(staging, nodeKey);
+            redisTemplate.expire(nodeKey, ttl);
+            redisTemplate.opsForSet().add(nodesKey, nodeId);
+            redisTemplate.expire(nodesKey, ttl);
+        }
+
+        Set<String> nodes = redisTemplate.opsForSet().members(nodesKey);
+        if (nodes == null || nodes.isEmpty()) {
+            return List.of();
+        }
+        List<String> nodeKeys = nodes.stream().map(node -> prefix + "node:" + node).toList();
+        redisTemplate.opsForZSet().unionAndStore(nodeKeys.get(0), nodeKeys.subList(1, nodeKeys.size()), mergedKey);
+        redisTemplate.expire(mergedKey, ttl);
+        Set<String> top = redisTemplate.opsForZSet().reverseRange(mergedKey, 0, properties.getTopSize() - 1);
+        return top == null ? List.of() : new ArrayList<>(top);
+    }
+}
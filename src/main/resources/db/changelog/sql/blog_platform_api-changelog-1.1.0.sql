@@ -0,0 +1,8 @@
+-- changeset habib.machpud:create-index-posts-updated_at
+CREATE INDEX idx_posts_updated_at ON posts (updated_at, id);
+-- changeset habib.machpud:create-table-post_tombstones
+CREATE TABLE post_tombstones (
+  post_id CHAR(26) PRIMARY KEY,
+  deleted_at TIMESTAMP NOT NULL
+);
+CREATE INDEX idx_post_tombstones_deleted_at ON post_tombstones (deleted_at, post_id);
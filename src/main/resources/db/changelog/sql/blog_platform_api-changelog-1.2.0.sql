@@ -0,0 +1,8 @@
+-- changeset habib.machpud:create-table-post_outbox
+CREATE TABLE post_outbox (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  post_id CHAR(26) NOT NULL,
+  event_type VARCHAR(20) NOT NULL,
+  payload TEXT,
+  created_at TIMESTAMP(3) NOT NULL
+);
@@ -0,0 +1,6 @@
+-- changeset habib.machpud:create-table-post_import_checkpoints
+CREATE TABLE post_import_checkpoints (
+  source VARCHAR(255) PRIMARY KEY,
+  records BIGINT NOT NULL,
+  updated_at TIMESTAMP(3) NOT NULL
+);
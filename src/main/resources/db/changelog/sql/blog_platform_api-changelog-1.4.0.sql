@@ -0,0 +1,21 @@
+-- changeset habib.machpud:create-table-tag_usage
+CREATE TABLE tag_usage (
+  tag_id CHAR(26) PRIMARY KEY,
+  post_count BIGINT NOT NULL,
+  CONSTRAINT fk_tagusage_tag FOREIGN KEY (tag_id)
+    REFERENCES tags(id)
+    ON DELETE CASCADE
+);
+INSERT INTO tag_usage (tag_id, post_count)
+  SELECT t.id, (SELECT COUNT(*) FROM post_tags pt WHERE pt.tag_id = t.id) FROM tags t;
+
+-- changeset habib.machpud:create-table-category_usage
+CREATE TABLE category_usage (
+  category_id CHAR(26) PRIMARY KEY,
+  post_count BIGINT NOT NULL,
+  CONSTRAINT fk_categoryusage_category FOREIGN KEY (category_id)
+    REFERENCES categories(id)
+    ON DELETE CASCADE
+);
+INSERT INTO category_usage (category_id, post_count)
+  SELECT c.id, (SELECT COUNT(*) FROM posts p WHERE p.category_id = c.id) FROM categories c;
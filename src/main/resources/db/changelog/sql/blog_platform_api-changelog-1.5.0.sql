@@ -0,0 +1,5 @@
+-- changeset habib.machpud:add-column-categories-generation
+ALTER TABLE categories ADD COLUMN generation BIGINT NOT NULL DEFAULT 0;
+
+-- changeset habib.machpud:add-column-tags-generation
+ALTER TABLE tags ADD COLUMN generation BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,12 @@
+-- changeset habib.machpud:create-table-job_leases
+CREATE TABLE job_leases (
+  name VARCHAR(64) PRIMARY KEY,
+  owner CHAR(26) NULL,
+  locked_until TIMESTAMP NULL
+);
+
+-- changeset habib.machpud:insert-job_leases-outbox-relay
+INSERT INTO job_leases (name) VALUES ('outbox-relay');
+
+-- changeset habib.machpud:insert-job_leases-usage-reconcile
+INSERT INTO job_leases (name) VALUES ('usage-reconcile');
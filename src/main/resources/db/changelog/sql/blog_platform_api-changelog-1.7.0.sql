@@ -0,0 +1,8 @@
+-- changeset habib.machpud:create-table-feed_state
+CREATE TABLE feed_state (
+  name VARCHAR(64) PRIMARY KEY,
+  modified_at TIMESTAMP NULL
+);
+
+-- changeset habib.machpud:insert-feed_state-feeds
+INSERT INTO feed_state (name) VALUES ('feeds');
@@ -0,0 +1,5 @@
+-- changeset habib.machpud:add-column-post_import_checkpoints-file_size
+ALTER TABLE post_import_checkpoints ADD COLUMN file_size BIGINT NULL;
+
+-- changeset habib.machpud:add-column-post_import_checkpoints-file_modified_at
+ALTER TABLE post_import_checkpoints ADD COLUMN file_modified_at TIMESTAMP(3) NULL;
@@ -0,0 +1,51 @@
+package io.github.bluething.playground.java.bloggingplatformapi;
+
+import io.github.bluething.playground.java.bloggingplatformapi.idempotency.IdempotencyStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Boots the full application with its default settings on H2 instead of MySQL, so wiring mistakes
+ * (ambiguous constructors, missing beans) fail the build. Redis is not running; the cache guard
+ * serves every call from the database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:context;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ApplicationContextH2Test {
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("the application starts with its default configuration")
+    void contextLoads() {
+        // app.idempotency.store defaults to memory
+        assertThat(idempotencyStore.getClass().getSimpleName()).isEqualTo("InMemoryIdempotencyStore");
+    }
+
+    @Test
+    @DisplayName("the posts endpoint answers on the booted application")
+    void servesPosts() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/posts")).andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.bluething.playground.java.bloggingplatformapi;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Startup-time and first-request-latency benchmark for the extracted application jar, run by the
+ * -Pcds profile after the CDS training run. Compares a plain launch with the CDS archive + AOT launch.
+ * <p>
+ * Usage: {@code StartupBenchmark <jar> <archive> [runs]}
+ */
+public class StartupBenchmark {
+    private static final Pattern STARTED = Pattern.compile(
+            "Started \\w+ in ([\\d.]+) seconds \\(process running for ([\\d.]+)\\)");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    record Sample(double startedSeconds, double processSeconds, long firstRequestMillis) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(args[0]);
+        Path archive = Path.of(args[1]);
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        report("default", measure(jar, List.of(), runs));
+        if (Files.exists(archive)) {
+            report("cds+aot", measure(jar, List.of(
+                    "-XX:SharedArchiveFile=" + archive,
+                    "-Dspring.aot.enabled=true"), runs));
+        } else {
+            System.out.println("No CDS archive at " + archive + ", skipping cds+aot run");
+        }
+    }
+
+    private static List<Sample> measure(Path jar, List<String> jvmArgs, int runs) throws Exception {
+        List<Sample> samples = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            samples.add(launch(jar, jvmArgs));
+        }
+        return samples;
+    }
+
+    private static Sample launch(Path jar, List<String> jvmArgs) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-jar", jar.toString(),
+                "--spring.profiles.active=training",
+                "--server.port=" + port));
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try {
+            Matcher started = awaitStarted(process);
+            HttpClient client = HttpClient.newHttpClient();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/v3/api-docs")).build();
+            long begin = System.nanoTime();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            long firstRequestMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("First request returned " + response.statusCode());
+            }
+            return new Sample(Double.parseDouble(started.group(1)), Double.parseDouble(started.group(2)), firstRequestMillis);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static Matcher awaitStarted(Process process) throws IOException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+        String line;
+        while (System.nanoTime() < deadline && (line = reader.readLine()) != null) {
+            Matcher matcher = STARTED.matcher(line);
+            if (matcher.find()) {
+                // keep draining output so the child never blocks on a full pipe
+                Thread.ofVirtual().start(() -> reader.lines().forEach(l -> { }));
+                return matcher;
+            }
+        }
+        throw new IllegalStateException("Application did not report startup within " + STARTUP_TIMEOUT);
+    }
+
+    private static void report(String variant, List<Sample> samples) {
+        double started = median(samples.stream().mapToDouble(Sample::startedSeconds).toArray());
+        double process = median(samples.stream().mapToDouble(Sample::processSeconds).toArray());
+        double firstRequest = median(samples.stream().mapToDouble(Sample::firstRequestMillis).toArray());
+        System.out.printf("%-8s runs=%d context=%.3fs process=%.3fs first-request=%.0fms%n",
+                variant, samples.size(), started, process, firstRequest);
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package io.github.bluething.playground.java.bloggingplatformapi.bulkhead;
+
+import io.github.bluething.playground.java.bloggingplatformapi.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private Bulkheads bulkheads;
+
+    @AfterEach
+    void teardown() {
+        release.countDown();
+        bulkheads.close();
+    }
+
+    private Bulkheads lanes(Duration searchTimeout) {
+        Map<ReadLane, Bulkhead> lanes = new EnumMap<>(ReadLane.class);
+        lanes.put(ReadLane.POINT_READ, new Bulkhead(ReadLane.POINT_READ, 2, 10, Duration.ofSeconds(5), Duration.ofSeconds(1), meterRegistry));
+        lanes.put(ReadLane.SEARCH, new Bulkhead(ReadLane.SEARCH, 1, 1, searchTimeout, Duration.ofSeconds(3), meterRegistry));
+        bulkheads = new Bulkheads(lanes);
+        return bulkheads;
+    }
+
+    private String blockingSearch() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "search";
+    }
+
+    @Test
+    @DisplayName("a saturated search lane rejects more searches while point reads still complete")
+    void testIsolation() throws Exception {
+        lanes(Duration.ofSeconds(5));
+        CompletableFuture<String> running = bulkheads.submit(ReadLane.SEARCH, this::blockingSearch);
+        CompletableFuture<String> queued = bulkheads.submit(ReadLane.SEARCH, this::blockingSearch);
+        CompletableFuture<String> rejected = bulkheads.submit(ReadLane.SEARCH, this::blockingSearch);
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThat(cause(rejected)).isInstanceOf(ServiceUnavailableException.class)
+                .extracting(e -> ((ServiceUnavailableException) e).getRetryAfter()).isEqualTo(Duration.ofSeconds(3));
+        assertThat(bulkheads.submit(ReadLane.POINT_READ, () -> "post").get(1, TimeUnit.SECONDS)).isEqualTo("post");
+
+        release.countDown();
+        assertThat(running.get(1, TimeUnit.SECONDS)).isEqualTo("search");
+        assertThat(queued.get(1, TimeUnit.SECONDS)).isEqualTo("search");
+        assertThat(meterRegistry.get("bulkhead.rejected").tags("lane", "search", "reason", "queue-full").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a request past its timeout fails with 503 and its queued work is dropped")
+    void testTimeout() throws Exception {
+        lanes(Duration.ofMillis(300));
+        AtomicBoolean queuedRan = new AtomicBoolean();
+        CompletableFuture<String> running = bulkheads.submit(ReadLane.SEARCH, this::blockingSearch);
+        CompletableFuture<String> queued = bulkheads.submit(ReadLane.SEARCH, () -> {
+            queuedRan.set(true);
+            return "late";
+        });
+
+        assertThat(cause(running)).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(cause(queued)).isInstanceOf(ServiceUnavailableException.class);
+        // the timed-out task gave up its queue slot while the lane's only thread is still blocked
+        CompletableFuture<String> next = bulkheads.submit(ReadLane.SEARCH, () -> "next");
+        assertThat(next).isNotCompletedExceptionally();
+        release.countDown();
+        assertThat(next.get(1, TimeUnit.SECONDS)).isEqualTo("next");
+        assertThat(queuedRan).isFalse();
+        assertThat(meterRegistry.get("bulkhead.rejected").tags("lane", "search", "reason", "timeout").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("without lanes, work runs on the calling thread")
+    void testDisabled() {
+        bulkheads = new Bulkheads(Map.of());
+        Thread caller = Thread.currentThread();
+
+        assertThat(bulkheads.submit(ReadLane.SEARCH, () -> Thread.currentThread() == caller)).isCompletedWithValue(true);
+        assertThat(bulkheads.submit(ReadLane.LIST, () -> {
+            throw new IllegalStateException("boom");
+        })).isCompletedExceptionally();
+    }
+
+    private static Throwable cause(CompletableFuture<?> future) throws InterruptedException {
+        try {
+            future.get(2, TimeUnit.SECONDS);
+            throw new AssertionError("expected the future to fail");
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (java.util.concurrent.TimeoutException e) {
+            throw new AssertionError("future did not complete", e);
+        }
+    }
+
+    @Test
+    @DisplayName("export permits reject at once when all are held and come back on release or expiry")
+    void testExportPermits() {
+        AtomicLong clock = new AtomicLong();
+        StreamPermits exports = new StreamPermits(ReadLane.EXPORT, 2, Duration.ofMinutes(30), Duration.ofSeconds(1),
+                meterRegistry, clock::get);
+        bulkheads = new Bulkheads(Map.of(), exports);
+
+        Runnable first = bulkheads.acquireExport();
+        bulkheads.acquireExport();
+        assertThatThrownBy(bulkheads::acquireExport).isInstanceOf(ServiceUnavailableException.class);
+
+        first.run();
+        bulkheads.acquireExport();
+        assertThatThrownBy(bulkheads::acquireExport).isInstanceOf(ServiceUnavailableException.class);
+
+        // permits whose stream never returned them expire with the stream timeout
+        clock.addAndGet(Duration.ofMinutes(30).toNanos());
+        bulkheads.acquireExport();
+        assertThat(meterRegistry.counter("bulkhead.rejected", "lane", "export", "reason", "queue-full").count())
+                .isEqualTo(2);
+    }
+}
@@ -0,0 +1,188 @@
+package io.github.bluething.playground.java.bloggingplatformapi.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheGuardTest {
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private CacheGuard guard;
+
+    @BeforeEach
+    void setup() {
+        guard = new CacheGuard(Duration.ofMillis(100), Duration.ofMillis(50), Duration.ofSeconds(10),
+                50, 10, 4, Duration.ofMillis(100), 2, clock::get);
+        calls.set(0);
+    }
+
+    private String failing() {
+        calls.incrementAndGet();
+        throw new IllegalStateException("redis down");
+    }
+
+    private String working() {
+        calls.incrementAndGet();
+        return "value";
+    }
+
+    @Test
+    @DisplayName("failures return the fallback and open the circuit once the threshold is crossed")
+    void testOpensOnFailures() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(guard.call(this::failing, "fallback")).isEqualTo("fallback");
+        }
+        assertThat(guard.state()).isEqualTo(CacheGuard.State.OPEN);
+
+        assertThat(guard.call(this::working, "fallback")).isEqualTo("fallback");
+        assertThat(calls).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("after the open duration a successful probe closes the circuit")
+    void testProbeRecovers() {
+        for (int i = 0; i < 4; i++) {
+            guard.call(this::failing, null);
+        }
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        assertThat(guard.call(this::working, "fallback")).isEqualTo("value");
+        assertThat(guard.state()).isEqualTo(CacheGuard.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("a failed probe keeps the circuit open")
+    void testFailedProbe() {
+        for (int i = 0; i < 4; i++) {
+            guard.call(this::failing, null);
+        }
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        guard.call(this::failing, null);
+        assertThat(guard.state()).isEqualTo(CacheGuard.State.OPEN);
+        assertThat(guard.call(this::working, "fallback")).isEqualTo("fallback");
+    }
+
+    @Test
+    @DisplayName("calls exceeding the budget are abandoned and treated as a miss")
+    void testTimeout() {
+        var realGuard = new CacheGuard(Duration.ofMillis(20), Duration.ofMillis(10), Duration.ofSeconds(10), 50, 10, 4);
+        long start = System.nanoTime();
+
+        String result = realGuard.call(() -> {
+            Thread.sleep(2_000);
+            return "late";
+        }, null);
+
+        assertThat(result).isNull();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("a failing cache behaves as a miss and never throws")
+    void testResilientCacheSwallowsErrors() {
+        Cache broken = new ConcurrentMapCache("posts") {
+            @Override
+            public ValueWrapper get(Object key) {
+                throw new IllegalStateException("redis down");
+            }
+
+            @Override
+            public void put(Object key, Object value) {
+                throw new IllegalStateException("redis down");
+            }
+        };
+        var cache = new ResilientCache(broken, guard);
+
+        assertThat(cache.get("p1")).isNull();
+        cache.put("p1", "value");
+        assertThat(cache.get("p1", () -> "loaded")).isEqualTo("loaded");
+    }
+
+    /**
+     * A cache whose evictions fail while {@code down} is set.
+     */
+    private static Cache flaky(AtomicBoolean down) {
+        return new ConcurrentMapCache("posts") {
+            @Override
+            public void evict(Object key) {
+                if (down.get()) {
+                    throw new IllegalStateException("redis down");
+                }
+                super.evict(key);
+            }
+
+            @Override
+            public void clear() {
+                if (down.get()) {
+                    throw new IllegalStateException("redis down");
+                }
+                super.clear();
+            }
+        };
+    }
+
+    private void awaitReplayed(String cacheName, Object key) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (guard.isPending(cacheName, key) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("an eviction while the circuit is open is queued, read as a miss and replayed once it closes")
+    void testEvictionReplayedAfterRecovery() throws InterruptedException {
+        AtomicBoolean down = new AtomicBoolean(true);
+        Cache redis = flaky(down);
+        redis.put("p1", "stale");
+        var cache = new ResilientCache(redis, guard);
+        for (int i = 0; i < 4; i++) {
+            guard.call(this::failing, null);
+        }
+
+        cache.evict("p1");
+
+        assertThat(guard.isPending("posts", "p1")).isTrue();
+        assertThat(cache.get("p1")).isNull();
+        assertThat(redis.get("p1")).isNotNull();
+
+        down.set(false);
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertThat(guard.call(this::working, null)).isEqualTo("value");
+        awaitReplayed("posts", "p1");
+
+        assertThat(guard.isPending("posts", "p1")).isFalse();
+        assertThat(redis.get("p1")).isNull();
+    }
+
+    @Test
+    @DisplayName("too many queued evictions for one cache turn into a single clear")
+    void testQueuedEvictionsOverflowIntoClear() throws InterruptedException {
+        AtomicBoolean down = new AtomicBoolean(true);
+        Cache redis = flaky(down);
+        redis.put("p9", "stale");
+        var cache = new ResilientCache(redis, guard);
+
+        cache.evict("p1");
+        cache.evict("p2");
+        cache.evict("p3");
+
+        // at most 2 keys are queued, so the whole cache now reads as misses
+        assertThat(guard.isPending("posts", "p9")).isTrue();
+
+        down.set(false);
+        assertThat(guard.call(this::working, null)).isEqualTo("value");
+        awaitReplayed("posts", "p9");
+
+        assertThat(redis.get("p9")).isNull();
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.bluething.playground.java.bloggingplatformapi.cache;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.CategoryData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class RedisPostBatchCacheTest {
+    /**
+     * Reads "post:&lt;id&gt;" as a post and rejects anything else, like a serializer meeting an old format.
+     */
+    private static final RedisSerializer<Object> SERIALIZER = new RedisSerializer<>() {
+        @Override
+        public byte[] serialize(Object value) {
+            return ("post:" + ((PostData) value).id()).getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Object deserialize(byte[] bytes) {
+            String text = new String(bytes, StandardCharsets.UTF_8);
+            if (!text.startsWith("post:")) {
+                throw new SerializationException("Unknown format: " + text);
+            }
+            return new PostData(text.substring(5), "Title", "Content", new CategoryData("cat1", "Tech"),
+                    List.of(), Instant.EPOCH, Instant.EPOCH);
+        }
+    };
+
+    @Test
+    @DisplayName("an unreadable entry is a miss and the rest of the batch is still served")
+    void testCorruptEntryIsMiss() {
+        RedisCacheManager cacheManager = RedisCacheManager.builder(mock(RedisCacheWriter.class))
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(SERIALIZER)))
+                .build();
+        RedisCache cache = (RedisCache) cacheManager.getCache("posts");
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        given(connectionFactory.getConnection()).willReturn(connection);
+        given(connection.stringCommands()).willReturn(stringCommands);
+        given(stringCommands.mGet(any(byte[][].class))).willReturn(Arrays.asList(
+                "post:p1".getBytes(StandardCharsets.UTF_8),
+                "garbage".getBytes(StandardCharsets.UTF_8),
+                null));
+        CacheGuard guard = new CacheGuard(Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(10),
+                50, 10, 4);
+
+        var batchCache = new RedisPostBatchCache(cache, List.of(), connectionFactory, guard);
+
+        assertThat(batchCache.getAll(List.of("p1", "p2", "p3"))).containsOnlyKeys("p1");
+    }
+}
@@ -0,0 +1,149 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.BulkDeleteConfig;
+import io.github.bluething.playground.java.bloggingplatformapi.exception.ResourceNotFoundException;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BlogPostBulkDeleteService.class, BulkDeleteConfig.class, UsageCounters.class})
+@TestPropertySource(properties = {
+        "app.posts.bulk-delete.chunk-size=2",
+        "app.posts.bulk-delete.max-rows-per-second=0",
+        "app.posts.bulk-delete.max-rows-per-request=3"
+})
+@RecordApplicationEvents
+class BlogPostBulkDeleteServiceTest {
+    @Autowired
+    private PostBulkDeleteService bulkDeleteService;
+    @Autowired
+    private UsageCounters usageCounters;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ApplicationEvents events;
+    @MockitoBean
+    private PostBatchCache postBatchCache;
+
+    private CategoryEntity spam;
+    private CategoryEntity tech;
+    private TagEntity junk;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("DELETE FROM post_tags");
+        jdbcTemplate.update("DELETE FROM posts");
+        jdbcTemplate.update("DELETE FROM post_tombstones");
+        jdbcTemplate.update("DELETE FROM tags");
+        jdbcTemplate.update("DELETE FROM categories");
+        spam = categoryRepository.save(new CategoryEntity(UlidCreator.getUlid().toString(), "Spam"));
+        tech = categoryRepository.save(new CategoryEntity(UlidCreator.getUlid().toString(), "Tech"));
+        junk = tagRepository.save(new TagEntity(UlidCreator.getUlid().toString(), "Junk"));
+    }
+
+    private List<String> createPosts(int count, CategoryEntity category, Set<TagEntity> tags) {
+        List<String> ids = new ArrayList<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Instant now = Instant.now();
+            for (int i = 0; i < count; i++) {
+                String id = UlidCreator.getUlid().toString();
+                postRepository.save(new PostEntity(id, "Post " + i, "Content", category, new HashSet<>(tags), now, now));
+                usageCounters.apply(new UsageDelta().added(category.getId(), tags.stream().map(TagEntity::getId).toList()));
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+
+    @Test
+    @DisplayName("deleting a category removes its posts chunk by chunk with tombstones, counters, events and evictions")
+    void testDeleteByCategory() {
+        List<String> spamIds = createPosts(5, spam, Set.of(junk));
+        List<String> kept = createPosts(1, tech, Set.of(junk));
+
+        // capped at 3 per request: chunks of 2 and 1, then 2 and an empty one that finds nothing left
+        assertThat(bulkDeleteService.deleteByCategory(spam.getId())).isEqualTo(new BulkDeleteResult(3, true));
+        assertThat(bulkDeleteService.deleteByCategory(spam.getId())).isEqualTo(new BulkDeleteResult(2, false));
+
+        assertThat(postRepository.findAll()).extracting(PostEntity::getId).containsExactlyElementsOf(kept);
+        assertThat(count("SELECT COUNT(*) FROM post_tags WHERE tag_id = ?", junk.getId())).isEqualTo(1);
+        assertThat(count("SELECT COUNT(*) FROM post_tombstones")).isEqualTo(5);
+        assertThat(count("SELECT post_count FROM category_usage WHERE category_id = ?", spam.getId())).isZero();
+        assertThat(count("SELECT post_count FROM tag_usage WHERE tag_id = ?", junk.getId())).isEqualTo(1);
+        assertThat(events.stream(PostChangedEvent.class)
+                .filter(event -> event.type() == ChangeType.DELETED)
+                .map(PostChangedEvent::postId))
+                .containsExactlyInAnyOrderElementsOf(spamIds);
+        then(postBatchCache).should(times(4)).evictAll(anyCollection());
+    }
+
+    @Test
+    @DisplayName("deleting a tag removes only the posts carrying it")
+    void testDeleteByTag() {
+        createPosts(3, tech, Set.of(junk));
+        List<String> kept = createPosts(2, tech, Set.of());
+
+        // exactly at the cap, so it cannot tell that nothing remains
+        assertThat(bulkDeleteService.deleteByTag(junk.getId())).isEqualTo(new BulkDeleteResult(3, true));
+
+        assertThat(postRepository.findAll()).extracting(PostEntity::getId).containsExactlyInAnyOrderElementsOf(kept);
+        assertThat(count("SELECT post_count FROM category_usage WHERE category_id = ?", tech.getId())).isEqualTo(2);
+        assertThat(count("SELECT post_count FROM tag_usage WHERE tag_id = ?", junk.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("deleting by IDs skips unknown and repeated IDs")
+    void testDeleteByIds() {
+        List<String> ids = createPosts(3, tech, Set.of(junk));
+
+        long deleted = bulkDeleteService.deleteByIds(List.of(ids.get(0), "01HZX00000000000000MISSING", ids.get(0), ids.get(2)));
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(postRepository.findAll()).extracting(PostEntity::getId).containsExactly(ids.get(1));
+        assertThat(count("SELECT COUNT(*) FROM post_tombstones")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("an unknown category is reported rather than deleting nothing")
+    void testUnknownCategory() {
+        assertThatThrownBy(() -> bulkDeleteService.deleteByCategory("missing"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.ChangeFeedConfig;
+import io.github.bluething.playground.java.bloggingplatformapi.exception.BadRequestException;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({BlogPostChangeService.class, ChangeFeedConfig.class})
+@TestPropertySource(properties = "app.changes.settle-window=0s")
+class BlogPostChangeServiceTest {
+    @Autowired
+    private PostChangeService postChangeService;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private PostTombstoneRepository tombstoneRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private CategoryEntity category;
+    private TagEntity tag;
+    private final Instant base = Instant.now().minus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS);
+
+    @BeforeEach
+    void setup() {
+        category = categoryRepository.save(new CategoryEntity(UlidCreator.getUlid().toString(), "Sync"));
+        tag = tagRepository.save(new TagEntity(UlidCreator.getUlid().toString(), "Mobile"));
+    }
+
+    private String savePost(Instant createdAt, Instant updatedAt) {
+        String id = UlidCreator.getUlid().toString();
+        postRepository.save(new PostEntity(id, "Title", "Content", category, Set.of(tag), createdAt, updatedAt));
+        return id;
+    }
+
+    @Test
+    @DisplayName("changes are paged in order with deletions and a resumable cursor")
+    void testPagedChanges() {
+        String updated = savePost(base, base.plusSeconds(3));
+        String created = savePost(base.plusSeconds(1), base.plusSeconds(1));
+        String deleted = UlidCreator.getUlid().toString();
+        tombstoneRepository.save(new PostTombstoneEntity(deleted, base.plusSeconds(2)));
+        entityManager.flush();
+        entityManager.clear();
+
+        PostChangePage first = postChangeService.getChangesSince(null, 2);
+        assertThat(first.changes()).extracting(PostChange::postId).containsExactly(created, deleted);
+        assertThat(first.changes()).extracting(PostChange::type).containsExactly(ChangeType.CREATED, ChangeType.DELETED);
+        assertThat(first.changes().get(1).post()).isNull();
+        assertThat(first.hasMore()).isTrue();
+
+        PostChangePage second = postChangeService.getChangesSince(first.nextCursor(), 2);
+        assertThat(second.changes()).extracting(PostChange::postId).containsExactly(updated);
+        assertThat(second.changes().get(0).type()).isEqualTo(ChangeType.UPDATED);
+        assertThat(second.changes().get(0).post().tags()).extracting(TagData::name).containsExactly("Mobile");
+        assertThat(second.hasMore()).isFalse();
+
+        PostChangePage third = postChangeService.getChangesSince(second.nextCursor(), 2);
+        assertThat(third.changes()).isEmpty();
+        assertThat(third.hasMore()).isFalse();
+    }
+
+    @Test
+    @DisplayName("an empty page advances the cursor so a quiet feed does not outlive the tombstone retention")
+    void testEmptyPageAdvancesCursor() {
+        String old = new ChangeCursor(Instant.now().minus(29, ChronoUnit.DAYS), "").encode();
+
+        PostChangePage page = postChangeService.getChangesSince(old, 10);
+
+        assertThat(page.changes()).isEmpty();
+        assertThat(ChangeCursor.decode(page.nextCursor()).at()).isAfter(base);
+        String expired = new ChangeCursor(Instant.now().minus(31, ChronoUnit.DAYS), "").encode();
+        assertThatThrownBy(() -> postChangeService.getChangesSince(expired, 10))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("invalid cursors are rejected")
+    void testInvalidCursor() {
+        assertThatThrownBy(() -> postChangeService.getChangesSince("not-a-cursor", 10))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.ExportConfig;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({BlogPostExportService.class, ExportConfig.class})
+@TestPropertySource(properties = "app.posts.export.batch-size=2")
+class BlogPostExportServiceTest {
+    @Autowired
+    private PostExportService postExportService;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("exports every post in ID order with category and tags across batches")
+    void testExportAll() {
+        CategoryEntity category = categoryRepository.save(new CategoryEntity(UlidCreator.getUlid().toString(), "Data"));
+        TagEntity tag = tagRepository.save(new TagEntity(UlidCreator.getUlid().toString(), "Analytics"));
+        List<String> ids = new ArrayList<>();
+        Instant now = Instant.now();
+        for (int i = 0; i < 5; i++) {
+            String id = UlidCreator.getMonotonicUlid().toString();
+            postRepository.save(new PostEntity(id, "Title " + i, "Content", category, Set.of(tag), now, now));
+            ids.add(id);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<PostData> exported = new ArrayList<>();
+        postExportService.exportAll(exported::add);
+
+        assertThat(exported).extracting(PostData::id).containsExactlyElementsOf(ids);
+        assertThat(exported).allSatisfy(post -> {
+            assertThat(post.category().name()).isEqualTo("Data");
+            assertThat(post.tags()).extracting(TagData::name).containsExactly("Analytics");
+        });
+    }
+}
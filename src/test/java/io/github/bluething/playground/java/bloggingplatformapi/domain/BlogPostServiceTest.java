@@ -1,6 +1,8 @@
 package io.github.bluething.playground.java.bloggingplatformapi.domain;
 
 import com.github.f4b6a3.ulid.UlidCreator;
+import io.github.bluething.playground.java.bloggingplatformapi.cache.GenerationCheckedCacheManager;
+import io.github.bluething.playground.java.bloggingplatformapi.cache.PostBatchCacheConfig;
 import io.github.bluething.playground.java.bloggingplatformapi.exception.ResourceNotFoundException;
 import io.github.bluething.playground.java.bloggingplatformapi.persistence.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,6 +33,8 @@ import static org.mockito.BDDMockito.*;
 @ExtendWith(SpringExtension.class)
 @SpringBootTest(classes = {
         BlogPostService.class,
+        GenerationStamps.class,
+        PostBatchCacheConfig.class,
         BlogPostServiceTest.TestCacheConfig.class
 })
 class BlogPostServiceTest {
@@ -38,8 +42,8 @@ class BlogPostServiceTest {
     @EnableCaching
     static class TestCacheConfig {
         @Bean
-        public CacheManager cacheManager() {
-            return new ConcurrentMapCacheManager("posts");
+        public CacheManager cacheManager(GenerationStamps generationStamps) {
+            return new GenerationCheckedCacheManager(new ConcurrentMapCacheManager("posts", "post-responses"), generationStamps);
         }
     }
 
@@ -49,6 +53,10 @@ class BlogPostServiceTest {
     private CategoryRepository categoryRepository;
     @MockitoBean
     private TagRepository tagRepository;
+    @MockitoBean
+    private PostTombstoneRepository tombstoneRepository;
+    @MockitoBean
+    private UsageCounters usageCounters;
 
     @Autowired
     private PostService postService;
@@ -56,6 +64,9 @@ class BlogPostServiceTest {
     @Autowired
     CacheManager cacheManager;
 
+    @Autowired
+    GenerationStamps generationStamps;
+
     private CategoryEntity category;
     private TagEntity tag1;
     private TagEntity tag2;
@@ -141,17 +152,20 @@ class BlogPostServiceTest {
         @DisplayName("deletePost should succeed when exists")
         void testDeletePostSuccess() {
             String id = "id1";
-            given(postRepository.existsById(id)).willReturn(true);
-            willDoNothing().given(postRepository).deleteById(id);
+            given(postRepository.findUsageKeys(id)).willReturn(List.of(new PostUsageKey(category.getId(), tag1.getId())));
+            given(postRepository.deleteByIds(List.of(id))).willReturn(1);
             assertThatCode(() -> postService.deletePost(id)).doesNotThrowAnyException();
+            then(postRepository).should().deleteByIds(List.of(id));
+            then(postRepository).should(never()).deleteById(id);
         }
 
         @Test
         @DisplayName("deletePost should throw when not exists")
         void testDeletePostNotFound() {
-            given(postRepository.existsById("nope")).willReturn(false);
+            given(postRepository.findUsageKeys("nope")).willReturn(List.of());
             assertThatThrownBy(() -> postService.deletePost("nope"))
                     .isInstanceOf(ResourceNotFoundException.class);
+            then(postRepository).should(never()).deleteByIds(anyCollection());
         }
     }
 
@@ -214,4 +228,43 @@ class BlogPostServiceTest {
         // verify repo called exactly once
         then(postRepository).should(times(1)).findById(id);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("a category rename makes cached posts embedding the old name read as misses")
+    void testRenameInvalidatesCachedPost() {
+        String id = "renamed";
+        given(postRepository.findById(id)).willReturn(Optional.of(new PostEntity(
+                id, "T", "C", category, Set.of(tag1), Instant.now(), Instant.now())));
+        postService.getPostById(id);
+
+        category.rename("Technology");
+        generationStamps.onRenamed(new TaxonomyRenamedEvent(
+                TaxonomyRenamedEvent.Kind.CATEGORY, category.getId(), "Technology", category.getGeneration()));
+        Optional<PostData> reloaded = postService.getPostById(id);
+        postService.getPostById(id);
+
+        assertThat(reloaded).get().extracting(post -> post.category().name()).isEqualTo("Technology");
+        then(postRepository).should(times(2)).findById(id);
+    }
+
+    @Test
+    @DisplayName("getPostsByIds should load only cache misses and keep the requested order")
+    void testGetPostsByIds() {
+        PostEntity cached = new PostEntity(
+                "cached", "Cached", "C", category, Set.of(tag1), Instant.now(), Instant.now()
+        );
+        PostEntity missed = new PostEntity(
+                "missed", "Missed", "C", category, Set.of(tag2), Instant.now(), Instant.now()
+        );
+        given(postRepository.findById("cached")).willReturn(Optional.of(cached));
+        postService.getPostById("cached");
+        given(postRepository.findAllWithDetailsByIdIn(List.of("missed", "unknown")))
+                .willReturn(List.of(missed));
+
+        List<PostData> result = postService.getPostsByIds(List.of("missed", "cached", "unknown"));
+
+        assertThat(result).extracting(PostData::id).containsExactly("missed", "cached");
+        assertThat(cacheManager.getCache("posts").get("missed")).isNotNull();
+        then(postRepository).should(times(1)).findAllWithDetailsByIdIn(List.of("missed", "unknown"));
+    }
+}
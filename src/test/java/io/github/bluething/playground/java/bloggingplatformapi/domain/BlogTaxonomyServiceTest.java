@@ -0,0 +1,122 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import io.github.bluething.playground.java.bloggingplatformapi.exception.ConflictException;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.CategoryEntity;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.CategoryRepository;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.TagEntity;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.TagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BlogTaxonomyService.class, GenerationStamps.class})
+class BlogTaxonomyServiceTest {
+    // fresh IDs per test: GenerationStamps never lowers a generation it has seen
+    private String tech;
+    private String life;
+    private String java;
+
+    @Autowired
+    private TaxonomyService taxonomyService;
+    @Autowired
+    private GenerationStamps generationStamps;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("DELETE FROM post_tags");
+        jdbcTemplate.update("DELETE FROM posts");
+        jdbcTemplate.update("DELETE FROM tags");
+        jdbcTemplate.update("DELETE FROM categories");
+        tech = UlidCreator.getUlid().toString();
+        life = UlidCreator.getUlid().toString();
+        java = UlidCreator.getUlid().toString();
+        categoryRepository.saveAll(List.of(new CategoryEntity(tech, "Tech"), new CategoryEntity(life, "Life")));
+        tagRepository.save(new TagEntity(java, "Java"));
+        generationStamps.refresh();
+    }
+
+    private PostData post(long categoryGeneration, long tagGeneration) {
+        return new PostData("p1", "T", "C", new CategoryData(tech, "Tech", categoryGeneration),
+                List.of(new TagData(java, "Java", tagGeneration)), Instant.now(), Instant.now());
+    }
+
+    @Test
+    @DisplayName("a committed rename bumps the generation, so data read before it is stale")
+    void testRenameBumpsGeneration() {
+        assertThat(generationStamps.isCurrent(post(0, 0))).isTrue();
+        long epoch = generationStamps.epoch();
+
+        CategoryData renamed = taxonomyService.renameCategory(tech, "Technology");
+        taxonomyService.renameTag(java, "Java SE");
+
+        assertThat(renamed.generation()).isEqualTo(1);
+        assertThat(categoryRepository.findById(tech).orElseThrow().getName()).isEqualTo("Technology");
+        assertThat(generationStamps.isCurrent(post(0, 1))).isFalse();
+        assertThat(generationStamps.isCurrent(post(1, 0))).isFalse();
+        assertThat(generationStamps.isCurrent(post(1, 1))).isTrue();
+        assertThat(generationStamps.epoch()).isEqualTo(epoch + 2);
+    }
+
+    @Test
+    @DisplayName("renames written elsewhere arrive with the refresh")
+    void testRefreshPicksUpRenames() {
+        jdbcTemplate.update("UPDATE categories SET name = 'Technology', generation = 3 WHERE id = ?", tech);
+
+        generationStamps.refresh();
+
+        assertThat(generationStamps.isCurrent(post(2, 0))).isFalse();
+        assertThat(generationStamps.isCurrent(post(3, 0))).isTrue();
+    }
+
+    @Test
+    @DisplayName("a name taken by another category is rejected")
+    void testRenameConflict() {
+        assertThatThrownBy(() -> taxonomyService.renameCategory(tech, "life"))
+                .isInstanceOf(ConflictException.class);
+        assertThat(categoryRepository.findById(tech).orElseThrow().getGeneration()).isZero();
+    }
+
+    @Test
+    @DisplayName("concurrent renames each get their own generation")
+    void testConcurrentRenames() throws Exception {
+        int renames = 8;
+        try (ExecutorService executor = Executors.newFixedThreadPool(renames)) {
+            List<Future<TagData>> results = IntStream.rangeClosed(1, renames)
+                    .mapToObj(i -> executor.submit(() -> taxonomyService.renameTag(java, "Java " + i)))
+                    .toList();
+            Set<Long> generations = new HashSet<>();
+            for (Future<TagData> result : results) {
+                generations.add(result.get().generation());
+            }
+            assertThat(generations).hasSize(renames);
+        }
+        assertThat(tagRepository.findById(java).orElseThrow().getGeneration()).isEqualTo(renames);
+    }
+}
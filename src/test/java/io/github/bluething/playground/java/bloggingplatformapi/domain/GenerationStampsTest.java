@@ -0,0 +1,38 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.CategoryRepository;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.GenerationRow;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.TagRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class GenerationStampsTest {
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final TagRepository tagRepository = mock(TagRepository.class);
+    private final GenerationStamps generationStamps = new GenerationStamps(categoryRepository, tagRepository);
+
+    private static PostData postIn(String categoryId, long generation) {
+        return new PostData("p1", "Title", "Content", new CategoryData(categoryId, "Tech", generation), List.of(),
+                Instant.EPOCH, Instant.EPOCH);
+    }
+
+    @Test
+    @DisplayName("a refresh that read the tables before a local rename committed does not undo the rename")
+    void testRefreshKeepsNewerRename() {
+        given(categoryRepository.findGenerations()).willReturn(List.of(new GenerationRow("cat1", 1)));
+
+        generationStamps.onRenamed(new TaxonomyRenamedEvent(TaxonomyRenamedEvent.Kind.CATEGORY, "cat1", "Tech", 2));
+        generationStamps.refresh();
+
+        assertThat(generationStamps.isCurrent(postIn("cat1", 1))).isFalse();
+        assertThat(generationStamps.isCurrent(postIn("cat1", 2))).isTrue();
+        assertThat(generationStamps.epoch()).isEqualTo(2);
+    }
+}
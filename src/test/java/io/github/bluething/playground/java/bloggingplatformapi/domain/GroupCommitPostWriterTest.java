@@ -0,0 +1,121 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.GroupCommitConfig;
+import io.github.bluething.playground.java.bloggingplatformapi.exception.ResourceNotFoundException;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({GroupCommitPostWriter.class, GroupCommitConfig.class, UsageCounters.class,
+        GroupCommitPostWriterTest.SlowListener.class})
+@TestPropertySource(properties = {
+        "app.posts.group-commit.enabled=true",
+        "app.posts.group-commit.max-delay=200ms"
+})
+class GroupCommitPostWriterTest {
+    /**
+     * After-commit listener that holds the writer thread while a post titled "Slow" is committed.
+     */
+    @TestConfiguration
+    static class SlowListener {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+        void onPostChanged(PostChangedEvent event) throws InterruptedException {
+            if (event.post() != null && "Slow".equals(event.post().title())) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Autowired
+    private GroupCommitPostWriter writer;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private SlowListener slowListener;
+
+    private CategoryEntity category;
+    private TagEntity tag;
+
+    @BeforeEach
+    void setup() {
+        category = categoryRepository.save(new CategoryEntity(UlidCreator.getUlid().toString(), "Group " + UlidCreator.getUlid()));
+        tag = tagRepository.save(new TagEntity(UlidCreator.getUlid().toString(), "Batch " + UlidCreator.getUlid()));
+    }
+
+    @Test
+    @DisplayName("queued creates commit together and each caller gets its own post")
+    void testGroupCommit() throws Exception {
+        var first = writer.submit(new CreatePostCommand("First", "Content", category.getId(), List.of(tag.getId())));
+        var second = writer.submit(new CreatePostCommand("Second", "Content", category.getId(), List.of()));
+
+        PostData one = first.get(5, TimeUnit.SECONDS);
+        PostData two = second.get(5, TimeUnit.SECONDS);
+
+        assertThat(one.id()).isNotEqualTo(two.id());
+        assertThat(one.tags()).extracting(TagData::name).containsExactly(tag.getName());
+        assertThat(postRepository.findAllWithDetailsByIdIn(List.of(one.id(), two.id())))
+                .extracting(PostEntity::getTitle)
+                .containsExactlyInAnyOrder("First", "Second");
+    }
+
+    @Test
+    @DisplayName("an item with an unknown tag fails alone and the rest of the group commits")
+    void testBadItemFailsIndividually() throws Exception {
+        var good = writer.submit(new CreatePostCommand("Good", "Content", category.getId(), List.of(tag.getId())));
+        var badTag = writer.submit(new CreatePostCommand("Bad", "Content", category.getId(), List.of("missing")));
+        var badCategory = writer.submit(new CreatePostCommand("Bad", "Content", "missing", List.of()));
+        var repeatedTag = writer.submit(new CreatePostCommand("Bad", "Content", category.getId(), List.of(tag.getId(), tag.getId())));
+
+        PostData saved = good.get(5, TimeUnit.SECONDS);
+        assertThat(postRepository.existsById(saved.id())).isTrue();
+        assertFailsWith(badTag, ResourceNotFoundException.class);
+        assertFailsWith(badCategory, ResourceNotFoundException.class);
+        assertFailsWith(repeatedTag, ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("callers are released on commit without waiting for after-commit listeners")
+    void testCallersReleasedBeforeListeners() throws Exception {
+        try {
+            var slow = writer.submit(new CreatePostCommand("Slow", "Content", category.getId(), List.of()));
+
+            assertThat(slow.get(2, TimeUnit.SECONDS).title()).isEqualTo("Slow");
+        } finally {
+            slowListener.release.countDown();
+        }
+    }
+
+    private static void assertFailsWith(CompletableFuture<PostData> future, Class<? extends Throwable> type) {
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(type);
+    }
+}
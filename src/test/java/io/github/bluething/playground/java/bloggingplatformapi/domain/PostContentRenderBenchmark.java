@@ -0,0 +1,59 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rendering post Markdown on every read versus serving the content-hash cached HTML
+ * (which still hashes the content). Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=PostContentRender}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostContentRenderBenchmark {
+
+    @Param({"4096", "65536"})
+    int contentSize;
+
+    private PostContentRenderer renderer;
+    private String markdown;
+
+    @Setup
+    public void setup() {
+        renderer = new PostContentRenderer(new ConcurrentMapCacheManager("post-html"));
+        String section = """
+                ## Section heading
+
+                A paragraph with *emphasis*, **strong text**, `inline code` and a [link](https://example.com).
+
+                - first item
+                - second item with `code`
+
+                ```java
+                System.out.println("hello");
+                ```
+
+                """;
+        StringBuilder builder = new StringBuilder("# Benchmark post\n\n");
+        while (builder.length() < contentSize) {
+            builder.append(section);
+        }
+        markdown = builder.toString();
+        renderer.toHtml(markdown);
+    }
+
+    @Benchmark
+    public String renderEveryRead() {
+        return renderer.render(markdown);
+    }
+
+    @Benchmark
+    public String cachedHtml() {
+        return renderer.toHtml(markdown);
+    }
+}
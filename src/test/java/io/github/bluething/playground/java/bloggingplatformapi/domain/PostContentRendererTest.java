@@ -0,0 +1,40 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostContentRendererTest {
+    private ConcurrentMapCacheManager cacheManager;
+    private PostContentRenderer renderer;
+
+    @BeforeEach
+    void setup() {
+        cacheManager = new ConcurrentMapCacheManager("post-html");
+        renderer = new PostContentRenderer(cacheManager);
+    }
+
+    @Test
+    @DisplayName("markdown is rendered once and then served from the content-hash cache")
+    void testRenderOnce() {
+        String markdown = "# Title\n\nSome *emphasis*.";
+
+        String html = renderer.toHtml(markdown);
+
+        assertThat(html).contains("<h1>Title</h1>", "<em>emphasis</em>");
+        var cached = cacheManager.getCache("post-html").get(PostContentRenderer.contentHash(markdown), String.class);
+        assertThat(cached).isEqualTo(html);
+        assertThat(renderer.toHtml(markdown)).isSameAs(cached);
+    }
+
+    @Test
+    @DisplayName("raw HTML and javascript links in content are neutralised")
+    void testEscapesUnsafeContent() {
+        String html = renderer.render("<script>alert(1)</script>\n\n[x](javascript:alert(1))");
+
+        assertThat(html).doesNotContain("<script>", "javascript:");
+    }
+}
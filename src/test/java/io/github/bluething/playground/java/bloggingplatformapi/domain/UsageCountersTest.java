@@ -0,0 +1,136 @@
+package io.github.bluething.playground.java.bloggingplatformapi.domain;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({UsageCounters.class, UsageReconciler.class, JobLeases.class})
+class UsageCountersTest {
+    private static final String JAVA = "01HZX0000000000000000TAG01";
+    private static final String JPA = "01HZX0000000000000000TAG02";
+    private static final String TECH = "01HZX0000000000000000CAT01";
+
+    @Autowired
+    private UsageCounters usageCounters;
+    @Autowired
+    private UsageReconciler usageReconciler;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setup() {
+        transaction = new TransactionTemplate(transactionManager);
+        jdbcTemplate.update("DELETE FROM post_tags");
+        jdbcTemplate.update("DELETE FROM posts");
+        jdbcTemplate.update("DELETE FROM tags");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("UPDATE job_leases SET owner = NULL, locked_until = NULL");
+        categoryRepository.save(new CategoryEntity(TECH, "Tech"));
+        tagRepository.saveAll(List.of(new TagEntity(JAVA, "Java"), new TagEntity(JPA, "JPA")));
+        usageCounters.refresh();
+    }
+
+    private void apply(UsageDelta delta) {
+        transaction.executeWithoutResult(status -> usageCounters.apply(delta));
+    }
+
+    private long counter(String table, String column, String id) {
+        return jdbcTemplate.queryForObject("SELECT post_count FROM " + table + " WHERE " + column + " = ?", Long.class, id);
+    }
+
+    @Test
+    @DisplayName("deltas from tag set diffs update the counter rows and the snapshot on commit")
+    void testDeltas() {
+        apply(new UsageDelta().added(TECH, List.of(JAVA, JPA)));
+        apply(new UsageDelta().added(TECH, List.of(JAVA)));
+        // an edit moving the second post from Java to JPA
+        apply(new UsageDelta().removed(TECH, List.of(JAVA)).added(TECH, List.of(JPA)));
+
+        assertThat(counter("tag_usage", "tag_id", JAVA)).isEqualTo(1);
+        assertThat(counter("tag_usage", "tag_id", JPA)).isEqualTo(2);
+        assertThat(counter("category_usage", "category_id", TECH)).isEqualTo(2);
+
+        assertThat(usageCounters.snapshot().tags())
+                .extracting(UsageCount::name, UsageCount::postCount)
+                .containsExactly(tuple("JPA", 2L), tuple("Java", 1L));
+    }
+
+    @Test
+    @DisplayName("a rolled back write leaves counters and snapshot untouched")
+    void testRollback() {
+        transaction.executeWithoutResult(status -> {
+            usageCounters.apply(new UsageDelta().added(TECH, List.of(JAVA)));
+            status.setRollbackOnly();
+        });
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tag_usage", Long.class)).isZero();
+        assertThat(usageCounters.snapshot().tags()).extracting(UsageCount::postCount).containsOnly(0L);
+    }
+
+    @Test
+    @DisplayName("reconcile repairs drifted and missing counters from the source tables")
+    void testReconcile() {
+        Instant now = Instant.now();
+        CategoryEntity tech = categoryRepository.findById(TECH).orElseThrow();
+        TagEntity java = tagRepository.findById(JAVA).orElseThrow();
+        postRepository.save(new PostEntity(UlidCreator.getUlid().toString(), "T", "C", tech, Set.of(java), now, now));
+        postRepository.save(new PostEntity(UlidCreator.getUlid().toString(), "T", "C", tech, Set.of(java), now, now));
+        // counters written by a path that miscounted, JPA has no counter row at all
+        apply(new UsageDelta().tag(JAVA, 5).category(TECH, 1));
+
+        usageCounters.reconcile();
+        usageCounters.refresh();
+
+        assertThat(counter("tag_usage", "tag_id", JAVA)).isEqualTo(2);
+        assertThat(counter("tag_usage", "tag_id", JPA)).isZero();
+        assertThat(counter("category_usage", "category_id", TECH)).isEqualTo(2);
+        assertThat(usageCounters.snapshot().categories())
+                .extracting(UsageCount::postCount).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("reconciliation is skipped while another node holds the lease")
+    void testReconcileOnlyWithLease() {
+        apply(new UsageDelta().category(TECH, 3));
+        jdbcTemplate.update("UPDATE job_leases SET owner = '01HZX000000000000000OTHER1', locked_until = ? WHERE name = ?",
+                Instant.now().plusSeconds(60), JobLeases.USAGE_RECONCILE);
+
+        usageReconciler.reconcile();
+        assertThat(counter("category_usage", "category_id", TECH)).isEqualTo(3);
+
+        jdbcTemplate.update("UPDATE job_leases SET owner = NULL, locked_until = NULL");
+        usageReconciler.reconcile();
+        assertThat(counter("category_usage", "category_id", TECH)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT owner FROM job_leases WHERE name = ?", String.class,
+                JobLeases.USAGE_RECONCILE)).isNull();
+    }
+}
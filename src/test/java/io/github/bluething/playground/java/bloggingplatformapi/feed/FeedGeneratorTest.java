@@ -0,0 +1,141 @@
+package io.github.bluething.playground.java.bloggingplatformapi.feed;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.FeedConfig;
+import io.github.bluething.playground.java.bloggingplatformapi.exception.ResourceNotFoundException;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.CategoryEntity;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.CategoryRepository;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.FeedStateRepository;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostEntity;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({FeedGenerator.class, FeedConfig.class})
+@TestPropertySource(properties = {
+        "app.feed.site-url=https://blog.example",
+        "app.feed.atom-entries=2",
+        "app.feed.sitemap-page-size=1"
+})
+class FeedGeneratorTest {
+    private static final Instant MARCH = Instant.parse("2024-03-10T08:00:00Z");
+    private static final Instant APRIL = Instant.parse("2024-04-02T08:00:00Z");
+
+    @Autowired
+    private FeedGenerator generator;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private FeedStateRepository feedStateRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private String marchPost;
+    private String marchAgainPost;
+    private String aprilPost;
+
+    @BeforeEach
+    void setup() {
+        CategoryEntity category = categoryRepository.save(new CategoryEntity(UlidCreator.getUlid().toString(), "Tech"));
+        marchPost = save(category, "March <notes>", MARCH, MARCH.plusSeconds(60));
+        marchAgainPost = save(category, "March again", MARCH.plusSeconds(3600), MARCH.plusSeconds(3600));
+        aprilPost = save(category, "April", APRIL, APRIL);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private String save(CategoryEntity category, String title, Instant createdAt, Instant updatedAt) {
+        String id = UlidCreator.getUlid().toString();
+        postRepository.save(new PostEntity(id, title, "Content of " + title, category, Set.of(), createdAt, updatedAt));
+        return id;
+    }
+
+    private static String xml(FeedDocument document) {
+        return new String(document.body(), StandardCharsets.UTF_8);
+    }
+
+    private String sitemap(YearMonth month, int page) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        generator.writeSitemap(month, page, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Atom feed lists the latest posts up to the configured limit")
+    void atomListsLatestPosts() {
+        FeedDocument feed = generator.atom();
+
+        String xml = xml(feed);
+        assertThat(feed.lastModified()).isEqualTo(APRIL);
+        assertThat(xml).contains("<feed xmlns=\"http://www.w3.org/2005/Atom\">")
+                .contains("<title>April</title>")
+                .contains("<title>March again</title>")
+                .doesNotContain(marchPost)
+                .contains("https://blog.example/api/v1/posts/" + aprilPost + "?format=html");
+    }
+
+    @Test
+    @DisplayName("Sitemap index has one entry per month page with the month's latest modification")
+    void sitemapIndexPerMonthPage() {
+        FeedDocument index = generator.sitemapIndex();
+
+        assertThat(index.lastModified()).isEqualTo(APRIL);
+        assertThat(xml(index))
+                .contains("<loc>https://blog.example/sitemaps/2024-03.xml</loc><lastmod>" + MARCH.plusSeconds(3600) + "</lastmod>")
+                .contains("<loc>https://blog.example/sitemaps/2024-03-2.xml</loc><lastmod>" + MARCH.plusSeconds(3600) + "</lastmod>")
+                .contains("<loc>https://blog.example/sitemaps/2024-04.xml</loc><lastmod>" + APRIL + "</lastmod>")
+                .doesNotContain("2024-04-2");
+    }
+
+    @Test
+    @DisplayName("Monthly sitemap pages only cover posts created in that month, page by page in creation order")
+    void monthlySitemapPages() {
+        YearMonth march = YearMonth.of(2024, 3);
+
+        assertThat(generator.sitemapLastModified(march, 2)).isEqualTo(MARCH.plusSeconds(3600));
+        assertThat(sitemap(march, 1)).contains(marchPost).doesNotContain(marchAgainPost).doesNotContain(aprilPost);
+        assertThat(sitemap(march, 2)).contains(marchAgainPost).doesNotContain(marchPost);
+        assertThatThrownBy(() -> generator.sitemapLastModified(march, 3)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(generator.sitemapLastModified(YearMonth.of(2024, 5), 1)).isEqualTo(Instant.EPOCH);
+        assertThat(sitemap(YearMonth.of(2024, 5), 1)).contains("<urlset").doesNotContain("<url>");
+    }
+
+    @Test
+    @DisplayName("Titles are XML-escaped")
+    void escapesText() {
+        FeedDocument feed = generator.atom();
+
+        assertThat(xml(feed)).doesNotContain("<notes>");
+    }
+
+    @Test
+    @DisplayName("a recorded deletion or rename advances Last-Modified past the newest post")
+    void feedModificationAdvancesLastModified() {
+        Instant deletedAt = APRIL.plusSeconds(600);
+        feedStateRepository.advance(FeedService.FEEDS, deletedAt);
+        feedStateRepository.advance(FeedService.FEEDS, MARCH);
+
+        assertThat(generator.atom().lastModified()).isEqualTo(deletedAt);
+        assertThat(xml(generator.atom())).contains("<updated>" + deletedAt + "</updated>");
+        assertThat(generator.sitemapIndex().lastModified()).isEqualTo(deletedAt);
+        assertThat(generator.sitemapLastModified(YearMonth.of(2024, 3), 1)).isEqualTo(deletedAt);
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.bluething.playground.java.bloggingplatformapi.feed;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.CategoryData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.ChangeType;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostChangedEvent;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostData;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.FeedStateRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+class FeedServiceTest {
+    private static final Instant NOW = Instant.parse("2024-05-01T00:00:00Z");
+
+    private final FeedStateRepository feedStateRepository = mock(FeedStateRepository.class);
+    private final Cache cache = mock(Cache.class);
+    private final FeedService feedService;
+
+    FeedServiceTest() {
+        CacheManager cacheManager = mock(CacheManager.class);
+        given(cacheManager.getCache("feeds")).willReturn(cache);
+        feedService = new FeedService(mock(FeedGenerator.class), feedStateRepository, cacheManager);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static PostChangedEvent deleted(String id, Instant at) {
+        return new PostChangedEvent(ChangeType.DELETED, id, null, at);
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(sync -> sync.beforeCommit(false));
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    @Test
+    @DisplayName("a transaction deleting many posts advances the feed state once and evicts two keys once")
+    void testOneAdvanceAndEvictionPerTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        feedService.onPostChanged(deleted("p1", NOW));
+        feedService.onPostChanged(deleted("p2", NOW.plusSeconds(1)));
+        feedService.onPostChanged(deleted("p3", NOW));
+        then(feedStateRepository).shouldHaveNoInteractions();
+        then(cache).shouldHaveNoInteractions();
+
+        commit();
+
+        then(feedStateRepository).should().advance(FeedService.FEEDS, NOW.plusSeconds(1));
+        then(cache).should().evict(FeedService.ATOM);
+        then(cache).should().evict(FeedService.SITEMAP_INDEX);
+        then(cache).should(never()).clear();
+        then(cache).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    @DisplayName("creates and updates evict without touching the feed state; a rollback does neither")
+    void testUpsertAndRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        PostData post = new PostData("p1", "T", "C", new CategoryData("cat1", "Tech"), List.of(), NOW, NOW);
+        feedService.onPostChanged(new PostChangedEvent(ChangeType.UPDATED, "p1", post, NOW));
+        commit();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        then(feedStateRepository).should(never()).advance(anyString(), any());
+        then(cache).should(times(1)).evict(FeedService.ATOM);
+
+        TransactionSynchronizationManager.initSynchronization();
+        feedService.onPostChanged(deleted("p1", NOW));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        then(feedStateRepository).should(never()).advance(anyString(), any());
+        then(cache).should(times(1)).evict(FeedService.ATOM);
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.bluething.playground.java.bloggingplatformapi.idempotency;
+
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.IdempotencyProperties;
+import io.github.bluething.playground.java.bloggingplatformapi.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceTest {
+    private IdempotencyService service;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setup() {
+        var properties = new IdempotencyProperties();
+        service = new IdempotencyService(new InMemoryIdempotencyStore(properties), properties);
+        executions.set(0);
+    }
+
+    private IdempotentResponse create() {
+        int n = executions.incrementAndGet();
+        return new IdempotentResponse("fp", 201, "/api/v1/posts/p" + n, ("{\"id\":\"p" + n + "\"}").getBytes());
+    }
+
+    @Test
+    @DisplayName("a retry with the same key replays the first response")
+    void testReplay() {
+        var first = service.execute("key-1", "fp", this::create);
+        var retry = service.execute("key-1", "fp", this::create);
+
+        assertThat(executions).hasValue(1);
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.response().location()).isEqualTo(first.response().location());
+    }
+
+    @Test
+    @DisplayName("a key reused for a different payload is rejected")
+    void testFingerprintMismatch() {
+        service.execute("key-1", "fp", this::create);
+
+        assertThatThrownBy(() -> service.execute("key-1", "other", this::create))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("a failed request releases the key for the retry")
+    void testFailureReleasesKey() {
+        assertThatThrownBy(() -> service.execute("key-1", "fp", () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        var retry = service.execute("key-1", "fp", this::create);
+        assertThat(retry.replayed()).isFalse();
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("releasing with a stale token keeps the reservation that took the key over")
+    void testStaleReleaseKeepsNewReservation() {
+        var store = new InMemoryIdempotencyStore(new IdempotencyProperties());
+        String stale = store.reserve("key-1");
+        store.release("key-1", stale);
+        String current = store.reserve("key-1");
+
+        store.release("key-1", stale);
+
+        assertThat(current).isNotNull();
+        assertThat(store.reserve("key-1")).isNull();
+    }
+
+    @Test
+    @DisplayName("concurrent duplicates wait for the first execution instead of running again")
+    void testConcurrentDuplicates() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var first = CompletableFuture.supplyAsync(() -> service.execute("key-1", "fp", () -> {
+            started.countDown();
+            await(release);
+            return create();
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        var duplicate = CompletableFuture.supplyAsync(() -> service.execute("key-1", "fp", this::create));
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).replayed()).isFalse();
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).replayed()).isTrue();
+        assertThat(executions).hasValue(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
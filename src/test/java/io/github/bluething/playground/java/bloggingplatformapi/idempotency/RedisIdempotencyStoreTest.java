@@ -0,0 +1,83 @@
+package io.github.bluething.playground.java.bloggingplatformapi.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.IdempotencyProperties;
+import io.github.bluething.playground.java.bloggingplatformapi.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+class RedisIdempotencyStoreTest {
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private RedisIdempotencyStore store;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        store = new RedisIdempotencyStore(redisTemplate, new ObjectMapper(), new IdempotencyProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    @DisplayName("release deletes the key only if it still holds the caller's reservation token")
+    void testReleaseComparesToken() {
+        given(valueOperations.setIfAbsent(eq("idempotency:key-1"), anyString(), any(Duration.class))).willReturn(true);
+
+        String token = store.reserve("key-1");
+        store.release("key-1", token);
+
+        then(valueOperations).should().setIfAbsent(eq("idempotency:key-1"), eq("pending:" + token), any(Duration.class));
+        then(redisTemplate).should().execute(any(RedisScript.class), eq(List.of("idempotency:key-1")), eq("pending:" + token));
+    }
+
+    @Test
+    @DisplayName("a taken key yields no token and an unreachable Redis fails the request instead of skipping deduplication")
+    void testReserve() {
+        given(valueOperations.setIfAbsent(eq("idempotency:taken"), anyString(), any(Duration.class))).willReturn(false);
+        given(valueOperations.setIfAbsent(eq("idempotency:down"), anyString(), any(Duration.class)))
+                .willThrow(new RedisConnectionFailureException("down"));
+        given(valueOperations.get("idempotency:down")).willThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(store.reserve("taken")).isNull();
+        assertThatThrownBy(() -> store.reserve("down")).isInstanceOf(ServiceUnavailableException.class);
+        assertThatThrownBy(() -> store.find("down")).isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    @Test
+    @DisplayName("storing the response is retried and fails the request when it never succeeds")
+    void testCompleteRetries() {
+        willThrow(new RedisConnectionFailureException("down"))
+                .given(valueOperations).set(eq("idempotency:key-1"), anyString(), any(Duration.class));
+
+        assertThatThrownBy(() -> store.complete("key-1", new IdempotentResponse("fp", 201, "/api/v1/posts/1", new byte[0])))
+                .isInstanceOf(ServiceUnavailableException.class);
+        then(valueOperations).should(times(3)).set(eq("idempotency:key-1"), anyString(), any(Duration.class));
+    }
+}
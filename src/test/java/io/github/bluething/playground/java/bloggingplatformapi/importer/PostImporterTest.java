@@ -0,0 +1,186 @@
+package io.github.bluething.playground.java.bloggingplatformapi.importer;
+
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.PostImportConfig;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.UsageCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({PostImporter.class, PostImportConfig.class, UsageCounters.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@TestPropertySource(properties = "app.import.batch-size=2")
+class PostImporterTest {
+    @Autowired
+    private PostImporter postImporter;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @TempDir
+    private Path dir;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("DELETE FROM post_tags");
+        jdbcTemplate.update("DELETE FROM posts");
+        jdbcTemplate.update("DELETE FROM tags");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("DELETE FROM post_import_checkpoints");
+        jdbcTemplate.update("DELETE FROM post_outbox");
+        jdbcTemplate.update("INSERT INTO categories (id, name) VALUES ('01HZX00000000000000000CAT1', 'Tech')");
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    @Test
+    @DisplayName("imports NDJSON, reusing existing categories and creating missing ones and tags once")
+    void testImportNdjson() throws IOException {
+        Path file = Files.writeString(dir.resolve("posts.ndjson"), """
+                {"id":"01HZX0000000000000000000P1","title":"One","content":"a","category":"tech","tags":["Java","JPA"],"createdAt":"2020-01-01T10:00:00Z"}
+                {"title":"Two","content":"b","category":"Travel","tags":["java"]}
+                {"title":"","content":"rejected","category":"Tech"}
+                {"title":"Three","content":"c","category":"Travel","tags":[]}
+                """);
+
+        ImportReport report = postImporter.importFile(file);
+
+        assertThat(report.imported()).isEqualTo(3);
+        assertThat(report.rejected()).isEqualTo(1);
+        assertThat(report.createdCategories()).isEqualTo(1);
+        assertThat(report.createdTags()).isEqualTo(2);
+        assertThat(count("posts")).isEqualTo(3);
+        assertThat(count("post_tags")).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT category_id FROM posts WHERE id = '01HZX0000000000000000000P1'", String.class))
+                .isEqualTo("01HZX00000000000000000CAT1");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT created_at FROM posts WHERE id = '01HZX0000000000000000000P1'", Timestamp.class).toInstant())
+                .isEqualTo(Instant.parse("2020-01-01T10:00:00Z"));
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM categories", String.class))
+                .containsExactlyInAnyOrder("Tech", "Travel");
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM tags", String.class))
+                .containsExactlyInAnyOrder("Java", "JPA");
+    }
+
+    @Test
+    @DisplayName("each imported post gets a CREATED outbox row written with its batch")
+    void testWritesOutbox() throws IOException {
+        Path file = Files.writeString(dir.resolve("outbox.ndjson"), """
+                {"id":"01HZX0000000000000000000P1","title":"One","content":"a","category":"Tech","tags":["Java"]}
+                {"title":"Two","content":"b","category":"Tech"}
+                """);
+
+        postImporter.importFile(file);
+
+        assertThat(jdbcTemplate.queryForList("SELECT event_type FROM post_outbox", String.class))
+                .containsExactly("CREATED", "CREATED");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT payload FROM post_outbox WHERE post_id = '01HZX0000000000000000000P1'", String.class))
+                .contains("\"title\":\"One\"", "\"name\":\"Tech\"", "\"name\":\"Java\"");
+    }
+
+    @Test
+    @DisplayName("a record violating a constraint is rejected alone and a rerun moves past it")
+    void testConstraintViolationRejectsRecord() throws IOException {
+        Path file = Files.writeString(dir.resolve("duplicate.ndjson"), """
+                {"id":"01HZX0000000000000000000P1","title":"One","content":"a","category":"Tech"}
+                {"id":"01HZX0000000000000000000P1","title":"Copy","content":"b","category":"Tech"}
+                {"title":"Three","content":"c","category":"Tech"}
+                """);
+
+        ImportReport report = postImporter.importFile(file);
+
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.rejected()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT title FROM posts", String.class))
+                .containsExactlyInAnyOrder("One", "Three");
+        assertThat(count("post_outbox")).isEqualTo(2);
+        assertThat(postImporter.importFile(file).imported()).isZero();
+    }
+
+    @Test
+    @DisplayName("imports CSV with '|'-separated tags")
+    void testImportCsv() throws IOException {
+        Path file = Files.writeString(dir.resolve("posts.csv"), """
+                title,content,category,tags
+                One,a,Tech,Java|Spring
+                Two,"b, with comma",Tech,
+                """);
+
+        ImportReport report = postImporter.importFile(file);
+
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(count("post_tags")).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT content FROM posts WHERE title = 'Two'", String.class))
+                .isEqualTo("b, with comma");
+    }
+
+    private void checkpoint(Path file, long size, long records) throws IOException {
+        Timestamp modifiedAt = Timestamp.from(Files.getLastModifiedTime(file).toInstant().truncatedTo(ChronoUnit.MILLIS));
+        jdbcTemplate.update("INSERT INTO post_import_checkpoints (source, records, updated_at, file_size, file_modified_at) "
+                        + "VALUES (?, ?, CURRENT_TIMESTAMP, ?, ?)",
+                ps -> {
+                    ps.setString(1, file.toAbsolutePath().normalize().toString());
+                    ps.setLong(2, records);
+                    ps.setLong(3, size);
+                    ps.setTimestamp(4, modifiedAt, Calendar.getInstance(TimeZone.getTimeZone("UTC")));
+                });
+    }
+
+    @Test
+    @DisplayName("a rerun resumes after the committed checkpoint")
+    void testResume() throws IOException {
+        Path file = Files.writeString(dir.resolve("resume.ndjson"), """
+                {"title":"One","content":"a","category":"Tech"}
+                {"title":"Two","content":"b","category":"Tech"}
+                {"title":"Three","content":"c","category":"Tech"}
+                """);
+        checkpoint(file, Files.size(file), 2);
+
+        ImportReport report = postImporter.importFile(file);
+        assertThat(report.resumed()).isEqualTo(2);
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT title FROM posts", String.class)).containsExactly("Three");
+
+        assertThat(postImporter.importFile(file).imported()).isZero();
+        assertThat(count("posts")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a checkpoint taken from another file of the same path is not resumed")
+    void testChangedFileIsNotResumed() throws IOException {
+        Path file = Files.writeString(dir.resolve("changed.ndjson"), """
+                {"title":"One","content":"a","category":"Tech"}
+                """);
+        checkpoint(file, Files.size(file) + 1, 2);
+
+        assertThatThrownBy(() -> postImporter.importFile(file))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("different file");
+        assertThat(count("posts")).isZero();
+    }
+}
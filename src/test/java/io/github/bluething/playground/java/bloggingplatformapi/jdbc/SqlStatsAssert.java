@@ -0,0 +1,57 @@
+package io.github.bluething.playground.java.bloggingplatformapi.jdbc;
+
+import org.assertj.core.api.AbstractAssert;
+
+import java.util.Map;
+
+/**
+ * Assertions on the JDBC work of a block, e.g.
+ * {@code assertThatSql(() -> postService.getAllPosts()).hasAtMostStatements(3).hasNoRepeatedStatements(3)}.
+ */
+public class SqlStatsAssert extends AbstractAssert<SqlStatsAssert, SqlStats> {
+    private SqlStatsAssert(SqlStats actual) {
+        super(actual, SqlStatsAssert.class);
+    }
+
+    public static SqlStatsAssert assertThatSql(SqlStats stats) {
+        return new SqlStatsAssert(stats);
+    }
+
+    public static SqlStatsAssert assertThatSql(Runnable action) {
+        return new SqlStatsAssert(SqlStatsContext.capture(action));
+    }
+
+    public SqlStatsAssert hasStatements(int expected) {
+        isNotNull();
+        if (actual.statements() != expected) {
+            failWithMessage("Expected %d statements but %d ran", expected, actual.statements());
+        }
+        return this;
+    }
+
+    public SqlStatsAssert hasAtMostStatements(int max) {
+        isNotNull();
+        if (actual.statements() > max) {
+            failWithMessage("Expected at most %d statements but %d ran: %s",
+                    max, actual.statements(), actual.repeatedStatements(1));
+        }
+        return this;
+    }
+
+    public SqlStatsAssert hasNoRepeatedStatements(int threshold) {
+        isNotNull();
+        Map<String, Integer> repeated = actual.repeatedStatements(threshold);
+        if (!repeated.isEmpty()) {
+            failWithMessage("Expected no statement to run %d or more times (N+1) but found %s", threshold, repeated);
+        }
+        return this;
+    }
+
+    public SqlStatsAssert hasRepeatedStatements(int threshold) {
+        isNotNull();
+        if (actual.repeatedStatements(threshold).isEmpty()) {
+            failWithMessage("Expected a statement to run %d or more times", threshold);
+        }
+        return this;
+    }
+}
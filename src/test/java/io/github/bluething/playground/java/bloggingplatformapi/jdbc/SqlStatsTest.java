@@ -0,0 +1,135 @@
+package io.github.bluething.playground.java.bloggingplatformapi.jdbc;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import io.github.bluething.playground.java.bloggingplatformapi.bulkhead.Bulkhead;
+import io.github.bluething.playground.java.bloggingplatformapi.bulkhead.ReadLane;
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.SqlStatsConfig;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static io.github.bluething.playground.java.bloggingplatformapi.jdbc.SqlStatsAssert.assertThatSql;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+@DataJpaTest
+@Import(SqlStatsConfig.class)
+@TestPropertySource(properties = "app.sql-stats.enabled=true")
+class SqlStatsTest {
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<String> postIds = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        CategoryEntity category = categoryRepository.save(new CategoryEntity(UlidCreator.getUlid().toString(), "Stats"));
+        Instant now = Instant.now();
+        for (int i = 0; i < 3; i++) {
+            TagEntity tag = tagRepository.save(new TagEntity(UlidCreator.getUlid().toString(), "Tag " + i));
+            String id = UlidCreator.getUlid().toString();
+            postRepository.save(new PostEntity(id, "Title " + i, "Content", category, Set.of(tag), now, now));
+            postIds.add(id);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("lazy tag loading per post is reported as a repeated statement")
+    void testDetectsNPlusOne() {
+        assertThatSql(() -> postRepository.findAllById(postIds).forEach(post -> post.getTags().size()))
+                .hasStatements(4)
+                .hasRepeatedStatements(3);
+    }
+
+    @Test
+    @DisplayName("the fetch-join batch query is a single statement")
+    void testFetchJoin() {
+        SqlStats stats = SqlStatsContext.capture(() -> postRepository.findAllWithDetailsByIdIn(postIds));
+
+        assertThatSql(stats)
+                .hasAtMostStatements(1)
+                .hasNoRepeatedStatements(2);
+        assertThat(stats.rows()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("nested scopes both see the statements")
+    void testNestedScopes() {
+        try (SqlStatsContext.Scope outer = SqlStatsContext.open("outer")) {
+            SqlStats inner = SqlStatsContext.capture(() -> postRepository.count());
+            postRepository.count();
+
+            assertThat(inner.statements()).isEqualTo(1);
+            assertThat(outer.stats().statements()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("the request filter reports the request's statements under its route pattern")
+    void testFilterReportsPerRequest() throws Exception {
+        SqlStatsReporter reporter = mock(SqlStatsReporter.class);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/posts/" + postIds.get(0));
+
+        new SqlStatsFilter(reporter).doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/posts/{id}");
+            postRepository.findAllWithDetailsByIdIn(postIds.subList(0, 1));
+            postRepository.count();
+        });
+
+        then(reporter).should().report(eq("request"), eq("GET /api/v1/posts/{id}"),
+                argThat(stats -> stats.statements() == 2 && stats.rows() >= 1));
+    }
+
+    @Test
+    @DisplayName("an async request is reported on completion, including the work it ran on a bulkhead")
+    void testFilterReportsAsyncBulkheadWork() throws Exception {
+        SqlStatsReporter reporter = mock(SqlStatsReporter.class);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/posts");
+        request.setAsyncSupported(true);
+
+        try (Bulkhead bulkhead = new Bulkhead(ReadLane.LIST, 1, 1, Duration.ofSeconds(5), Duration.ofSeconds(1),
+                new SimpleMeterRegistry())) {
+            new SqlStatsFilter(reporter).doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/posts");
+                req.startAsync();
+                bulkhead.submit(() -> postRepository.count()).join();
+            });
+        }
+        then(reporter).should(never()).report(any(), any(), any());
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        then(reporter).should().report(eq("request"), eq("GET /api/v1/posts"),
+                argThat(stats -> stats.statements() == 1));
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.bluething.playground.java.bloggingplatformapi.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+class ConcurrencyLimitFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private GradientLimiter reads;
+    private GradientLimiter searches;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setup() {
+        reads = new GradientLimiter(1, 1, 10, 1.5, 0.2, 100);
+        searches = new GradientLimiter(1, 1, 10, 1.5, 0.2, 100);
+        var writes = new GradientLimiter(1, 1, 10, 1.5, 0.2, 100);
+        filter = new ConcurrencyLimitFilter(
+                Map.of(Lane.READ, reads, Lane.SEARCH, searches, Lane.WRITE, writes),
+                Duration.ofSeconds(2), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("rejects with 503 and Retry-After when the lane is full")
+    void testRejectsWhenFull() throws Exception {
+        reads.tryAcquire();
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/posts/1"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(meterRegistry.counter("http.concurrency.rejected", "lane", "read").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("searches have their own lane and release their slot when done")
+    void testSeparateLanes() throws Exception {
+        reads.tryAcquire();
+        var search = new MockHttpServletRequest("GET", "/api/v1/posts");
+        search.setParameter("term", "java");
+        var seenInflight = new AtomicInteger();
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(search, response, (req, res) -> seenInflight.set(searches.inflight()));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(seenInflight.get()).isEqualTo(1);
+        assertThat(searches.inflight()).isZero();
+    }
+
+    @Test
+    @DisplayName("an async request keeps its slot until it completes and is then sampled once")
+    void testAsyncRequestIsSampled() throws Exception {
+        var limiter = mock(GradientLimiter.class);
+        given(limiter.tryAcquire()).willReturn(1);
+        var asyncFilter = new ConcurrencyLimitFilter(
+                Map.of(Lane.READ, limiter, Lane.SEARCH, searches, Lane.WRITE, limiter),
+                Duration.ofSeconds(2), meterRegistry);
+        var request = new MockHttpServletRequest("GET", "/api/v1/posts/1");
+        request.setAsyncSupported(true);
+        var response = new MockHttpServletResponse();
+
+        asyncFilter.doFilter(request, response, (req, res) -> req.startAsync());
+        then(limiter).should(never()).release(eq(1), anyLong());
+
+        var asyncContext = (MockAsyncContext) request.getAsyncContext();
+        asyncContext.complete();
+
+        then(limiter).should(times(1)).release(eq(1), longThat(rtt -> rtt >= 0));
+    }
+}
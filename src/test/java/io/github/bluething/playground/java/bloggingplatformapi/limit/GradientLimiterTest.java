@@ -0,0 +1,73 @@
+package io.github.bluething.playground.java.bloggingplatformapi.limit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientLimiterTest {
+    private static final long MS = 1_000_000;
+
+    @Test
+    @DisplayName("admits up to the limit and frees slots on release")
+    void testAdmission() {
+        var limiter = new GradientLimiter(2, 1, 10, 1.5, 0.2, 100);
+
+        int first = limiter.tryAcquire();
+        int second = limiter.tryAcquire();
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(2);
+        assertThat(limiter.tryAcquire()).isEqualTo(-1);
+
+        limiter.release(second, -1);
+        assertThat(limiter.tryAcquire()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("grows while latency is flat and the lane is busy")
+    void testGrowsUnderSteadyLatency() {
+        var limiter = new GradientLimiter(10, 2, 50, 1.5, 0.2, 100);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.release(hold(limiter, 10), 10 * MS);
+        }
+
+        assertThat(limiter.limit()).isGreaterThan(20);
+    }
+
+    @Test
+    @DisplayName("does not grow while the lane is mostly idle")
+    void testIdleLaneKeepsLimit() {
+        var limiter = new GradientLimiter(10, 2, 50, 1.5, 0.2, 100);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.release(limiter.tryAcquire(), 10 * MS);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("shrinks towards the minimum once latency climbs above the tolerance")
+    void testShrinksWhenLatencyRises() {
+        var limiter = new GradientLimiter(40, 4, 50, 1.5, 0.2, 100);
+        for (int i = 0; i < 100; i++) {
+            limiter.release(hold(limiter, 40), 10 * MS);
+        }
+        double before = limiter.limit();
+
+        for (int i = 0; i < 20; i++) {
+            limiter.release(hold(limiter, (int) limiter.limit()), 100 * MS);
+        }
+
+        assertThat(limiter.limit()).isLessThan(before / 2).isGreaterThanOrEqualTo(4);
+    }
+
+    /**
+     * Report a sample as if {@code busy} requests were in flight when it started.
+     */
+    private static int hold(GradientLimiter limiter, int busy) {
+        limiter.tryAcquire();
+        return busy;
+    }
+}
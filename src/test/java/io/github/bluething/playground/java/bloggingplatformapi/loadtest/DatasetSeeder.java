@@ -0,0 +1,143 @@
+package io.github.bluething.playground.java.bloggingplatformapi.loadtest;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.CategoryEntity;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.CategoryRepository;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostChangeKey;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostEntity;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostRepository;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.TagEntity;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.TagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Writes a reproducible dataset through the repositories: categories, tags, and posts with a log-normal
+ * content length, 1..maxTagsPerPost tags and creation times spread over the past year. Every title carries
+ * one {@link #topic(int) topic} keyword, so searching for a topic matches about searchHits posts.
+ * <p>
+ * A database that already has posts (e.g. a local MySQL from an earlier run) is reused as it is.
+ */
+@RequiredArgsConstructor
+@Slf4j
+class DatasetSeeder {
+    private static final List<String> VOCABULARY = List.of(
+            "java", "spring", "latency", "cache", "redis", "mysql", "index", "query", "thread", "pool",
+            "reactive", "stream", "batch", "kernel", "memory", "garbage", "collector", "profile", "tuning", "load",
+            "throughput", "queue", "lock", "schema", "replica", "shard", "vector", "search", "ranking", "feed");
+
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    record Dataset(List<String> postIds, List<String> categoryIds, List<String> tagIds, int topics) {
+    }
+
+    Dataset seed(LoadTestSettings.Dataset settings, long seed) {
+        int topics = Math.max(1, settings.getPosts() / Math.max(1, settings.getSearchHits()));
+        long existing = postRepository.count();
+        if (existing > 0) {
+            log.info("Database already has {} posts, skipping seeding", existing);
+            return existing(topics);
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        List<CategoryEntity> categories = new ArrayList<>();
+        for (int i = 0; i < settings.getCategories(); i++) {
+            categories.add(new CategoryEntity(UlidCreator.getUlid().toString(), "category-" + i));
+        }
+        List<TagEntity> tags = new ArrayList<>();
+        for (int i = 0; i < settings.getTags(); i++) {
+            tags.add(new TagEntity(UlidCreator.getUlid().toString(), "tag-" + i));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            categoryRepository.saveAll(categories);
+            tagRepository.saveAll(tags);
+        });
+
+        long started = System.nanoTime();
+        Instant now = Instant.now();
+        List<String> postIds = new ArrayList<>(settings.getPosts());
+        for (int offset = 0; offset < settings.getPosts(); offset += settings.getBatchSize()) {
+            List<PostEntity> batch = new ArrayList<>();
+            for (int i = offset; i < Math.min(offset + settings.getBatchSize(), settings.getPosts()); i++) {
+                Instant createdAt = now.minus(Duration.ofMinutes(random.nextLong(Duration.ofDays(365).toMinutes())));
+                PostEntity post = new PostEntity(
+                        UlidCreator.getUlid().toString(),
+                        words(random, 2 + random.nextInt(5)) + " " + topic(random.nextInt(topics)),
+                        content(random, settings),
+                        categories.get(random.nextInt(categories.size())),
+                        tags(random, tags, settings.getMaxTagsPerPost()),
+                        createdAt,
+                        createdAt);
+                batch.add(post);
+                postIds.add(post.getId());
+            }
+            transactionTemplate.executeWithoutResult(status -> postRepository.saveAll(batch));
+        }
+        log.info("Seeded {} posts, {} categories and {} tags in {} ms", postIds.size(), categories.size(), tags.size(),
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return new Dataset(postIds,
+                categories.stream().map(CategoryEntity::getId).toList(),
+                tags.stream().map(TagEntity::getId).toList(),
+                topics);
+    }
+
+    /**
+     * Fixed-width, so no topic keyword is a substring of another.
+     */
+    static String topic(int index) {
+        return "topic%05d".formatted(index);
+    }
+
+    private Dataset existing(int topics) {
+        List<String> postIds = transactionTemplate.execute(status -> {
+            try (var keys = postRepository.streamAllKeys()) {
+                return keys.map(PostChangeKey::id).toList();
+            }
+        });
+        return new Dataset(postIds,
+                categoryRepository.findAll().stream().map(CategoryEntity::getId).toList(),
+                tagRepository.findAll().stream().map(TagEntity::getId).toList(),
+                topics);
+    }
+
+    private static String words(SplittableRandom random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(VOCABULARY.get(random.nextInt(VOCABULARY.size())));
+        }
+        return text.toString();
+    }
+
+    private static String content(SplittableRandom random, LoadTestSettings.Dataset settings) {
+        int length = (int) Math.max(1, Math.min(64_000, settings.getContentMedian() * Math.exp(settings.getContentSigma() * random.nextGaussian())));
+        StringBuilder content = new StringBuilder(length + 16);
+        while (content.length() < length) {
+            content.append(VOCABULARY.get(random.nextInt(VOCABULARY.size()))).append(' ');
+        }
+        return content.substring(0, length).trim();
+    }
+
+    private static Set<TagEntity> tags(SplittableRandom random, List<TagEntity> tags, int maxTagsPerPost) {
+        int count = 1 + random.nextInt(maxTagsPerPost);
+        Set<TagEntity> chosen = new HashSet<>();
+        while (chosen.size() < Math.min(count, tags.size())) {
+            chosen.add(tags.get(random.nextInt(tags.size())));
+        }
+        return chosen;
+    }
+}
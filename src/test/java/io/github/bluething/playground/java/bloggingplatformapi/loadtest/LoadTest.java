@@ -0,0 +1,124 @@
+package io.github.bluething.playground.java.bloggingplatformapi.loadtest;
+
+import io.github.bluething.playground.java.bloggingplatformapi.BloggingPlatformApiApplication;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.CategoryRepository;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostRepository;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.TagRepository;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Repeatable load test: starts the application (profile loadtest: H2 and an in-process Redis stand-in by
+ * default), seeds a dataset before it reports ready, drives a mixed open-model workload and writes HdrHistogram
+ * reports to the report directory:
+ * <ul>
+ *     <li>{@code summary.txt}: count, errors and p50/p99/p99.9/max per operation, also printed</li>
+ *     <li>{@code <operation>.hgrm}: full percentile distribution in milliseconds, for plotting two builds together</li>
+ *     <li>{@code latency.hlog}: per-second interval histograms tagged by operation, for HistogramLogAnalyzer</li>
+ * </ul>
+ * Usage: {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--loadtest.workload.rate=500"}; see
+ * {@link LoadTestSettings} for the options. The same seed gives the same dataset and request sequence.
+ */
+public class LoadTest {
+    public static void main(String[] args) throws Exception {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        LoadTestSettings settings = Binder.get(environment).bind("loadtest", LoadTestSettings.class)
+                .orElseGet(LoadTestSettings::new);
+
+        List<String> applicationArgs = new ArrayList<>(Arrays.asList(args));
+        if (!environment.containsProperty("spring.profiles.active")) {
+            applicationArgs.add("--spring.profiles.active=loadtest");
+        }
+        RedisStandIn redis = null;
+        if (!settings.isExternalRedis()) {
+            redis = RedisStandIn.start();
+            applicationArgs.add("--spring.data.redis.host=localhost");
+            applicationArgs.add("--spring.data.redis.port=" + redis.port());
+        }
+
+        AtomicReference<DatasetSeeder.Dataset> dataset = new AtomicReference<>();
+        SpringApplication application = new SpringApplication(BloggingPlatformApiApplication.class);
+        // seed before ApplicationReadyEvent, so indexes built at startup include the dataset
+        application.addListeners((ApplicationListener<ApplicationStartedEvent>) event ->
+                dataset.set(seeder(event.getApplicationContext()).seed(settings.getDataset(), settings.getSeed())));
+
+        try (ConfigurableApplicationContext context = application.run(applicationArgs.toArray(String[]::new));
+             HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Path reports = Files.createDirectories(Path.of(settings.getReportDirectory()));
+            WorkloadDriver driver = new WorkloadDriver(client, "http://localhost:" + port, settings.getWorkload(),
+                    dataset.get(), settings.getSeed());
+
+            Map<WorkloadDriver.Operation, Histogram> latencies;
+            try (PrintStream logStream = new PrintStream(Files.newOutputStream(reports.resolve("latency.hlog")))) {
+                HistogramLogWriter intervalLog = new HistogramLogWriter(logStream);
+                intervalLog.outputLogFormatVersion();
+                intervalLog.outputStartTime(Instant.now().toEpochMilli());
+                intervalLog.outputLegend();
+                latencies = driver.run(intervalLog);
+            }
+            report(settings, driver, latencies, reports);
+        } finally {
+            if (redis != null) {
+                redis.close();
+            }
+        }
+    }
+
+    private static DatasetSeeder seeder(ConfigurableApplicationContext context) {
+        return new DatasetSeeder(
+                context.getBean(CategoryRepository.class),
+                context.getBean(TagRepository.class),
+                context.getBean(PostRepository.class),
+                new TransactionTemplate(context.getBean(PlatformTransactionManager.class)));
+    }
+
+    private static void report(LoadTestSettings settings, WorkloadDriver driver,
+                               Map<WorkloadDriver.Operation, Histogram> latencies, Path reports) throws Exception {
+        double seconds = settings.getWorkload().getDuration().toMillis() / 1000.0;
+        StringBuilder summary = new StringBuilder("%-8s %9s %7s %9s %9s %9s %9s %9s%n".formatted(
+                "op", "count", "errors", "rate/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (var entry : latencies.entrySet()) {
+            Histogram histogram = entry.getValue();
+            summary.append("%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n".formatted(
+                    entry.getKey(), histogram.getTotalCount(), driver.errors(entry.getKey()),
+                    histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue())));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(
+                    reports.resolve(entry.getKey().name().toLowerCase() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+        Files.writeString(reports.resolve("summary.txt"), summary);
+        System.out.print(summary);
+        System.out.println("Reports written to " + reports.toAbsolutePath());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.bluething.playground.java.bloggingplatformapi.loadtest;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Harness settings, bound from loadtest.* command line arguments (e.g. --loadtest.workload.rate=500).
+ * Any other argument is passed to the application, e.g. --spring.datasource.url=jdbc:mysql://... to run
+ * against a local MySQL instead of H2.
+ */
+@Data
+class LoadTestSettings {
+    // Random seed for the dataset and the workload, so two builds see the same data and request sequence
+    private long seed = 42;
+    private String reportDirectory = "target/loadtest";
+    // Use the Redis at spring.data.redis.host/port instead of starting the in-process stand-in
+    private boolean externalRedis = false;
+    private Dataset dataset = new Dataset();
+    private Workload workload = new Workload();
+
+    @Data
+    static class Dataset {
+        private int posts = 10_000;
+        private int categories = 20;
+        private int tags = 200;
+        private int maxTagsPerPost = 5;
+        // Content length is log-normal: median characters and the sigma of its logarithm
+        private int contentMedian = 2_000;
+        private double contentSigma = 0.8;
+        // Average number of posts a search matches
+        private int searchHits = 10;
+        private int batchSize = 500;
+    }
+
+    @Data
+    static class Workload {
+        // Arrivals per second, independent of response times (open model)
+        private double rate = 200;
+        // Long enough for JIT compilation and cache fill; warmup requests are sent but not recorded
+        private Duration warmup = Duration.ofSeconds(30);
+        private Duration duration = Duration.ofSeconds(60);
+        // Share of arrivals per operation; the remainder after reads and searches are writes
+        private double readRatio = 0.85;
+        private double searchRatio = 0.10;
+        // Skew of the post popularity, 0 is uniform
+        private double zipfExponent = 0.99;
+        private Duration requestTimeout = Duration.ofSeconds(10);
+    }
+}
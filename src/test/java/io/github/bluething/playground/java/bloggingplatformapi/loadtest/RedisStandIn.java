@@ -0,0 +1,356 @@
+package io.github.bluething.playground.java.bloggingplatformapi.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * In-process stand-in for Redis, speaking enough RESP2 for what the application uses: strings (caches,
+ * idempotency), sets and sorted sets (trending), key expiry and KEYS/SCAN (cache clear). Lettuce's RESP3
+ * handshake is refused, so it falls back to RESP2. Unknown commands get an error reply, which the
+ * application treats like any other Redis failure.
+ * <p>
+ * Good enough to keep Redis round trips in a local load test; it is not a benchmark of Redis itself.
+ */
+@Slf4j
+class RedisStandIn implements AutoCloseable {
+    private final ServerSocket serverSocket;
+    private final Map<String, Entry> data = new HashMap<>();
+
+    private record Entry(Object value, long expiresAtMillis) {
+        boolean expired(long now) {
+            return expiresAtMillis > 0 && expiresAtMillis <= now;
+        }
+    }
+
+    private RedisStandIn(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+    }
+
+    static RedisStandIn start() throws IOException {
+        RedisStandIn redis = new RedisStandIn(new ServerSocket(0, 128, InetAddress.getLoopbackAddress()));
+        Thread.ofVirtual().name("redis-stand-in").start(redis::accept);
+        return redis;
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread.ofVirtual().start(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.warn("Redis stand-in stopped accepting connections", e);
+                }
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             InputStream in = new BufferedInputStream(socket.getInputStream());
+             OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+            while (true) {
+                List<byte[]> command = readCommand(in);
+                Object reply;
+                synchronized (data) {
+                    reply = execute(command);
+                }
+                write(out, reply);
+                // pipelined commands are answered together
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (EOFException e) {
+            // client closed the connection
+        } catch (IOException e) {
+            if (!serverSocket.isClosed()) {
+                log.debug("Redis stand-in connection failed", e);
+            }
+        }
+    }
+
+    private record Error(String message) {
+    }
+
+    private record Status(String message) {
+    }
+
+    private static final Status OK = new Status("OK");
+
+    private Object execute(List<byte[]> command) {
+        String name = string(command.get(0)).toUpperCase(Locale.ROOT);
+        long now = System.currentTimeMillis();
+        try {
+            return switch (name) {
+                case "HELLO" -> new Error("NOPROTO this server does not support RESP3");
+                case "PING" -> new Status("PONG");
+                case "SELECT", "CLIENT", "AUTH", "FLUSHDB", "FLUSHALL" -> {
+                    if (name.startsWith("FLUSH")) {
+                        data.clear();
+                    }
+                    yield OK;
+                }
+                case "GET" -> value(command.get(1), now, byte[].class);
+                case "MGET" -> command.subList(1, command.size()).stream()
+                        .map(key -> (Object) value(key, now, byte[].class))
+                        .toList();
+                case "SET" -> set(command, now);
+                case "DEL", "UNLINK" -> command.subList(1, command.size()).stream()
+                        .filter(key -> data.remove(string(key)) != null)
+                        .count();
+                case "EXISTS" -> command.subList(1, command.size()).stream()
+                        .filter(key -> live(string(key), now) != null)
+                        .count();
+                case "EXPIRE", "PEXPIRE" -> {
+                    Entry entry = live(string(command.get(1)), now);
+                    if (entry == null) {
+                        yield 0L;
+                    }
+                    long amount = Long.parseLong(string(command.get(2)));
+                    data.put(string(command.get(1)), new Entry(entry.value(), now + (name.equals("EXPIRE") ? amount * 1000 : amount)));
+                    yield 1L;
+                }
+                case "RENAME" -> {
+                    Entry entry = live(string(command.get(1)), now);
+                    if (entry == null) {
+                        yield new Error("ERR no such key");
+                    }
+                    data.remove(string(command.get(1)));
+                    data.put(string(command.get(2)), entry);
+                    yield OK;
+                }
+                case "KEYS" -> keys(glob(string(command.get(1))), now);
+                case "SCAN" -> scan(command, now);
+                case "SADD" -> {
+                    Set<String> set = collection(command.get(1), now, LinkedHashSet::new);
+                    yield command.subList(2, command.size()).stream().filter(member -> set.add(string(member))).count();
+                }
+                case "SMEMBERS" -> {
+                    Set<?> set = value(command.get(1), now, Set.class);
+                    yield set == null ? List.of() : List.copyOf(set);
+                }
+                case "ZADD" -> {
+                    Map<String, Double> zset = collection(command.get(1), now, HashMap::new);
+                    long added = 0;
+                    for (int i = 2; i + 1 < command.size(); i += 2) {
+                        if (zset.put(string(command.get(i + 1)), Double.parseDouble(string(command.get(i)))) == null) {
+                            added++;
+                        }
+                    }
+                    yield added;
+                }
+                case "ZUNIONSTORE" -> {
+                    Map<String, Double> union = new HashMap<>();
+                    int keys = Integer.parseInt(string(command.get(2)));
+                    for (int i = 3; i < 3 + keys; i++) {
+                        Map<String, Double> zset = value(command.get(i), now, Map.class);
+                        if (zset != null) {
+                            zset.forEach((member, score) -> union.merge(member, score, Double::sum));
+                        }
+                    }
+                    data.put(string(command.get(1)), new Entry(union, 0));
+                    yield (long) union.size();
+                }
+                case "ZREVRANGE" -> {
+                    Map<String, Double> zset = value(command.get(1), now, Map.class);
+                    if (zset == null) {
+                        yield List.of();
+                    }
+                    List<String> ranked = zset.entrySet().stream()
+                            .sorted(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()))
+                            .map(Map.Entry::getKey)
+                            .toList();
+                    int start = Integer.parseInt(string(command.get(2)));
+                    int stop = Integer.parseInt(string(command.get(3)));
+                    stop = stop < 0 ? ranked.size() + stop : Math.min(stop, ranked.size() - 1);
+                    yield start > stop ? List.of() : ranked.subList(start, stop + 1);
+                }
+                default -> new Error("ERR unknown command '" + name + "'");
+            };
+        } catch (RuntimeException e) {
+            return new Error("ERR " + e.getMessage());
+        }
+    }
+
+    private Object set(List<byte[]> command, long now) {
+        String key = string(command.get(1));
+        long expiresAt = 0;
+        boolean ifAbsent = false;
+        boolean ifPresent = false;
+        for (int i = 3; i < command.size(); i++) {
+            switch (string(command.get(i)).toUpperCase(Locale.ROOT)) {
+                case "EX" -> expiresAt = now + Long.parseLong(string(command.get(++i))) * 1000;
+                case "PX" -> expiresAt = now + Long.parseLong(string(command.get(++i)));
+                case "NX" -> ifAbsent = true;
+                case "XX" -> ifPresent = true;
+                default -> {
+                    return new Error("ERR syntax error");
+                }
+            }
+        }
+        boolean exists = live(key, now) != null;
+        if ((ifAbsent && exists) || (ifPresent && !exists)) {
+            return null;
+        }
+        data.put(key, new Entry(command.get(2), expiresAt));
+        return OK;
+    }
+
+    /**
+     * Returns every match in one page; callers only loop until the cursor is back at 0.
+     */
+    private Object scan(List<byte[]> command, long now) {
+        Pattern pattern = null;
+        for (int i = 2; i + 1 < command.size(); i += 2) {
+            if (string(command.get(i)).equalsIgnoreCase("MATCH")) {
+                pattern = glob(string(command.get(i + 1)));
+            }
+        }
+        return List.of("0", keys(pattern, now));
+    }
+
+    private List<Object> keys(Pattern pattern, long now) {
+        List<Object> keys = new ArrayList<>();
+        for (String key : List.copyOf(data.keySet())) {
+            if (live(key, now) != null && (pattern == null || pattern.matcher(key).matches())) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private Entry live(String key, long now) {
+        Entry entry = data.get(key);
+        if (entry != null && entry.expired(now)) {
+            data.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private <T> T value(byte[] key, long now, Class<T> type) {
+        Entry entry = live(string(key), now);
+        if (entry == null) {
+            return null;
+        }
+        if (!type.isInstance(entry.value())) {
+            throw new IllegalStateException("WRONGTYPE Operation against a key holding the wrong kind of value");
+        }
+        return type.cast(entry.value());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T collection(byte[] key, long now, java.util.function.Supplier<T> factory) {
+        Entry entry = live(string(key), now);
+        if (entry == null) {
+            entry = new Entry(factory.get(), 0);
+            data.put(string(key), entry);
+        }
+        return (T) entry.value();
+    }
+
+    private static List<byte[]> readCommand(InputStream in) throws IOException {
+        String header = readLine(in);
+        if (header.isEmpty() || header.charAt(0) != '*') {
+            // inline command, e.g. from redis-cli
+            List<byte[]> command = new ArrayList<>();
+            for (String part : header.trim().split("\\s+")) {
+                command.add(part.getBytes(StandardCharsets.UTF_8));
+            }
+            return command;
+        }
+        int count = Integer.parseInt(header.substring(1));
+        List<byte[]> command = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = Integer.parseInt(readLine(in).substring(1));
+            byte[] argument = in.readNBytes(length);
+            if (argument.length < length) {
+                throw new EOFException();
+            }
+            readLine(in);
+            command.add(argument);
+        }
+        return command;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\r') {
+            if (c == -1) {
+                throw new EOFException();
+            }
+            line.append((char) c);
+        }
+        in.read();
+        return line.toString();
+    }
+
+    private static void write(OutputStream out, Object reply) throws IOException {
+        switch (reply) {
+            case null -> out.write("$-1\r\n".getBytes(StandardCharsets.US_ASCII));
+            case Status status -> out.write(("+" + status.message() + "\r\n").getBytes(StandardCharsets.UTF_8));
+            case Error error -> out.write(("-" + error.message() + "\r\n").getBytes(StandardCharsets.UTF_8));
+            case Long number -> out.write((":" + number + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            case String text -> write(out, text.getBytes(StandardCharsets.UTF_8));
+            case byte[] bytes -> {
+                out.write(("$" + bytes.length + "\r\n").getBytes(StandardCharsets.US_ASCII));
+                out.write(bytes);
+                out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+            }
+            case List<?> items -> {
+                out.write(("*" + items.size() + "\r\n").getBytes(StandardCharsets.US_ASCII));
+                for (Object item : items) {
+                    write(out, item);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unsupported reply " + reply.getClass());
+        }
+    }
+
+    private static String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Pattern glob(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            switch (c) {
+                case '*' -> regex.append(".*");
+                case '?' -> regex.append('.');
+                default -> regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.bluething.playground.java.bloggingplatformapi.loadtest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisStandInTest {
+    private RedisStandIn redis;
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate template;
+
+    @BeforeEach
+    void setup() throws Exception {
+        redis = RedisStandIn.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", redis.port()));
+        connectionFactory.start();
+        template = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterEach
+    void teardown() throws Exception {
+        connectionFactory.destroy();
+        redis.close();
+    }
+
+    @Test
+    @DisplayName("serves the string commands used by the caches and the idempotency store")
+    void testStrings() {
+        template.opsForValue().set("a", "1");
+        template.opsForValue().set("b", "2", Duration.ofMinutes(1));
+        assertThat(template.opsForValue().get("a")).isEqualTo("1");
+        assertThat(template.opsForValue().multiGet(List.of("a", "missing", "b"))).isEqualTo(Arrays.asList("1", null, "2"));
+        assertThat(template.opsForValue().setIfAbsent("a", "3", Duration.ofMinutes(1))).isFalse();
+        assertThat(template.keys("*")).containsExactlyInAnyOrder("a", "b");
+        assertThat(template.delete("a")).isTrue();
+        assertThat(template.opsForValue().get("a")).isNull();
+
+        template.opsForValue().set("short", "x", Duration.ofMillis(1));
+        await(5);
+        assertThat(template.hasKey("short")).isFalse();
+    }
+
+    @Test
+    @DisplayName("serves the set and sorted-set commands used by trending")
+    void testSortedSets() {
+        template.opsForZSet().add("node:1", "P1", 1.0);
+        template.opsForZSet().add("node:1", "P2", 3.0);
+        template.opsForZSet().add("node:2", "P1", 4.0);
+        template.rename("node:1", "node:a");
+        template.opsForSet().add("nodes", "a", "2");
+        assertThat(template.opsForSet().members("nodes")).containsExactlyInAnyOrder("a", "2");
+
+        template.opsForZSet().unionAndStore("node:a", List.of("node:2"), "merged");
+        assertThat(template.opsForZSet().reverseRange("merged", 0, -1)).containsExactly("P1", "P2");
+        assertThat(template.opsForZSet().reverseRange("merged", 0, 0)).containsExactly("P1");
+    }
+
+    private static void await(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package io.github.bluething.playground.java.bloggingplatformapi.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests arrive as a Poisson process at the configured rate whether or not
+ * earlier ones have completed, and latency is measured from the scheduled arrival time rather than the
+ * send time, so a stalled server shows up as queueing delay instead of fewer samples (coordinated omission).
+ * <p>
+ * Reads pick posts from a Zipfian popularity ranking, searches pick topic keywords the same way, and writes
+ * are split between creating posts and updating popular ones.
+ */
+@Slf4j
+class WorkloadDriver {
+    enum Operation {
+        READ, SEARCH, CREATE, UPDATE
+    }
+
+    private record Planned(Operation operation, HttpRequest request) {
+    }
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final LoadTestSettings.Workload settings;
+    private final DatasetSeeder.Dataset dataset;
+    private final SplittableRandom random;
+    private final Zipfian postPopularity;
+    private final Zipfian topicPopularity;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> totals = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    WorkloadDriver(HttpClient client, String baseUrl, LoadTestSettings.Workload settings,
+                   DatasetSeeder.Dataset dataset, long seed) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        this.dataset = dataset;
+        this.random = new SplittableRandom(seed);
+        // popularity ranks map to posts in seeded order, which is random with respect to age
+        this.postPopularity = new Zipfian(dataset.postIds().size(), settings.getZipfExponent());
+        this.topicPopularity = new Zipfian(dataset.topics(), settings.getZipfExponent());
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(3));
+            totals.put(operation, new Histogram(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Runs warmup then measurement, writing one interval histogram per operation and second to the log.
+     *
+     * @return the latency distribution of each operation over the measurement, in nanoseconds
+     */
+    Map<Operation, Histogram> run(HistogramLogWriter intervalLog) {
+        long start = System.nanoTime();
+        long measureFrom = start + settings.getWarmup().toNanos();
+        long end = measureFrom + settings.getDuration().toNanos();
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / settings.getRate();
+        log.info("Driving {} requests/s for {} after a {} warmup", settings.getRate(), settings.getDuration(), settings.getWarmup());
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            reporter.scheduleAtFixedRate(() -> collect(intervalLog), 1, 1, TimeUnit.SECONDS);
+            long arrival = start;
+            while (true) {
+                // exponential gaps give Poisson arrivals
+                arrival += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+                if (arrival >= end) {
+                    break;
+                }
+                Planned planned = plan();
+                long wait = arrival - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                long scheduledAt = arrival;
+                boolean measured = arrival >= measureFrom;
+                requests.submit(() -> send(planned, scheduledAt, measured));
+            }
+        } finally {
+            reporter.shutdownNow();
+        }
+        collect(intervalLog);
+        return totals;
+    }
+
+    long errors(Operation operation) {
+        return errors.get(operation).sum();
+    }
+
+    private Planned plan() {
+        double choice = random.nextDouble();
+        if (choice < settings.getReadRatio()) {
+            return new Planned(Operation.READ, get("/api/v1/posts/" + popularPost()));
+        }
+        if (choice < settings.getReadRatio() + settings.getSearchRatio()) {
+            String term = DatasetSeeder.topic(topicPopularity.next(random));
+            return new Planned(Operation.SEARCH, get("/api/v1/posts?term=" + URLEncoder.encode(term, StandardCharsets.UTF_8)));
+        }
+        String body = json(Map.of(
+                "title", "load test " + DatasetSeeder.topic(random.nextInt(dataset.topics())),
+                "content", "written by the load test ".repeat(1 + random.nextInt(40)),
+                "categoryId", dataset.categoryIds().get(random.nextInt(dataset.categoryIds().size())),
+                "tagIds", List.of(dataset.tagIds().get(random.nextInt(dataset.tagIds().size())))));
+        if (random.nextBoolean()) {
+            return new Planned(Operation.CREATE, request("/api/v1/posts")
+                    .header("Idempotency-Key", UUID.randomUUID().toString())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build());
+        }
+        return new Planned(Operation.UPDATE, request("/api/v1/posts/" + popularPost())
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    private void send(Planned planned, long scheduledAt, boolean measured) {
+        String failure;
+        try {
+            HttpResponse<Void> response = client.send(planned.request(), HttpResponse.BodyHandlers.discarding());
+            failure = response.statusCode() >= 400 ? "HTTP " + response.statusCode() : null;
+        } catch (Exception e) {
+            failure = e.toString();
+        }
+        if (measured) {
+            recorders.get(planned.operation()).recordValue(System.nanoTime() - scheduledAt);
+            if (failure != null) {
+                LongAdder count = errors.get(planned.operation());
+                if (count.sum() == 0) {
+                    log.warn("First {} failure: {} {}", planned.operation(), planned.request().uri(), failure);
+                }
+                count.increment();
+            }
+        }
+    }
+
+    private synchronized void collect(HistogramLogWriter intervalLog) {
+        recorders.forEach((operation, recorder) -> {
+            Histogram interval = recorder.getIntervalHistogram();
+            if (interval.getTotalCount() == 0) {
+                return;
+            }
+            totals.get(operation).add(interval);
+            interval.setTag(operation.name());
+            intervalLog.outputIntervalHistogram(interval);
+        });
+    }
+
+    private String popularPost() {
+        return dataset.postIds().get(postPopularity.next(random));
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(settings.getRequestTimeout());
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
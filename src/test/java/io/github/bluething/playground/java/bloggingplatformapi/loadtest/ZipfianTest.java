@@ -0,0 +1,40 @@
+package io.github.bluething.playground.java.bloggingplatformapi.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ZipfianTest {
+    @Test
+    @DisplayName("samples ranks with probability proportional to 1 / rank^exponent")
+    void testDistribution() {
+        int[] counts = sample(100, 1.0);
+        // harmonic number H(100) = 5.187, so rank 1 has p = 0.193 and rank 2 half of that
+        assertThat(counts[0] / 100_000.0).isCloseTo(0.193, within(0.01));
+        assertThat(counts[1] / (double) counts[0]).isCloseTo(0.5, within(0.05));
+        assertThat(counts[99]).isPositive();
+    }
+
+    @Test
+    @DisplayName("an exponent of 0 is uniform")
+    void testUniform() {
+        int[] counts = sample(10, 0);
+        for (int count : counts) {
+            assertThat(count / 100_000.0).isCloseTo(0.1, within(0.01));
+        }
+    }
+
+    private static int[] sample(int n, double exponent) {
+        Zipfian zipfian = new Zipfian(n, exponent);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] counts = new int[n];
+        for (int i = 0; i < 100_000; i++) {
+            counts[zipfian.next(random)]++;
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.bluething.playground.java.bloggingplatformapi.outbox;
+
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.OutboxConfig;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.ChangeType;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.JobLeases;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.OutboxEventEntity;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OutboxRelay.class, JobLeases.class, InMemoryPostEventSink.class, OutboxConfig.class, OutboxRelayTest.TestConfig.class})
+@TestPropertySource(properties = {
+        "app.outbox.sink=memory",
+        "app.outbox.relay.batch-size=2",
+        // the MySQL dialect renders bulk deletes with a table alias H2 rejects
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class OutboxRelayTest {
+    private static final String P1 = "01HZX0000000000000000000P1";
+    private static final String P2 = "01HZX0000000000000000000P2";
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        FlakySink flakySink() {
+            return new FlakySink();
+        }
+    }
+
+    static class FlakySink implements PostEventSink {
+        boolean failing;
+
+        @Override
+        public void publish(List<PostEventMessage> messages) {
+            if (failing) {
+                throw new IllegalStateException("broker down");
+            }
+        }
+    }
+
+    @Autowired
+    private OutboxRelay relay;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private InMemoryPostEventSink sink;
+    @Autowired
+    private FlakySink flakySink;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("UPDATE job_leases SET owner = NULL, locked_until = NULL WHERE name = ?", JobLeases.OUTBOX_RELAY);
+        outboxEventRepository.deleteAll();
+        sink.clear();
+        flakySink.failing = false;
+    }
+
+    private void append(String postId, ChangeType type) {
+        outboxEventRepository.save(new OutboxEventEntity(postId, type.name(), null, Instant.now()));
+    }
+
+    @Test
+    @DisplayName("relay drains all batches in outbox order and deletes delivered rows")
+    void testRelayInOrder() {
+        append(P1, ChangeType.CREATED);
+        append(P2, ChangeType.CREATED);
+        append(P1, ChangeType.UPDATED);
+        append(P1, ChangeType.DELETED);
+        append(P2, ChangeType.UPDATED);
+
+        relay.relay();
+
+        assertThat(sink.messages())
+                .extracting(PostEventMessage::postId, PostEventMessage::type)
+                .containsExactly(
+                        tuple(P1, ChangeType.CREATED),
+                        tuple(P2, ChangeType.CREATED),
+                        tuple(P1, ChangeType.UPDATED),
+                        tuple(P1, ChangeType.DELETED),
+                        tuple(P2, ChangeType.UPDATED));
+        assertThat(outboxEventRepository.count()).isZero();
+        assertThat(relay.lag()).isZero();
+    }
+
+    @Test
+    @DisplayName("a failing sink leaves the batch in the outbox for the next run")
+    void testRelayRetriesFailedBatch() {
+        append(P1, ChangeType.CREATED);
+        flakySink.failing = true;
+
+        relay.relay();
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+        assertThat(relay.lag()).isPositive();
+
+        flakySink.failing = false;
+        relay.relay();
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("while another node holds the relay lease this node publishes nothing, and takes over once it expires")
+    void testRelayOnlyWithLease() {
+        append(P1, ChangeType.CREATED);
+        jdbcTemplate.update("UPDATE job_leases SET owner = ?, locked_until = ? WHERE name = ?",
+                "01HZX00000000000000000NODE", Timestamp.from(Instant.now().plus(Duration.ofMinutes(1))), JobLeases.OUTBOX_RELAY);
+
+        relay.relay();
+        assertThat(sink.messages()).isEmpty();
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+
+        jdbcTemplate.update("UPDATE job_leases SET locked_until = ? WHERE name = ?",
+                Timestamp.from(Instant.now().minusSeconds(1)), JobLeases.OUTBOX_RELAY);
+        relay.relay();
+        assertThat(sink.messages()).hasSize(1);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+}
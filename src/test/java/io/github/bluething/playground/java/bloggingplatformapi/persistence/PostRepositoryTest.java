@@ -145,4 +145,59 @@ class PostRepositoryTest {
                 .getSingleResult();
         assertThat(bi).isEqualTo(0L);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("PostRepository - batch load by IDs fetches category and tags")
+    void testFindAllWithDetailsByIdIn() {
+        CategoryEntity cat = new CategoryEntity(UlidCreator.getUlid().toString(), "Batch");
+        categoryRepository.save(cat);
+        TagEntity tag1 = new TagEntity(UlidCreator.getUlid().toString(), "Redis");
+        TagEntity tag2 = new TagEntity(UlidCreator.getUlid().toString(), "MySQL");
+        tagRepository.saveAll(List.of(tag1, tag2));
+
+        Instant now = Instant.now();
+        String id1 = UlidCreator.getUlid().toString();
+        String id2 = UlidCreator.getUlid().toString();
+        postRepository.save(new PostEntity(id1, "First", "One", cat, Set.of(tag1, tag2), now, now));
+        postRepository.save(new PostEntity(id2, "Second", "Two", cat, Set.of(tag1), now, now));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<PostEntity> found = postRepository.findAllWithDetailsByIdIn(List.of(id1, id2, "missing"));
+        entityManager.clear();
+
+        assertThat(found).extracting(PostEntity::getId).containsExactlyInAnyOrder(id1, id2);
+        PostEntity first = found.stream().filter(p -> p.getId().equals(id1)).findFirst().orElseThrow();
+        assertThat(first.getCategory().getName()).isEqualTo("Batch");
+        assertThat(first.getTags()).extracting(TagEntity::getName).containsExactlyInAnyOrder("Redis", "MySQL");
+    }
+
+    @Test
+    @DisplayName("PostRepository - filter by category and/or tag, newest first, with all tags fetched")
+    void testFindFiltered() {
+        CategoryEntity tech = new CategoryEntity(UlidCreator.getUlid().toString(), "FilterTech");
+        CategoryEntity life = new CategoryEntity(UlidCreator.getUlid().toString(), "FilterLife");
+        categoryRepository.saveAll(List.of(tech, life));
+        TagEntity java = new TagEntity(UlidCreator.getUlid().toString(), "FilterJava");
+        TagEntity food = new TagEntity(UlidCreator.getUlid().toString(), "FilterFood");
+        tagRepository.saveAll(List.of(java, food));
+
+        Instant now = Instant.now();
+        String older = UlidCreator.getUlid().toString();
+        String newer = UlidCreator.getUlid().toString();
+        String other = UlidCreator.getUlid().toString();
+        postRepository.save(new PostEntity(older, "Older", "C", tech, Set.of(java, food), now.minusSeconds(60), now));
+        postRepository.save(new PostEntity(newer, "Newer", "C", tech, Set.of(food), now, now));
+        postRepository.save(new PostEntity(other, "Other", "C", life, Set.of(java), now, now));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(postRepository.findFiltered(tech.getId(), null)).extracting(PostEntity::getId)
+                .containsExactly(newer, older);
+        assertThat(postRepository.findFiltered(null, java.getId())).extracting(PostEntity::getId)
+                .containsExactly(other, older);
+        List<PostEntity> both = postRepository.findFiltered(tech.getId(), java.getId());
+        assertThat(both).extracting(PostEntity::getId).containsExactly(older);
+        assertThat(both.get(0).getTags()).extracting(TagEntity::getName).containsExactlyInAnyOrder("FilterJava", "FilterFood");
+    }
+}
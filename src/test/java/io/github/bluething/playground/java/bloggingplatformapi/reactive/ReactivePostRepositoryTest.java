@@ -0,0 +1,88 @@
+package io.github.bluething.playground.java.bloggingplatformapi.reactive;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.TagData;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactivePostRepositoryTest {
+    private ReactivePostRepository repository;
+
+    @BeforeEach
+    void setup() {
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(
+                ConnectionFactories.get("r2dbc:h2:mem:///reactive-posts;DB_CLOSE_DELAY=-1")).build());
+        DatabaseClient client = DatabaseClient.create(pool);
+        Flux.just(
+                "CREATE TABLE categories (id VARCHAR(26) PRIMARY KEY, name VARCHAR(50), generation BIGINT NOT NULL DEFAULT 0)",
+                "CREATE TABLE tags (id VARCHAR(26) PRIMARY KEY, name VARCHAR(50), generation BIGINT NOT NULL DEFAULT 0)",
+                "CREATE TABLE posts (id VARCHAR(26) PRIMARY KEY, title VARCHAR(255), content TEXT, category_id VARCHAR(26), " +
+                        "created_at TIMESTAMP, updated_at TIMESTAMP)",
+                "CREATE TABLE post_tags (post_id VARCHAR(26), tag_id VARCHAR(26))",
+                "INSERT INTO categories VALUES ('C1', 'Backend', 2)",
+                "INSERT INTO tags VALUES ('T1', 'java', 0), ('T2', 'spring', 1)",
+                "INSERT INTO posts VALUES ('P1', 'Virtual threads', 'Loom in practice', 'C1', " +
+                        "TIMESTAMP '2025-01-01 10:00:00', TIMESTAMP '2025-01-01 10:00:00')",
+                "INSERT INTO posts VALUES ('P2', 'Reactive streams', 'Backpressure explained', 'C1', " +
+                        "TIMESTAMP '2025-01-02 10:00:00', TIMESTAMP '2025-01-03 10:00:00')",
+                "INSERT INTO posts VALUES ('P3', 'Untagged', 'Nothing here', 'C1', " +
+                        "TIMESTAMP '2025-01-03 10:00:00', TIMESTAMP '2025-01-03 10:00:00')",
+                "INSERT INTO post_tags VALUES ('P1', 'T1'), ('P1', 'T2'), ('P2', 'T2')")
+                .concatMap(sql -> client.sql(sql).then())
+                .blockLast();
+        repository = new ReactivePostRepository(pool);
+    }
+
+    @AfterEach
+    void teardown() {
+        DatabaseClient.create(ConnectionFactories.get("r2dbc:h2:mem:///reactive-posts"))
+                .sql("DROP ALL OBJECTS").then().block();
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("finds a post with its category, tags and their generations")
+    void testFindById() {
+        StepVerifier.create(repository.findById("P1"))
+                .assertNext(post -> {
+                    assertThat(post.title()).isEqualTo("Virtual threads");
+                    assertThat(post.category().name()).isEqualTo("Backend");
+                    assertThat(post.category().generation()).isEqualTo(2);
+                    assertThat(post.tags()).extracting(TagData::name).containsExactlyInAnyOrder("java", "spring");
+                    assertThat(post.tags()).extracting(TagData::generation).containsExactlyInAnyOrder(0L, 1L);
+                    assertThat(post.createdAt()).hasToString("2025-01-01T10:00:00Z");
+                })
+                .verifyComplete();
+        StepVerifier.create(repository.findById("missing")).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("streams posts newest first, honoring demand and the search term")
+    void testFindAll() {
+        StepVerifier.create(repository.findAll(null), 1)
+                .assertNext(post -> assertThat(post.id()).isEqualTo("P3"))
+                .thenRequest(2)
+                .assertNext(post -> assertThat(post.tags()).extracting(TagData::name).containsExactly("spring"))
+                .assertNext(post -> assertThat(post.tags()).hasSize(2))
+                .verifyComplete();
+
+        StepVerifier.create(repository.findAll("BACKPRESSURE").map(PostData::id))
+                .expectNext("P2")
+                .verifyComplete();
+        StepVerifier.create(repository.findAll("backend").map(PostData::id).collectList())
+                .expectNext(List.of("P3", "P2", "P1"))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.bluething.playground.java.bloggingplatformapi.readmodel;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.CategoryData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.ChangeType;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostChangedEvent;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostExportService;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.TagData;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostChangeKey;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.PostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PostReadModelTest {
+    private static final Instant UPDATED = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final PostExportService exportService = mock(PostExportService.class);
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<PostData> database = new ArrayList<>();
+    private PostReadModel readModel;
+
+    private static PostData post(String id) {
+        return new PostData(id, "T", "C", new CategoryData("cat1", "Tech"), List.of(new TagData("tag1", "Java")),
+                UPDATED, UPDATED);
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        doAnswer(invocation -> {
+            database.forEach(invocation.<Consumer<PostData>>getArgument(0));
+            return null;
+        }).when(exportService).exportAll(any(Consumer.class));
+        given(postRepository.streamAllKeys()).willAnswer(invocation ->
+                database.stream().map(post -> new PostChangeKey(post.id(), post.updatedAt())));
+        readModel = new PostReadModel(exportService, postRepository, mock(PlatformTransactionManager.class), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("loads all posts, then follows committed changes")
+    void testLoadAndEvents() {
+        database.addAll(List.of(post("p1"), post("p2")));
+        readModel.load();
+
+        readModel.onPostChanged(new PostChangedEvent(ChangeType.CREATED, "p3", post("p3"), UPDATED));
+        readModel.onPostChanged(new PostChangedEvent(ChangeType.DELETED, "p1", null, UPDATED));
+
+        assertThat(readModel.snapshot().getAll(List.of("p1", "p2", "p3"))).extracting(PostData::id)
+                .containsExactly("p2", "p3");
+        assertThat(meterRegistry.get("readmodel.posts").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("readmodel.memory").gauge().value()).isPositive();
+    }
+
+    @Test
+    @DisplayName("changes of one transaction are applied together on commit and dropped on rollback")
+    void testTransactionBatch() {
+        database.addAll(List.of(post("p1"), post("p2"), post("p3")));
+        readModel.load();
+        PostSnapshot loaded = readModel.snapshot();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            readModel.onPostChanged(new PostChangedEvent(ChangeType.DELETED, "p1", null, UPDATED));
+            readModel.onPostChanged(new PostChangedEvent(ChangeType.DELETED, "p2", null, UPDATED));
+            readModel.onPostChanged(new PostChangedEvent(ChangeType.CREATED, "p4", post("p4"), UPDATED));
+            readModel.onPostChanged(new PostChangedEvent(ChangeType.DELETED, "p4", null, UPDATED));
+            assertThat(readModel.snapshot()).isSameAs(loaded);
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertThat(synchronizations).hasSize(1);
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(readModel.snapshot().recent()).extracting(PostData::id).containsExactly("p3");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            readModel.onPostChanged(new PostChangedEvent(ChangeType.DELETED, "p3", null, UPDATED));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(readModel.snapshot().get("p3")).isPresent();
+        assertThat(TransactionSynchronizationManager.hasResource(readModel)).isFalse();
+    }
+
+    @Test
+    @DisplayName("the consistency check reloads after writes that bypassed the events")
+    void testCheckReloadsOnDrift() {
+        database.add(post("p1"));
+        readModel.load();
+        assertThat(readModel.check()).isZero();
+
+        // e.g. a bulk import: one post added, one removed, neither published
+        database.set(0, post("p2"));
+
+        assertThat(readModel.check()).isEqualTo(2);
+        assertThat(readModel.snapshot().get("p2")).isPresent();
+        assertThat(readModel.snapshot().get("p1")).isEmpty();
+        verify(exportService, times(2)).exportAll(any());
+        assertThat(meterRegistry.counter("readmodel.drift").count()).isEqualTo(2);
+    }
+}
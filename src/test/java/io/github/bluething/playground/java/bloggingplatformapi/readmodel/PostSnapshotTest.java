@@ -0,0 +1,80 @@
+package io.github.bluething.playground.java.bloggingplatformapi.readmodel;
+
+import io.github.bluething.playground.java.bloggingplatformapi.domain.CategoryData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.TagData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.TaxonomyRenamedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostSnapshotTest {
+    private static final CategoryData TECH = new CategoryData("cat1", "Tech");
+    private static final CategoryData LIFE = new CategoryData("cat2", "Life");
+    private static final TagData JAVA = new TagData("tag1", "Java");
+    private static final TagData FOOD = new TagData("tag2", "Food");
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static PostData post(String id, CategoryData category, int minute, TagData... tags) {
+        Instant at = T0.plusSeconds(60L * minute);
+        return new PostData(id, "Title " + id, "Content of " + id, category, List.of(tags), at, at);
+    }
+
+    private final PostSnapshot snapshot = PostSnapshot.of(List.of(
+            post("p1", TECH, 1, JAVA),
+            post("p2", LIFE, 2, FOOD),
+            post("p3", TECH, 3, JAVA, FOOD)));
+
+    @Test
+    @DisplayName("indexes by ID, recency, category and tag")
+    void testIndexes() {
+        assertThat(snapshot.get("p2")).get().extracting(PostData::title).isEqualTo("Title p2");
+        assertThat(snapshot.getAll(List.of("p3", "missing", "p1"))).extracting(PostData::id).containsExactly("p3", "p1");
+        assertThat(snapshot.recent()).extracting(PostData::id).containsExactly("p3", "p2", "p1");
+        assertThat(snapshot.filter("cat1", null)).extracting(PostData::id).containsExactly("p3", "p1");
+        assertThat(snapshot.filter(null, "tag2")).extracting(PostData::id).containsExactly("p3", "p2");
+        assertThat(snapshot.filter("cat2", "tag2")).extracting(PostData::id).containsExactly("p2");
+        assertThat(snapshot.search("CONTENT OF P1")).extracting(PostData::id).containsExactly("p1");
+        assertThat(snapshot.search("life")).extracting(PostData::id).containsExactly("p2");
+    }
+
+    @Test
+    @DisplayName("changes yield a new snapshot and leave the old one untouched")
+    void testCopyOnWrite() {
+        PostSnapshot next = snapshot.apply(List.of(post("p1", LIFE, 4, FOOD), post("p4", TECH, 0, JAVA)), List.of("p2"));
+
+        assertThat(next.recent()).extracting(PostData::id).containsExactly("p1", "p3", "p4");
+        assertThat(next.filter("cat1", null)).extracting(PostData::id).containsExactly("p3", "p4");
+        assertThat(next.filter("cat2", null)).extracting(PostData::id).containsExactly("p1");
+        assertThat(next.filter(null, "tag1")).extracting(PostData::id).containsExactly("p3", "p4");
+        assertThat(next.get("p2")).isEmpty();
+
+        assertThat(snapshot.recent()).extracting(PostData::id).containsExactly("p3", "p2", "p1");
+        assertThat(snapshot.filter("cat1", null)).extracting(PostData::id).containsExactly("p3", "p1");
+    }
+
+    @Test
+    @DisplayName("a rename rewrites the posts that embed the old name")
+    void testRenamed() {
+        PostSnapshot next = snapshot.renamed(new TaxonomyRenamedEvent(TaxonomyRenamedEvent.Kind.TAG, "tag1", "Java SE", 1));
+
+        assertThat(next.get("p3").orElseThrow().tags()).extracting(TagData::name).containsExactly("Java SE", "Food");
+        assertThat(next.get("p1").orElseThrow().tags().get(0).generation()).isEqualTo(1);
+        assertThat(next.get("p2")).isEqualTo(snapshot.get("p2"));
+    }
+
+    @Test
+    @DisplayName("the memory estimate follows inserts and removals")
+    void testFootprint() {
+        PostData extra = post("p4", TECH, 4, JAVA);
+        PostSnapshot grown = snapshot.apply(List.of(extra), List.of());
+
+        assertThat(grown.estimatedBytes() - snapshot.estimatedBytes()).isEqualTo(PostSnapshot.footprint(extra));
+        assertThat(grown.apply(List.of(), List.of("p4")).estimatedBytes()).isEqualTo(snapshot.estimatedBytes());
+        assertThat(PostSnapshot.EMPTY.apply(List.of(), List.of("p1", "p2", "p3")).estimatedBytes()).isZero();
+    }
+}
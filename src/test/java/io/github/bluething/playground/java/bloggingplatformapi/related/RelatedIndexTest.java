@@ -0,0 +1,58 @@
+package io.github.bluething.playground.java.bloggingplatformapi.related;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RelatedIndexTest {
+    private RelatedIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new RelatedIndex(3, 0.5);
+        index.put("P1", "backend", List.of("java", "spring", "jpa"));
+        // 2 of 3 tags shared, same category: 2/3 * 1.5 = 1.0
+        index.put("P2", "backend", List.of("java", "spring"));
+        // 2 of 4 distinct tags shared, other category: 0.5
+        index.put("P3", "frontend", List.of("java", "jpa", "react"));
+        // 1 of 3 distinct tags shared, same category: 1/3 * 1.5 = 0.5, ties with P3 and is newer
+        index.put("P4", "backend", List.of("jpa"));
+        index.put("P5", "backend", List.of("python"));
+    }
+
+    @Test
+    @DisplayName("ranks by Jaccard tag similarity boosted by category match")
+    void testRanking() {
+        assertThat(index.related("P1", 10)).containsExactly("P2", "P4", "P3");
+        assertThat(index.related("P1", 1)).containsExactly("P2");
+        assertThat(index.related("P5", 10)).isEmpty();
+        assertThat(index.related("unknown", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("a tag change invalidates the neighbors that shared the old or new tags")
+    void testIncrementalUpdate() {
+        assertThat(index.related("P2", 10)).containsExactly("P1", "P3");
+        assertThat(index.related("P5", 10)).isEmpty();
+
+        index.put("P3", "frontend", List.of("python"));
+
+        assertThat(index.related("P2", 10)).containsExactly("P1");
+        assertThat(index.related("P5", 10)).containsExactly("P3");
+    }
+
+    @Test
+    @DisplayName("a deleted post disappears from its neighbors")
+    void testRemove() {
+        assertThat(index.related("P4", 10)).contains("P1");
+
+        index.remove("P1");
+
+        assertThat(index.related("P4", 10)).containsExactly("P3");
+        assertThat(index.related("P1", 10)).isEmpty();
+    }
+}
@@ -1,31 +1,62 @@
 package io.github.bluething.playground.java.bloggingplatformapi.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.github.bluething.playground.java.bloggingplatformapi.bulkhead.Bulkheads;
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.MessageConverterConfig;
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.ResponseCacheProperties;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.BulkDeleteResult;
 import io.github.bluething.playground.java.bloggingplatformapi.domain.CategoryData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.GenerationStamps;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostBulkDeleteService;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostChangeService;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostContentRenderer;
 import io.github.bluething.playground.java.bloggingplatformapi.domain.PostData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostExportService;
 import io.github.bluething.playground.java.bloggingplatformapi.domain.PostService;
 import io.github.bluething.playground.java.bloggingplatformapi.domain.TagData;
 import io.github.bluething.playground.java.bloggingplatformapi.exception.ResourceNotFoundException;
+import io.github.bluething.playground.java.bloggingplatformapi.idempotency.IdempotencyService;
+import io.github.bluething.playground.java.bloggingplatformapi.idempotency.IdempotentResponse;
+import io.github.bluething.playground.java.bloggingplatformapi.related.RelatedPostsService;
+import io.github.bluething.playground.java.bloggingplatformapi.trending.TrendingService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(PostController.class)
+@Import(MessageConverterConfig.class)
 class PostControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -33,9 +64,44 @@ class PostControllerTest {
     private ObjectMapper objectMapper;
     @MockitoBean
     private PostService postService;
+    @MockitoBean
+    private PostResponseCache postResponseCache;
+    @MockitoBean
+    private PostChangeService postChangeService;
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+    @MockitoBean
+    private PostContentRenderer postContentRenderer;
+    @MockitoBean
+    private PostExportService postExportService;
+    @MockitoBean
+    private PostBulkDeleteService postBulkDeleteService;
+    @MockitoBean
+    private TrendingService trendingService;
+    @MockitoBean
+    private RelatedPostsService relatedPostsService;
+    @MockitoBean
+    private Bulkheads bulkheads;
 
     private static final String BASE_URL = "/api/v1/posts";
 
+    @BeforeEach
+    void runLanesInline() {
+        given(bulkheads.submit(ArgumentMatchers.any(), ArgumentMatchers.any())).willAnswer(invocation -> {
+            Supplier<?> task = invocation.getArgument(1);
+            return CompletableFuture.completedFuture(task.get());
+        });
+        given(bulkheads.acquireExport()).willReturn(() -> {
+        });
+    }
+
+    private ResultActions performAsync(RequestBuilder builder) throws Exception {
+        var async = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(async));
+    }
+
     private PostData samplePostData() {
         return new PostData(
                 "01F8MECHZX3TBDSZ7XRADM79XE",
@@ -69,6 +135,24 @@ class PostControllerTest {
                 .andExpect(jsonPath("$.id").value(createdData.id()));
     }
 
+    @Test
+    @DisplayName("POST /api/v1/posts - Idempotency-Key replays the stored response")
+    void testCreatePostIdempotentReplay() throws Exception {
+        var request = new PostRequest("New Title", "New Content", "cat1", List.of("tag1"));
+        var stored = new IdempotentResponse("fp", 201, BASE_URL + "/p1", "{\"id\":\"p1\"}".getBytes());
+        given(idempotencyService.execute(ArgumentMatchers.eq("key-1"), ArgumentMatchers.anyString(), ArgumentMatchers.any()))
+                .willReturn(new IdempotencyService.Result(stored, true));
+
+        mockMvc.perform(post(BASE_URL)
+                        .header(PostController.IDEMPOTENCY_KEY, "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", BASE_URL + "/p1"))
+                .andExpect(header().string(PostController.IDEMPOTENT_REPLAYED, "true"))
+                .andExpect(jsonPath("$.id").value("p1"));
+        verify(postService, never()).createPost(ArgumentMatchers.any());
+    }
 
     @Test
     @DisplayName("GET /api/v1/posts/{id} - Found")
@@ -76,13 +160,49 @@ class PostControllerTest {
         var data = samplePostData();
         given(postService.getPostById(data.id())).willReturn(Optional.of(data));
 
-        mockMvc.perform(get(BASE_URL + "/{id}", data.id()))
+        performAsync(get(BASE_URL + "/{id}", data.id()))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id").value(data.id()))
                 .andExpect(jsonPath("$.title").value(data.title()))
                 .andExpect(jsonPath("$.category.id").value(data.category().id()))
                 .andExpect(jsonPath("$.tags[0].id").value("tag1"));
+        verify(trendingService).recordView(data.id());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/posts/{id} - Written from the cached entry")
+    void testGetPostFromResponseCache() throws Exception {
+        var data = samplePostData();
+        given(postService.getPostById(data.id())).willReturn(Optional.of(data));
+        var properties = new ResponseCacheProperties();
+        properties.setEnabled(true);
+        var cache = new PostResponseCache(new ConcurrentMapCacheManager("post-responses"), objectMapper, properties,
+                mock(GenerationStamps.class));
+        given(postResponseCache.isEnabled()).willReturn(true);
+        given(postResponseCache.serve(ArgumentMatchers.eq(data.id()), ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .willAnswer(invocation -> cache.serve(data.id(), null, invocation.getArgument(2)));
+        int length = objectMapper.writeValueAsBytes(PostMapper.toResponse(data)).length;
+
+        performAsync(get(BASE_URL + "/{id}", data.id()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().longValue("Content-Length", length))
+                .andExpect(jsonPath("$.title").value(data.title()));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/posts/{id}?format=html - Rendered content")
+    void testGetPostHtml() throws Exception {
+        var data = samplePostData();
+        given(postService.getPostById(data.id())).willReturn(Optional.of(data));
+        given(postContentRenderer.toHtml(data.content())).willReturn("<p>Sample Content</p>\n");
+
+        performAsync(get(BASE_URL + "/" + data.id()).param("format", "html"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(data.id()))
+                .andExpect(jsonPath("$.contentHtml").value("<p>Sample Content</p>\n"))
+                .andExpect(jsonPath("$.content").doesNotExist());
     }
 
     @Test
@@ -91,11 +211,150 @@ class PostControllerTest {
         var data = samplePostData();
         given(postService.searchPosts("sample")).willReturn(List.of(data));
 
-        mockMvc.perform(get(BASE_URL).param("term", "sample"))
+        performAsync(get(BASE_URL).param("term", "sample"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("[0].title").value(data.title()));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/posts?category=&tag= - Filter")
+    void testFilterPosts() throws Exception {
+        var data = samplePostData();
+        given(postService.filterPosts("cat1", null)).willReturn(List.of(data));
+
+        performAsync(get(BASE_URL).param("category", "cat1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("[0].id").value(data.id()));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/posts - CBOR when the client accepts application/cbor")
+    void testGetPostsCbor() throws Exception {
+        var data = samplePostData();
+        given(postService.getAllPosts()).willReturn(List.of(data));
+
+        byte[] body = performAsync(get(BASE_URL).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        var posts = new CBORMapper().readTree(body);
+        assertThat(posts.get(0).get("id").asText()).isEqualTo(data.id());
+        assertThat(posts.get(0).get("tags").size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/posts - CBOR request body")
+    void testCreatePostCbor() throws Exception {
+        var request = new PostRequest("New Title", "New Content", "cat1", List.of("tag1", "tag2"));
+        var createdData = samplePostData();
+        given(postService.createPost(ArgumentMatchers.eq(PostMapper.toCreatePostCommand(request)))).willReturn(createdData);
+
+        mockMvc.perform(post(BASE_URL)
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(new CBORMapper().writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(createdData.id()));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/posts?ids=a,b - Batch fetch")
+    void testGetPostsByIds() throws Exception {
+        var data = samplePostData();
+        given(postService.getPostsByIds(List.of(data.id(), "unknown"))).willReturn(List.of(data));
+
+        performAsync(get(BASE_URL).param("ids", data.id() + ",unknown"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("[0].id").value(data.id()));
+    }
+
+    private void exportTwoPosts() {
+        doAnswer(invocation -> {
+            Consumer<PostData> sink = invocation.getArgument(0);
+            sink.accept(samplePostData());
+            sink.accept(samplePostData());
+            return null;
+        }).when(postExportService).exportAll(ArgumentMatchers.any());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/posts/trending - hydrates the ranked IDs in order")
+    void testGetTrending() throws Exception {
+        var post = samplePostData();
+        given(trendingService.trending(5)).willReturn(List.of(post.id()));
+        given(postService.getPostsByIds(List.of(post.id()))).willReturn(List.of(post));
+
+        performAsync(get(BASE_URL + "/trending").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(post.id()));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/posts/{id}/related - hydrates the related IDs in order")
+    void testGetRelated() throws Exception {
+        var post = samplePostData();
+        given(relatedPostsService.related("01F8MECHZX3TBDSZ7XRADM79XA", 3)).willReturn(List.of(post.id()));
+        given(postService.getPostsByIds(List.of(post.id()))).willReturn(List.of(post));
+
+        performAsync(get(BASE_URL + "/01F8MECHZX3TBDSZ7XRADM79XA/related").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(post.id()));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/posts/export - streams one JSON document per line")
+    void testExportPosts() throws Exception {
+        exportTwoPosts();
+
+        var async = mockMvc.perform(get(BASE_URL + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var body = mockMvc.perform(asyncDispatch(async))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PostController.NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.split("\n")).hasSize(2)
+                .allSatisfy(line -> assertThat(objectMapper.readTree(line).get("id").asText())
+                        .isEqualTo(samplePostData().id()));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/posts/export - gzip-encoded when accepted")
+    void testExportPostsGzip() throws Exception {
+        exportTwoPosts();
+
+        var async = mockMvc.perform(get(BASE_URL + "/export").header("Accept-Encoding", "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var bytes = mockMvc.perform(asyncDispatch(async))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8).split("\n")).hasSize(2);
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/posts/export - plain when gzip is refused with q=0")
+    void testExportPostsGzipRefused() throws Exception {
+        exportTwoPosts();
+
+        var async = mockMvc.perform(get(BASE_URL + "/export").header("Accept-Encoding", "gzip;q=0, identity"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var body = mockMvc.perform(asyncDispatch(async))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.split("\n")).hasSize(2);
+    }
+
     @Test
     @DisplayName("PUT /api/v1/posts/{id} - Success")
     void testUpdatePost() throws Exception {
@@ -134,4 +393,15 @@ class PostControllerTest {
         mockMvc.perform(delete(BASE_URL + "/missing"))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("DELETE /api/v1/posts?category= - Bulk delete reports the count")
+    void testBulkDeleteByCategory() throws Exception {
+        given(postBulkDeleteService.deleteByCategory("spam")).willReturn(new BulkDeleteResult(42, true));
+
+        mockMvc.perform(delete(BASE_URL).param("category", "spam"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(42))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.bluething.playground.java.bloggingplatformapi.rest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of a GET /api/v1/posts list payload as JSON versus CBOR, using the same mapper
+ * configuration as the HTTP converters. Payload sizes are printed at setup.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=PostPayloadFormat}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostPayloadFormatBenchmark {
+    private static final TypeReference<List<PostResponse>> POST_LIST = new TypeReference<>() {
+    };
+
+    @Param({"20", "200"})
+    int posts;
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private List<PostResponse> payload;
+    private byte[] jsonBytes;
+    private byte[] cborBytes;
+
+    @Setup
+    public void setup() throws IOException {
+        json = Jackson2ObjectMapperBuilder.json().build();
+        cbor = Jackson2ObjectMapperBuilder.json().createXmlMapper(false).factory(new CBORFactory()).build();
+        payload = new ArrayList<>();
+        for (int i = 0; i < posts; i++) {
+            payload.add(new PostResponse(
+                    "01F8MECHZX3TBDSZ7XRADM%04d".formatted(i),
+                    "Post title number " + i,
+                    "Typical post body with a couple of sentences of text. ".repeat(10),
+                    new CategoryResponse("01F8MECHZX3TBDSZ7XRADM79XF", "Technology"),
+                    List.of(new TagResponse("01F8MECHZX3TBDSZ7XRADM79XG", "Java"),
+                            new TagResponse("01F8MECHZX3TBDSZ7XRADM79XH", "Spring"),
+                            new TagResponse("01F8MECHZX3TBDSZ7XRADM79XJ", "Performance")),
+                    Instant.parse("2021-09-01T12:00:00Z").plusSeconds(i),
+                    Instant.parse("2021-09-02T12:00:00Z").plusSeconds(i)));
+        }
+        jsonBytes = json.writeValueAsBytes(payload);
+        cborBytes = cbor.writeValueAsBytes(payload);
+        System.out.printf("%n%d posts: json=%d bytes, cbor=%d bytes (%.0f%%)%n",
+                posts, jsonBytes.length, cborBytes.length, 100.0 * cborBytes.length / jsonBytes.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return json.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws IOException {
+        return cbor.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public List<PostResponse> decodeJson() throws IOException {
+        return json.readValue(jsonBytes, POST_LIST);
+    }
+
+    @Benchmark
+    public List<PostResponse> decodeCbor() throws IOException {
+        return cbor.readValue(cborBytes, POST_LIST);
+    }
+}
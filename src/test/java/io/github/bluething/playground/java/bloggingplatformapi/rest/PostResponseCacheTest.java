@@ -0,0 +1,112 @@
+package io.github.bluething.playground.java.bloggingplatformapi.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.ResponseCacheProperties;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.GenerationStamps;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class PostResponseCacheTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private ConcurrentMapCacheManager cacheManager;
+    private ResponseCacheProperties properties;
+    private final GenerationStamps generationStamps = mock(GenerationStamps.class);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setup() {
+        cacheManager = new ConcurrentMapCacheManager("post-responses");
+        properties = new ResponseCacheProperties();
+        properties.setEnabled(true);
+        loads.set(0);
+    }
+
+    private PostResponse load() {
+        loads.incrementAndGet();
+        return new PostResponse("p1", "Title", "Content",
+                new CategoryResponse("cat1", "Tech"),
+                List.of(new TagResponse("tag1", "Java")),
+                Instant.parse("2021-09-01T12:00:00Z"),
+                Instant.parse("2021-09-01T12:00:00Z"));
+    }
+
+    private static byte[] bytes(ResponseEntity<Resource> response) throws IOException {
+        return response.getBody().getContentAsByteArray();
+    }
+
+    @Test
+    @DisplayName("second read is served from cached bytes without loading")
+    void testServeFromCache() throws IOException {
+        var cache = new PostResponseCache(cacheManager, objectMapper, properties, generationStamps);
+
+        ResponseEntity<Resource> first = cache.serve("p1", null, this::load);
+        ResponseEntity<Resource> second = cache.serve("p1", null, this::load);
+
+        assertThat(loads).hasValue(1);
+        assertThat(bytes(second)).isEqualTo(bytes(first));
+        assertThat(second.getBody().contentLength()).isEqualTo(bytes(first).length);
+        assertThat(objectMapper.readTree(bytes(second)).get("title").asText()).isEqualTo("Title");
+    }
+
+    @Test
+    @DisplayName("gzip entries are sent encoded only to clients that accept gzip")
+    void testGzipNegotiation() throws IOException {
+        properties.setGzip(true);
+        var cache = new PostResponseCache(cacheManager, objectMapper, properties, generationStamps);
+
+        ResponseEntity<Resource> gzipped = cache.serve("p1", "gzip, deflate", this::load);
+        ResponseEntity<Resource> plain = cache.serve("p1", null, this::load);
+
+        assertThat(gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(plain.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(bytes(gzipped)))) {
+            assertThat(in.readAllBytes()).isEqualTo(bytes(plain));
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("gzip with q=0 is a refusal, and * covers gzip only when gzip is not listed")
+    void testGzipQualityValues() {
+        properties.setGzip(true);
+        var cache = new PostResponseCache(cacheManager, objectMapper, properties, generationStamps);
+
+        ResponseEntity<Resource> refused = cache.serve("p1", "gzip;q=0, identity", this::load);
+
+        assertThat(refused.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("deflate, GZIP;q=0.5")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("*")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("*;q=1, gzip;q=0")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("x-gzip-experimental")).isFalse();
+    }
+
+    @Test
+    @DisplayName("entries encoded before a category or tag rename are reloaded")
+    void testRenameMakesEntriesStale() {
+        var cache = new PostResponseCache(cacheManager, objectMapper, properties, generationStamps);
+        cache.serve("p1", null, this::load);
+
+        given(generationStamps.epoch()).willReturn(1L);
+        cache.serve("p1", null, this::load);
+        cache.serve("p1", null, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.bluething.playground.java.bloggingplatformapi.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.RedisCacheConfig;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.CategoryData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.TagData;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the current GET /api/v1/posts/{id} cache-hit path (Redis bytes -> PostData -> PostResponse -> JSON)
+ * with writing pre-serialized response bytes. Run with {@code mvn -Pbenchmark test-compile exec:exec};
+ * the gc profiler reports allocation per operation next to the latency.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostResponseSerializationBenchmark {
+
+    @Param({"1024", "16384"})
+    int contentSize;
+
+    private GenericJackson2JsonRedisSerializer cacheSerializer;
+    private ObjectMapper httpObjectMapper;
+    private byte[] cachedPostData;
+    private byte[] cachedResponse;
+    private byte[] cachedGzipResponse;
+
+    @Setup
+    public void setup() throws IOException {
+        cacheSerializer = new GenericJackson2JsonRedisSerializer(RedisCacheConfig.cacheObjectMapper());
+        httpObjectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        PostData post = new PostData(
+                "01F8MECHZX3TBDSZ7XRADM79XE",
+                "Benchmark title",
+                "x".repeat(contentSize),
+                new CategoryData("01F8MECHZX3TBDSZ7XRADM79XF", "Tech"),
+                List.of(new TagData("01F8MECHZX3TBDSZ7XRADM79XG", "Java"),
+                        new TagData("01F8MECHZX3TBDSZ7XRADM79XH", "Spring")),
+                Instant.parse("2021-09-01T12:00:00Z"),
+                Instant.parse("2021-09-01T12:00:00Z"));
+        cachedPostData = cacheSerializer.serialize(post);
+        cachedResponse = httpObjectMapper.writeValueAsBytes(PostMapper.toResponse(post));
+        cachedGzipResponse = gzip(cachedResponse);
+    }
+
+    @Benchmark
+    public byte[] currentPath() throws IOException {
+        PostData data = (PostData) cacheSerializer.deserialize(cachedPostData);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(cachedResponse.length);
+        httpObjectMapper.writeValue(out, PostMapper.toResponse(data));
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] preSerializedPath() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(cachedResponse.length);
+        out.write(cachedResponse);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] currentPathGzip() throws IOException {
+        PostData data = (PostData) cacheSerializer.deserialize(cachedPostData);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(cachedGzipResponse.length);
+        try (OutputStream gzip = new GZIPOutputStream(out)) {
+            httpObjectMapper.writeValue(gzip, PostMapper.toResponse(data));
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] preSerializedPathGzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(cachedGzipResponse.length);
+        out.write(cachedGzipResponse);
+        return out.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+}
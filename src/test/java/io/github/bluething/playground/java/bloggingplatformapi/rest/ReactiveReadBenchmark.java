@@ -0,0 +1,112 @@
+package io.github.bluething.playground.java.bloggingplatformapi.rest;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the MVC and reactive read paths of a running application (started with app.reactive.enabled=true):
+ * throughput and latency of GET by ID under concurrent load, and time to first byte of the post listing.
+ * <p>
+ * Usage: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=io.github.bluething.playground.java.bloggingplatformapi.rest.ReactiveReadBenchmark
+ * -Dexec.args="<baseUrl> <postId> [concurrency] [seconds]"}
+ */
+public class ReactiveReadBenchmark {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args[0];
+        String postId = args[1];
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+
+        for (String variant : List.of("mvc", "reactive")) {
+            String prefix = baseUrl + (variant.equals("mvc") ? "/api/v1/posts" : "/api/v1/reactive/posts");
+            // warm up caches and JIT before measuring
+            load(client, URI.create(prefix + "/" + postId), concurrency, Math.max(1, seconds / 5));
+            report(variant, load(client, URI.create(prefix + "/" + postId), concurrency, seconds), seconds);
+            long[] list = firstByte(client, URI.create(prefix), variant);
+            System.out.printf("%-8s list first-byte=%dms total=%dms%n", variant, list[0], list[1]);
+        }
+    }
+
+    private static List<Long> load(HttpClient client, URI uri, int concurrency, int seconds) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).build();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong failures = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long begin = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                latencies.add(System.nanoTime() - begin);
+                            } else {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+        if (failures.get() > 0) {
+            System.out.println(failures.get() + " failed requests against " + uri);
+        }
+        return latencies;
+    }
+
+    /**
+     * Milliseconds until the first body byte and until the last, for the full listing.
+     */
+    private static long[] firstByte(HttpClient client, URI uri, String variant) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT)
+                .header("Accept", variant.equals("mvc") ? "application/json" : "application/x-ndjson")
+                .build();
+        long begin = System.nanoTime();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            body.read();
+            long first = System.nanoTime() - begin;
+            body.transferTo(OutputStream.nullOutputStream());
+            return new long[]{TimeUnit.NANOSECONDS.toMillis(first), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin)};
+        }
+    }
+
+    private static void report(String variant, List<Long> latencies, int seconds) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        if (sorted.isEmpty()) {
+            System.out.printf("%-8s no successful requests%n", variant);
+            return;
+        }
+        Collections.sort(sorted);
+        System.out.printf("%-8s get-by-id requests=%d throughput=%.0f/s p50=%.2fms p99=%.2fms max=%.2fms%n",
+                variant, sorted.size(), sorted.size() / (double) seconds,
+                millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)), millis(sorted.getLast()));
+    }
+
+    private static long percentile(List<Long> sorted, double quantile) {
+        return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(quantile * sorted.size()) - 1));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
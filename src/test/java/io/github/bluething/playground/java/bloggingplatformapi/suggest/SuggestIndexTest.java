@@ -0,0 +1,74 @@
+package io.github.bluething.playground.java.bloggingplatformapi.suggest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SuggestIndexTest {
+    private SuggestIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new SuggestIndex();
+        index.putCategory("c1", "Java");
+        index.putTag("t1", "JavaScript");
+        index.putTag("t2", "JPA");
+        index.putPost("p1", "Java records in practice", "c1", Set.of("t1"));
+        index.putPost("p2", "JPA batching", "c1", Set.of("t1", "t2"));
+    }
+
+    @Test
+    @DisplayName("prefix matches are case-insensitive and ranked by post count")
+    void testRankedByPopularity() {
+        assertThat(index.suggest("ja", 10, 100))
+                .extracting(Suggestion::type, Suggestion::text, Suggestion::weight)
+                .containsExactly(
+                        tuple(Suggestion.Type.TAG, "JavaScript", 2),
+                        tuple(Suggestion.Type.CATEGORY, "Java", 2),
+                        tuple(Suggestion.Type.TITLE, "Java records in practice", 0));
+        assertThat(index.suggest("ja", 1, 100)).extracting(Suggestion::text).containsExactly("JavaScript");
+    }
+
+    @Test
+    @DisplayName("edits and deletes update titles and counts incrementally")
+    void testIncrementalUpdates() {
+        index.putPost("p1", "Records in practice", "c1", Set.of());
+        index.removePost("p2");
+
+        assertThat(index.suggest("java", 10, 100))
+                .extracting(Suggestion::text, Suggestion::weight)
+                .containsExactly(tuple("Java", 1), tuple("JavaScript", 0));
+        assertThat(index.suggest("rec", 10, 100)).extracting(Suggestion::id).containsExactly("p1");
+    }
+
+    @Test
+    @DisplayName("a renamed tag keeps its count under the new name")
+    void testRename() {
+        index.putTag("t1", "ECMAScript");
+
+        assertThat(index.suggest("javas", 10, 100)).isEmpty();
+        assertThat(index.suggest("ecma", 10, 100)).extracting(Suggestion::weight).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("tags and categories are ranked even when more titles share the prefix than are scanned")
+    void testNamesBeyondTitleScan() {
+        for (int i = 0; i < 10; i++) {
+            index.putPost("a" + i, "Ja " + i, "c1", Set.of());
+        }
+        index.putTag("t3", "Jazz");
+        index.putPost("p3", "Swing", "c1", Set.of("t3"));
+
+        assertThat(index.suggest("ja", 3, 2))
+                .extracting(Suggestion::text)
+                .containsExactly("Java", "JavaScript", "Jazz");
+        assertThat(index.suggest("ja", 10, 2))
+                .filteredOn(suggestion -> suggestion.type() == Suggestion.Type.TITLE)
+                .hasSize(2);
+    }
+}
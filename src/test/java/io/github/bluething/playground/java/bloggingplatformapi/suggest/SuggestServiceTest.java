@@ -0,0 +1,64 @@
+package io.github.bluething.playground.java.bloggingplatformapi.suggest;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import io.github.bluething.playground.java.bloggingplatformapi.configuration.SuggestConfig;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.CategoryData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.ChangeType;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostChangedEvent;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.PostData;
+import io.github.bluething.playground.java.bloggingplatformapi.domain.TagData;
+import io.github.bluething.playground.java.bloggingplatformapi.persistence.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Import({SuggestService.class, SuggestConfig.class})
+class SuggestServiceTest {
+    @Autowired
+    private SuggestService suggestService;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("rebuild loads terms with post counts, committed changes update them")
+    void testRebuildAndChanges() {
+        CategoryEntity category = categoryRepository.save(new CategoryEntity(UlidCreator.getUlid().toString(), "Spring"));
+        TagEntity tag = tagRepository.save(new TagEntity(UlidCreator.getUlid().toString(), "Spring Boot"));
+        Instant now = Instant.now();
+        postRepository.save(new PostEntity(UlidCreator.getUlid().toString(), "Spring caching", "c", category, Set.of(tag), now, now));
+        entityManager.flush();
+        entityManager.clear();
+
+        suggestService.rebuild();
+        assertThat(suggestService.suggest("spring", null))
+                .extracting(Suggestion::text, Suggestion::weight)
+                .containsExactly(tuple("Spring Boot", 1), tuple("Spring", 1), tuple("Spring caching", 0));
+
+        String postId = UlidCreator.getUlid().toString();
+        PostData post = new PostData(postId, "Spring events", "c",
+                new CategoryData(category.getId(), category.getName()),
+                List.of(new TagData(tag.getId(), tag.getName())), now, now);
+        suggestService.onPostChanged(new PostChangedEvent(ChangeType.CREATED, postId, post, now));
+        assertThat(suggestService.suggest("spring b", null)).extracting(Suggestion::weight).containsExactly(2);
+
+        suggestService.onPostChanged(new PostChangedEvent(ChangeType.DELETED, postId, null, now));
+        assertThat(suggestService.suggest("spring e", null)).isEmpty();
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.bluething.playground.java.bloggingplatformapi.trending;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TrendingScorerTest {
+    private static final Instant START = Instant.parse("2024-05-01T00:00:00Z");
+    private static final String OLD = UlidCreator.getUlid().toString();
+    private static final String NEW = UlidCreator.getUlid().toString();
+
+    @Test
+    @DisplayName("recent views outweigh the same number of views one half-life earlier")
+    void testDecay() {
+        TrendingScorer scorer = new TrendingScorer(Duration.ofHours(1), 100, 10, START);
+        for (int i = 0; i < 3; i++) {
+            scorer.record(OLD, START);
+        }
+        Instant later = START.plus(Duration.ofHours(1));
+        for (int i = 0; i < 2; i++) {
+            scorer.record(NEW, later);
+        }
+
+        List<TrendingScorer.Scored> top = scorer.top(later);
+        assertThat(top).extracting(TrendingScorer.Scored::postId).containsExactly(NEW, OLD);
+        // scores are relative to the landmark, which moved to the later hour: 3 views halved vs 2 fresh ones
+        assertThat(top.get(0).score()).isCloseTo(2.0, within(1e-9));
+        assertThat(top.get(1).score()).isCloseTo(1.5, within(1e-9));
+        assertThat(scorer.landmark()).isEqualTo(later.getEpochSecond());
+    }
+
+    @Test
+    @DisplayName("the maintained top keeps the highest scores and the table stays bounded")
+    void testBoundedTop() {
+        TrendingScorer scorer = new TrendingScorer(Duration.ofHours(6), 64, 3, START);
+        List<String> ids = IntStream.range(0, 200).mapToObj(i -> UlidCreator.getUlid().toString()).toList();
+        for (int i = 0; i < ids.size(); i++) {
+            // post i gets i % 50 + 1 views, so ids 49, 99, 149 and 199 score highest
+            for (int v = 0; v <= i % 50; v++) {
+                scorer.record(ids.get(i), START);
+            }
+        }
+
+        assertThat(scorer.size()).isLessThanOrEqualTo(64);
+        assertThat(scorer.top(START)).extracting(TrendingScorer.Scored::score).containsExactly(50.0, 50.0, 50.0);
+        assertThat(scorer.top(START)).extracting(TrendingScorer.Scored::postId)
+                .isSubsetOf(ids.get(49), ids.get(99), ids.get(149), ids.get(199));
+    }
+
+    @Test
+    @DisplayName("IDs that are not ULIDs are ignored")
+    void testInvalidId() {
+        TrendingScorer scorer = new TrendingScorer(Duration.ofHours(6), 16, 3, START);
+        scorer.record("not-a-ulid", START);
+
+        assertThat(scorer.size()).isZero();
+    }
+}